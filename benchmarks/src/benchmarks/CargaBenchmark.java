@@ -0,0 +1,67 @@
+package benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.logic.Modelo;
+
+/**
+ * Modelo.cargarDatos completo, solo desde los CSV (sin guardar la imagen) o desde una imagen binaria
+ * temporal que se guarda al preparar la prueba; ./data/modelo.snapshot no se lee ni se modifica. Se debe
+ * ejecutar desde la raíz del repositorio.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+@Fork(3)
+public class CargaBenchmark {
+
+	@Param({ "csv", "snapshot" })
+	public String fuente;
+
+	// Imagen temporal; null cuando se carga desde los CSV
+	private String imagen;
+
+	@Setup(Level.Trial)
+	public void preparar() throws IOException {
+		if (!new File("./data/connections.csv").exists()) {
+			throw new IllegalStateException("No se encontró ./data; ejecute los benchmarks desde la raíz del repositorio");
+		}
+		if ("snapshot".equals(fuente)) {
+			File archivo = File.createTempFile("modelo", ".snapshot");
+			imagen = archivo.getPath();
+			new Modelo().cargarDatos(imagen); // el archivo vacío no es una imagen válida: carga los CSV y la guarda
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void borrarImagen() {
+		if (imagen != null) {
+			new File(imagen).delete();
+		}
+	}
+
+	@Benchmark
+	public Modelo cargarDatos() throws IOException {
+		Modelo modelo = new Modelo();
+		modelo.cargarDatos(imagen);
+		return modelo;
+	}
+}
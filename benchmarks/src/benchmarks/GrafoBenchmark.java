@@ -0,0 +1,106 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.data_structures.ArbolCaminosMinimos;
+import model.data_structures.GrafoListaAdyacencia;
+import model.data_structures.ILista;
+import model.data_structures.ITablaSimbolos;
+import model.data_structures.PilaEncadenada;
+import model.data_structures.Vertex;
+
+/**
+ * Construcción del grafo y consultas sobre él: getVertex, shortestPath, shortestPathTree,
+ * stronglyConnectedComponents y mstPrimLazy. Las consultas recorren una lista fija de orígenes y destinos al
+ * azar. Los árboles de caminos mínimos no se guardan, así cada consulta mide una búsqueda completa.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = { "-Xms4g", "-Xmx4g" })
+@SuppressWarnings("rawtypes")
+public class GrafoBenchmark {
+
+	private static final int CONSULTAS = 1024;
+
+	/**
+	 * 1 = datos incluidos; 10 y 100 = grafos sintéticos de ese múltiplo de tamaño (a escala 1000 el grafo y
+	 * sus árboles no caben en el heap de 4 GB)
+	 */
+	@Param({ "1", "10", "100" })
+	public int escala;
+
+	private GrafoDePrueba entrada;
+	private GrafoListaAdyacencia grafo;
+	private Integer[] origenes;
+	private Integer[] destinos;
+	private int siguiente;
+
+	@Setup
+	public void preparar() throws IOException {
+		entrada = GrafoDePrueba.crear(escala);
+		grafo = entrada.construir();
+		grafo.freeze();
+		grafo.setPresupuestoArboles(0);
+		origenes = entrada.llavesAlAzar(CONSULTAS, 1);
+		destinos = entrada.llavesAlAzar(CONSULTAS, 2);
+	}
+
+	private int siguiente() {
+		siguiente = (siguiente + 1) & (CONSULTAS - 1);
+		return siguiente;
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public GrafoListaAdyacencia construirGrafo() {
+		return entrada.construir();
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.NANOSECONDS)
+	public Vertex getVertex() {
+		return grafo.getVertex(origenes[siguiente()]);
+	}
+
+	@Benchmark
+	@SuppressWarnings("unchecked")
+	public PilaEncadenada shortestPath() {
+		int i = siguiente();
+		return grafo.shortestPath(origenes[i], destinos[i]);
+	}
+
+	@Benchmark
+	@SuppressWarnings("unchecked")
+	public ArbolCaminosMinimos shortestPathTree() {
+		return grafo.shortestPathTree(origenes[siguiente()]);
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public ITablaSimbolos stronglyConnectedComponents() {
+		return grafo.stronglyConnectedComponents();
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	@SuppressWarnings("unchecked")
+	public ILista mstPrimLazy() {
+		return grafo.mstPrimLazy(origenes[siguiente()]);
+	}
+}
@@ -0,0 +1,118 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.util.Random;
+
+import model.data_structures.AlmacenAtributos;
+import model.data_structures.GrafoCSR;
+import model.data_structures.GrafoListaAdyacencia;
+import model.data_structures.Landing;
+import model.data_structures.Punto;
+import model.logic.Modelo;
+
+/**
+ * Grafo de entrada de los benchmarks como lista de vértices y arcos, para poder construirlo cuantas veces se
+ * quiera. Escala 1 es el grafo de los datos incluidos en ./data; una escala mayor es un grafo sintético con
+ * escala veces esos vértices y el mismo grado medio, generado con semilla fija para que los números se
+ * puedan repetir.
+ */
+@SuppressWarnings({ "rawtypes", "unchecked" })
+final class GrafoDePrueba {
+
+	private static final long SEMILLA = 20240601L;
+
+	final Integer[] llaves;
+	final Comparable[] valores;
+	final int[] origenes;
+	final int[] destinos;
+	final float[] pesos;
+
+	private GrafoDePrueba(Integer[] llaves, Comparable[] valores, int[] origenes, int[] destinos, float[] pesos) {
+		this.llaves = llaves;
+		this.valores = valores;
+		this.origenes = origenes;
+		this.destinos = destinos;
+		this.pesos = pesos;
+	}
+
+	static GrafoDePrueba crear(int escala) throws IOException {
+		GrafoDePrueba datos = desdeDatos();
+		return escala <= 1 ? datos : sintetico(datos.llaves.length * escala, datos.pesos.length * escala);
+	}
+
+	/**
+	 * Grafo de conexiones cargado por Modelo desde ./data
+	 */
+	static GrafoDePrueba desdeDatos() throws IOException {
+		Modelo modelo = new Modelo();
+		modelo.cargarDatos();
+		GrafoCSR csr = modelo.getGrafo().freeze();
+		int n = csr.numVertices();
+		Integer[] llaves = new Integer[n];
+		Comparable[] valores = new Comparable[n];
+		int[] origenes = new int[csr.numEdges()];
+		int[] destinos = new int[csr.numEdges()];
+		float[] pesos = new float[csr.numEdges()];
+		for (int v = 0; v < n; v++) {
+			llaves[v] = (Integer) csr.keyOf(v);
+			valores[v] = csr.valueOf(v);
+			for (int e = csr.firstEdge(v); e < csr.firstEdge(v + 1); e++) {
+				origenes[e] = v;
+				destinos[e] = csr.target(e);
+				pesos[e] = csr.weight(e);
+			}
+		}
+		return new GrafoDePrueba(llaves, valores, origenes, destinos, pesos);
+	}
+
+	/**
+	 * Grafo sintético: los vértices quedan ordenados por longitud, la mayoría de arcos van a vecinos cercanos y
+	 * uno de cada veinte es un cable largo hacia cualquier vértice
+	 */
+	static GrafoDePrueba sintetico(int n, int m) {
+		Random random = new Random(SEMILLA);
+		AlmacenAtributos atributos = Landing.nuevoAlmacen(n);
+		Integer[] llaves = new Integer[n];
+		Comparable[] valores = new Comparable[n];
+		for (int v = 0; v < n; v++) {
+			double longitud = -180 + 360.0 * v / n + random.nextDouble() * 0.5;
+			double latitud = -60 + random.nextDouble() * 120;
+			llaves[v] = v;
+			valores[v] = new Landing(atributos, "S" + v, "S" + v, "Sintetico " + v, "Sintetico", latitud, longitud);
+		}
+		int[] origenes = new int[m];
+		int[] destinos = new int[m];
+		float[] pesos = new float[m];
+		for (int e = 0; e < m; e++) {
+			int origen = e % n;
+			int destino = random.nextInt(20) == 0 ? random.nextInt(n) : (origen + 1 + random.nextInt(32)) % n;
+			origenes[e] = origen;
+			destinos[e] = destino;
+			pesos[e] = Punto.distancia((Landing) valores[origen], (Landing) valores[destino]);
+		}
+		return new GrafoDePrueba(llaves, valores, origenes, destinos, pesos);
+	}
+
+	GrafoListaAdyacencia construir() {
+		GrafoListaAdyacencia grafo = new GrafoListaAdyacencia(llaves.length);
+		for (int v = 0; v < llaves.length; v++) {
+			grafo.insertVertex(llaves[v], valores[v]);
+		}
+		for (int e = 0; e < pesos.length; e++) {
+			grafo.addEdge(llaves[origenes[e]], llaves[destinos[e]], pesos[e]);
+		}
+		return grafo;
+	}
+
+	/**
+	 * Llaves de vértices al azar (con semilla fija) para las consultas
+	 */
+	Integer[] llavesAlAzar(int cantidad, long semilla) {
+		Random random = new Random(semilla);
+		Integer[] elegidas = new Integer[cantidad];
+		for (int i = 0; i < cantidad; i++) {
+			elegidas[i] = llaves[random.nextInt(llaves.length)];
+		}
+		return elegidas;
+	}
+}
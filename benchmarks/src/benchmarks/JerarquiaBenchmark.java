@@ -0,0 +1,74 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.data_structures.GrafoListaAdyacencia;
+import model.data_structures.PilaEncadenada;
+
+/**
+ * Rutas entre pares al azar con la jerarquía de contracciones frente al Dijkstra bidireccional sobre el mismo
+ * grafo. La jerarquía se construye en la preparación, así que solo se miden las consultas.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = { "-Xms2g", "-Xmx2g" })
+@SuppressWarnings("rawtypes")
+public class JerarquiaBenchmark {
+
+	private static final int CONSULTAS = 1024;
+
+	/**
+	 * 1 = datos incluidos; 10 = grafo sintético diez veces más grande
+	 */
+	@Param({ "1", "10" })
+	public int escala;
+
+	private GrafoListaAdyacencia grafo;
+	private Integer[] origenes;
+	private Integer[] destinos;
+	private int siguiente;
+
+	@Setup
+	public void preparar() throws IOException {
+		GrafoDePrueba entrada = GrafoDePrueba.crear(escala);
+		grafo = entrada.construir();
+		grafo.contractionHierarchy();
+		origenes = entrada.llavesAlAzar(CONSULTAS, 1);
+		destinos = entrada.llavesAlAzar(CONSULTAS, 2);
+	}
+
+	private int siguiente() {
+		siguiente = (siguiente + 1) & (CONSULTAS - 1);
+		return siguiente;
+	}
+
+	@Benchmark
+	@SuppressWarnings("unchecked")
+	public PilaEncadenada shortestPathCH() {
+		int i = siguiente();
+		return grafo.shortestPathCH(origenes[i], destinos[i]);
+	}
+
+	@Benchmark
+	@SuppressWarnings("unchecked")
+	public PilaEncadenada shortestPathBidirectional() {
+		int i = siguiente();
+		return grafo.shortestPathBidirectional(origenes[i], destinos[i]);
+	}
+}
@@ -0,0 +1,88 @@
+package benchmarks;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.data_structures.ArregloDinamico;
+import model.data_structures.ILista;
+import utils.Ordenamiento;
+
+/**
+ * Cada algoritmo de Ordenamiento sobre un ArregloDinamico de enteros al azar (siempre los mismos). La lista se
+ * vuelve a llenar antes de cada ordenamiento, fuera de la medición.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class OrdenamientoBenchmark {
+
+	@Param({ "seleccion", "insercion", "shell", "quickSort", "mergeSort" })
+	public String algoritmo;
+
+	@Param({ "1000", "10000", "100000" })
+	public int tamano;
+
+	private final Ordenamiento<Integer> ordenamiento = new Ordenamiento<>();
+	private final Comparator<Integer> criterio = Comparator.naturalOrder();
+	private int[] datos;
+	private ILista<Integer> lista;
+
+	@Setup(Level.Trial)
+	public void generar() {
+		Random random = new Random(11);
+		datos = new int[tamano];
+		for (int i = 0; i < tamano; i++) {
+			datos[i] = random.nextInt(200000000);
+		}
+	}
+
+	@Setup(Level.Invocation)
+	public void llenar() {
+		ArregloDinamico<Integer> arreglo = new ArregloDinamico<>(tamano);
+		for (int dato : datos) {
+			arreglo.addLast(dato);
+		}
+		lista = arreglo;
+	}
+
+	@Benchmark
+	public ILista<Integer> ordenar() throws Exception {
+		switch (algoritmo) {
+		case "seleccion":
+			ordenamiento.ordenarSeleccion(lista, criterio, true);
+			break;
+		case "insercion":
+			ordenamiento.ordenarInsercion(lista, criterio, true);
+			break;
+		case "shell":
+			ordenamiento.ordenarShell(lista, criterio, true);
+			break;
+		case "quickSort":
+			ordenamiento.ordenarQuickSort(lista, criterio, true);
+			break;
+		case "mergeSort":
+			ordenamiento.ordenarMergeSort(lista, criterio, true);
+			break;
+		default:
+			throw new IllegalArgumentException("Algoritmo desconocido: " + algoritmo);
+		}
+		return lista;
+	}
+}
@@ -0,0 +1,168 @@
+package benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.data_structures.ArregloDinamico;
+import model.data_structures.ILista;
+import model.data_structures.ITablaSimbolos;
+import model.data_structures.TablaHashAbierta;
+import model.data_structures.TablaHashConcurrente;
+import model.data_structures.TablaHashLinearProbing;
+import model.data_structures.TablaHashRobinHood;
+import model.data_structures.TablaHashSeparteChaining;
+
+/**
+ * Inserción (desde una tabla pequeña, así que incluye los rehash) y búsquedas con y sin éxito en cada
+ * tabla de hash, con llaves como los landingId de los datos.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = { "-Xms2g", "-Xmx2g" })
+public class TablasHashBenchmark {
+
+	private static final int CONSULTAS = 4096;
+
+	@Param({ "abierta", "linearProbing", "separateChaining", "separateChainingIncremental", "robinHood",
+			"concurrente" })
+	public String tabla;
+
+	/**
+	 * 1 = tantas llaves como puntos de aterrizaje en los datos (unas 1300); luego 10, 100 y 1000 veces
+	 */
+	@Param({ "1", "10", "100", "1000" })
+	public int escala;
+
+	private String[] llaves;
+	private String[] presentes;
+	private String[] ausentes;
+	private ITablaSimbolos<String, Integer> llena;
+	private int siguiente;
+
+	@Setup
+	public void preparar() {
+		Random random = new Random(7);
+		llaves = new String[1300 * escala];
+		for (int i = 0; i < llaves.length; i++) {
+			llaves[i] = Integer.toString(3000 + i);
+		}
+		presentes = new String[CONSULTAS];
+		ausentes = new String[CONSULTAS];
+		for (int i = 0; i < CONSULTAS; i++) {
+			presentes[i] = llaves[random.nextInt(llaves.length)];
+			ausentes[i] = "x" + random.nextInt();
+		}
+		llena = insertarTodas();
+	}
+
+	private ITablaSimbolos<String, Integer> nuevaTabla() {
+		switch (tabla) {
+		case "abierta":
+			return new TablaHashAbierta<>(4);
+		case "linearProbing":
+			return new TablaHashLinearProbing<>(4);
+		case "separateChaining":
+			return new TablaHashSeparteChaining<>(4);
+		case "separateChainingIncremental":
+			return new TablaHashSeparteChaining<>(4, true);
+		case "robinHood":
+			return new TablaHashRobinHood<>(4);
+		case "concurrente":
+			return new Concurrente(new TablaHashConcurrente<>(4));
+		default:
+			throw new IllegalArgumentException("Tabla desconocida: " + tabla);
+		}
+	}
+
+	private ITablaSimbolos<String, Integer> insertarTodas() {
+		ITablaSimbolos<String, Integer> t = nuevaTabla();
+		for (int i = 0; i < llaves.length; i++) {
+			t.put(llaves[i], i);
+		}
+		return t;
+	}
+
+	private int siguiente() {
+		siguiente = (siguiente + 1) & (CONSULTAS - 1);
+		return siguiente;
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public ITablaSimbolos<String, Integer> insertar() {
+		return insertarTodas();
+	}
+
+	@Benchmark
+	public Integer buscar() {
+		return llena.get(presentes[siguiente()]);
+	}
+
+	@Benchmark
+	public Integer buscarAusente() {
+		return llena.get(ausentes[siguiente()]);
+	}
+
+	/**
+	 * TablaHashConcurrente no implementa ITablaSimbolos (sus valores no tienen que ser comparables); esto la
+	 * deja medir igual que las demás
+	 */
+	private static final class Concurrente implements ITablaSimbolos<String, Integer> {
+		private final TablaHashConcurrente<String, Integer> tabla;
+
+		private Concurrente(TablaHashConcurrente<String, Integer> tabla) {
+			this.tabla = tabla;
+		}
+
+		public void put(String key, Integer value) {
+			tabla.put(key, value);
+		}
+
+		public Integer get(String key) {
+			return tabla.get(key);
+		}
+
+		public Integer remove(String key) {
+			return tabla.remove(key);
+		}
+
+		public boolean contains(String key) {
+			return tabla.contains(key);
+		}
+
+		public boolean isEmpty() {
+			return tabla.isEmpty();
+		}
+
+		public int size() {
+			return tabla.size();
+		}
+
+		public ILista<String> keySet() {
+			return tabla.keySet();
+		}
+
+		public ILista<Integer> valueSet() {
+			ILista<Integer> lista = new ArregloDinamico<>(Math.max(1, tabla.size()));
+			for (Integer valor : tabla.valueSet()) {
+				lista.addLast(valor);
+			}
+			return lista;
+		}
+	}
+}
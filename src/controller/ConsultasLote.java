@@ -0,0 +1,289 @@
+package controller;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import model.logic.Modelo;
+
+/**
+ * Modo por lotes: lee un archivo con una consulta por línea, las resuelve sobre un Modelo ya cargado en un
+ * pool de hilos y va escribiendo los resultados en el archivo de salida en el mismo orden de entrada.
+ * Consultas (los nombres con espacios van entre comillas; las líneas vacías y las que empiezan con # se ignoran):
+ * <pre>
+ * route "landing A" "landing B"   ruta mínima entre puntos de aterrizaje
+ * components "landing A" "landing B"  mismo componente (opción 2 del menú)
+ * compare "país A" "país B"       ruta mínima entre capitales (opción 4)
+ * distance "país A" "país B"      distancia mínima entre capitales (matriz precalculada)
+ * from "país"                     distancia mínima a todas las demás capitales
+ * failure "landing"               fallas en conexión (opción 6)
+ * failures                        todos los puntos y cables críticos (opción 10)
+ * mst                             red de expansión mínima (opción 5)
+ * </pre>
+ */
+public class ConsultasLote {
+
+	// Consultas en vuelo como máximo por hilo; acota la memoria si el escritor va más lento que el pool
+	private static final int PENDIENTES_POR_HILO = 64;
+
+	private final Modelo modelo;
+	private final int hilos;
+
+	/**
+	 * @param modelo modelo con los datos ya cargados; solo se consulta
+	 */
+	public ConsultasLote(Modelo modelo, int hilos) {
+		this.modelo = modelo;
+		this.hilos = Math.max(1, hilos);
+	}
+
+	/**
+	 * Ejecuta todas las consultas del archivo y retorna el reporte de rendimiento
+	 */
+	public String ejecutar(String archivoConsultas, String archivoSalida) throws IOException {
+		ExecutorService pool = Executors.newFixedThreadPool(hilos);
+		BlockingQueue<Future<Resultado>> pendientes = new ArrayBlockingQueue<>(hilos * PENDIENTES_POR_HILO);
+		Escritor escritor = new Escritor(archivoSalida, pendientes);
+		Thread hiloEscritor = new Thread(escritor, "escritor-lote");
+		long inicio = System.nanoTime();
+		hiloEscritor.start();
+		try (BufferedReader lector = Files.newBufferedReader(Paths.get(archivoConsultas), StandardCharsets.UTF_8)) {
+			String linea;
+			while ((linea = lector.readLine()) != null) {
+				String consulta = linea.trim();
+				if (!consulta.isEmpty() && !consulta.startsWith("#")) {
+					pendientes.put(pool.submit(() -> resolver(consulta)));
+				}
+			}
+			pendientes.put(Escritor.FIN);
+			hiloEscritor.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Ejecución por lotes interrumpida", e);
+		} finally {
+			pool.shutdownNow();
+			hiloEscritor.interrupt(); // solo tiene efecto si se salió por un error antes de FIN
+		}
+		if (escritor.error != null) {
+			throw escritor.error;
+		}
+		return reporte(escritor, System.nanoTime() - inicio);
+	}
+
+	/**
+	 * Resuelve una consulta midiendo su duración (sin el tiempo en cola); nunca lanza excepción, los errores
+	 * quedan en el texto
+	 */
+	private Resultado resolver(String consulta) {
+		long inicio = System.nanoTime();
+		List<String> partes = separar(consulta);
+		String tipo = partes.get(0).toLowerCase(Locale.ROOT);
+		String respuesta;
+		try {
+			respuesta = responder(modelo, partes);
+			if (respuesta == null) {
+				tipo = "invalida";
+				respuesta = "Consulta inválida: " + consulta;
+			}
+		} catch (RuntimeException e) {
+			tipo = "error";
+			respuesta = "Error al resolver la consulta: " + e;
+		}
+		return new Resultado(consulta, tipo, respuesta, System.nanoTime() - inicio);
+	}
+
+	/**
+	 * Respuesta del modelo a una consulta ya separada en palabras (tipo y argumentos), o null si el tipo no
+	 * existe o no tiene los argumentos que necesita
+	 */
+	static String responder(Modelo modelo, List<String> partes) {
+		String tipo = partes.get(0).toLowerCase(Locale.ROOT);
+		if ("route".equals(tipo) && partes.size() == 3) {
+			return modelo.rutaEntrePuntosString(partes.get(1), partes.get(2));
+		} else if ("components".equals(tipo) && partes.size() == 3) {
+			return modelo.req1String(partes.get(1), partes.get(2));
+		} else if ("compare".equals(tipo) && partes.size() == 3) {
+			return modelo.req3String(partes.get(1), partes.get(2));
+		} else if ("distance".equals(tipo) && partes.size() == 3) {
+			return modelo.distanciaCapitalesString(partes.get(1), partes.get(2));
+		} else if ("from".equals(tipo) && partes.size() == 2) {
+			return modelo.distanciasDesdeString(partes.get(1));
+		} else if ("failure".equals(tipo) && partes.size() == 2) {
+			return modelo.req5String(partes.get(1));
+		} else if ("failures".equals(tipo) && partes.size() == 1) {
+			return modelo.reporteFallas();
+		} else if ("mst".equals(tipo) && partes.size() == 1) {
+			return modelo.req4String();
+		}
+		return null;
+	}
+
+	/**
+	 * Separa una línea en palabras; lo que va entre comillas dobles cuenta como una sola
+	 */
+	static List<String> separar(String linea) {
+		List<String> partes = new ArrayList<>();
+		StringBuilder actual = new StringBuilder();
+		boolean entreComillas = false;
+		boolean hayPalabra = false;
+		for (int i = 0; i < linea.length(); i++) {
+			char c = linea.charAt(i);
+			if (c == '"') {
+				entreComillas = !entreComillas;
+				hayPalabra = true;
+			} else if (Character.isWhitespace(c) && !entreComillas) {
+				if (hayPalabra) {
+					partes.add(actual.toString());
+					actual.setLength(0);
+					hayPalabra = false;
+				}
+			} else {
+				actual.append(c);
+				hayPalabra = true;
+			}
+		}
+		if (hayPalabra) {
+			partes.add(actual.toString());
+		}
+		return partes;
+	}
+
+	private String reporte(Escritor escritor, long totalNs) {
+		long[] latencias = Arrays.copyOf(escritor.latencias, escritor.cantidad);
+		Arrays.sort(latencias);
+		double segundos = totalNs / 1e9;
+		StringBuilder sb = new StringBuilder("Consultas por lotes con " + hilos + " hilos:");
+		sb.append("\n  Consultas: ").append(latencias.length);
+		for (Map.Entry<String, Integer> tipo : escritor.porTipo.entrySet()) {
+			sb.append("\n    ").append(tipo.getKey()).append(": ").append(tipo.getValue());
+		}
+		sb.append(String.format(Locale.ROOT, "\n  Tiempo total: %.3f s", segundos));
+		sb.append(String.format(Locale.ROOT, "\n  Rendimiento: %.1f consultas/s", latencias.length / segundos));
+		if (latencias.length > 0) {
+			sb.append(String.format(Locale.ROOT, "\n  Latencia (ms): p50=%.3f p90=%.3f p99=%.3f max=%.3f",
+					percentil(latencias, 50), percentil(latencias, 90), percentil(latencias, 99),
+					latencias[latencias.length - 1] / 1e6));
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Percentil (método del rango más cercano) de latencias ordenadas, en ms
+	 */
+	private static double percentil(long[] ordenadas, double porcentaje) {
+		int posicion = (int) Math.ceil(porcentaje / 100 * ordenadas.length) - 1;
+		return ordenadas[Math.max(0, posicion)] / 1e6;
+	}
+
+	private static final class Resultado {
+		private final String consulta;
+		private final String tipo;
+		private final String respuesta;
+		private final long nanos;
+
+		private Resultado(String consulta, String tipo, String respuesta, long nanos) {
+			this.consulta = consulta;
+			this.tipo = tipo;
+			this.respuesta = respuesta;
+			this.nanos = nanos;
+		}
+	}
+
+	/**
+	 * Toma los resultados en orden de llegada de las consultas y los escribe apenas están listos
+	 */
+	private static final class Escritor implements Runnable {
+		private static final Future<Resultado> FIN = CompletableFuture.completedFuture(null);
+
+		private final String archivo;
+		private final BlockingQueue<Future<Resultado>> pendientes;
+		private final Map<String, Integer> porTipo = new TreeMap<>();
+		private long[] latencias = new long[1024];
+		private int cantidad;
+		private IOException error;
+
+		private Escritor(String archivo, BlockingQueue<Future<Resultado>> pendientes) {
+			this.archivo = archivo;
+			this.pendientes = pendientes;
+		}
+
+		/**
+		 * Si falla la escritura sigue sacando resultados de la cola (sin escribirlos) hasta FIN, para que el
+		 * hilo que lee las consultas no quede bloqueado
+		 */
+		@Override
+		public void run() {
+			BufferedWriter salida = null;
+			try {
+				salida = Files.newBufferedWriter(Paths.get(archivo), StandardCharsets.UTF_8);
+			} catch (IOException e) {
+				error = e;
+			}
+			try {
+				Future<Resultado> siguiente;
+				while ((siguiente = pendientes.take()) != FIN) {
+					if (error == null) {
+						escribir(salida, siguiente);
+					}
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				cerrar(salida);
+			}
+		}
+
+		private void escribir(BufferedWriter salida, Future<Resultado> pendiente) throws InterruptedException {
+			try {
+				Resultado resultado = pendiente.get();
+				salida.write("> " + resultado.consulta);
+				salida.newLine();
+				salida.write(resultado.respuesta);
+				salida.newLine();
+				salida.newLine();
+				registrar(resultado);
+			} catch (IOException e) {
+				error = e;
+			} catch (ExecutionException e) {
+				error = new IOException(e.getCause());
+			}
+		}
+
+		private void cerrar(BufferedWriter salida) {
+			if (salida == null) {
+				return;
+			}
+			try {
+				salida.close();
+			} catch (IOException e) {
+				if (error == null) {
+					error = e;
+				}
+			}
+		}
+
+		private void registrar(Resultado resultado) {
+			if (cantidad == latencias.length) {
+				latencias = Arrays.copyOf(latencias, cantidad * 2);
+			}
+			latencias[cantidad++] = resultado.nanos;
+			porTipo.merge(resultado.tipo, 1, Integer::sum);
+		}
+	}
+}
@@ -2,12 +2,24 @@ package controller;
 
 import java.io.IOException;
 import java.util.Scanner;
+import java.util.function.Supplier;
 
+import model.data_structures.CacheResultados;
 import model.logic.Modelo;
+import utils.Metricas;
 import view.View;
 
 public class Controller {
 
+	// Duración de cada tipo de consulta (solo la llamada al modelo, sin la lectura de datos del usuario)
+	private static final Metricas.Histograma CONSULTA_CARGA = Metricas.histogramaTiempo("consulta.cargarDatos");
+	private static final Metricas.Histograma CONSULTA_CONEXION = Metricas.histogramaTiempo("consulta.realizarConexion");
+	private static final Metricas.Histograma CONSULTA_PAISES = Metricas.histogramaTiempo("consulta.compararPaises");
+	private static final Metricas.Histograma CONSULTA_REQ4 = Metricas.histogramaTiempo("consulta.req4");
+	private static final Metricas.Histograma CONSULTA_PUNTO = Metricas
+			.histogramaTiempo("consulta.busquedaPuntoConexion");
+	private static final Metricas.Histograma CONSULTA_FALLAS = Metricas.histogramaTiempo("consulta.reporteFallas");
+
 	private Modelo modelo;
 	private View view;
 	private Scanner lector;
@@ -28,6 +40,61 @@ public class Controller {
 		lector.close();
 	}
 
+	/**
+	 * Modo no interactivo: carga los datos, resuelve las consultas del archivo en un pool de hilos y escribe los
+	 * resultados en el archivo de salida (ver ConsultasLote para el formato)
+	 */
+	public void ejecutarLote(String archivoConsultas, String archivoSalida, int hilos) {
+		Modelo modeloLote = new Modelo();
+		try {
+			modeloLote.cargarDatos();
+			view.printMessage(modeloLote.getReporteCarga());
+			view.printMessage("Jerarquía de contracciones para las rutas:\n"
+					+ modeloLote.prepararJerarquiaContracciones());
+			view.printMessage(new ConsultasLote(modeloLote, hilos).ejecutar(archivoConsultas, archivoSalida));
+		} catch (IOException e) {
+			view.printError(e.getMessage());
+		}
+	}
+
+	/**
+	 * Carga los datos y guarda en CSV la matriz de distancias mínimas entre todas las capitales
+	 */
+	public void exportarMatriz(String archivo) {
+		Modelo modeloMatriz = new Modelo();
+		try {
+			modeloMatriz.cargarDatos();
+			view.printMessage(modeloMatriz.getReporteCarga());
+			modeloMatriz.exportarMatrizCapitales(archivo);
+			view.printMessage("Matriz de " + modeloMatriz.getMatrizCapitales().size() + " capitales calculada en "
+					+ modeloMatriz.getMatrizCapitales().getTiempoCalculo() + " ms y guardada en " + archivo);
+		} catch (IOException e) {
+			view.printError(e.getMessage());
+		}
+	}
+
+	/**
+	 * Carga los datos y los deja disponibles como servicio HTTP local en el puerto dado hasta que se detenga
+	 * el proceso. El servicio no usa la caché de consultas ni la de árboles de caminos mínimos: cada petición
+	 * calcula sobre el grafo congelado sin tomar ningún lock.
+	 */
+	public void servir(int puerto) {
+		Modelo modeloServicio = new Modelo(0, CacheResultados.Politica.LRU);
+		try {
+			modeloServicio.cargarDatos();
+			modeloServicio.getGrafo().setPresupuestoArboles(0);
+			view.printMessage(modeloServicio.getReporteCarga());
+			view.printMessage("Jerarquía de contracciones para las rutas:\n"
+					+ modeloServicio.prepararJerarquiaContracciones());
+			ServicioConsultas servicio = new ServicioConsultas(modeloServicio, puerto);
+			Runtime.getRuntime().addShutdownHook(new Thread(() -> servicio.detener(2)));
+			servicio.iniciar();
+			view.printMessage("Servicio de consultas en http://localhost:" + servicio.getDireccion().getPort());
+		} catch (IOException e) {
+			view.printError(e.getMessage());
+		}
+	}
+
 	private boolean executeOption(int option) {
 		switch (option) {
 			case 1:
@@ -37,13 +104,13 @@ public class Controller {
 				realizarConexion();
 				break;
 			case 3:
-				mostrarResultado(modelo.req2String());
+				mostrarResultado(consultar(CONSULTA_REQ4, () -> modelo.req4String()));
 				break;
 			case 4:
 				compararPaises();
 				break;
 			case 5:
-				mostrarResultado(modelo.req4String());
+				mostrarResultado(consultar(CONSULTA_REQ4, () -> modelo.req4String()));
 				break;
 			case 6:
 				realizarBusquedaPuntoConexion();
@@ -51,6 +118,15 @@ public class Controller {
 			case 7:
 				view.printMessage("--------- \n Hasta pronto !! \n---------");
 				return true;
+			case 8:
+				mostrarResultado(Metricas.texto() + (modelo != null ? "\n" + modelo.getEstadisticasCache() : ""));
+				break;
+			case 9:
+				mostrarResultado(Metricas.json());
+				break;
+			case 10:
+				mostrarResultado(consultar(CONSULTA_FALLAS, () -> modelo.reporteFallas()));
+				break;
 			default:
 				view.printMessage("--------- \n Opcion Invalida !! \n---------");
 				break;
@@ -60,10 +136,13 @@ public class Controller {
 
 	private void cargarDatos() {
 		view.printMessage("--------- \nCargar datos");
-		modelo = new Modelo(1);
+		modelo = new Modelo();
 		try {
-			modelo.cargar();
+			long inicio = Metricas.inicio();
+			modelo.cargarDatos();
+			CONSULTA_CARGA.registrarDesde(inicio);
 			view.printModelo(modelo);
+			view.printMessage(modelo.getReporteCarga());
 		} catch (IOException e) {
 			e.printStackTrace();
 		}
@@ -73,7 +152,7 @@ public class Controller {
 		String punto1 = solicitarNombre("Ingrese el nombre del primer punto de conexión");
 		String punto2 = solicitarNombre("Ingrese el nombre del segundo punto de conexión");
 
-		String resultado = modelo.req1String(punto1, punto2);
+		String resultado = consultar(CONSULTA_CONEXION, () -> modelo.req1String(punto1, punto2));
 		view.printMessage(resultado);
 	}
 
@@ -81,13 +160,13 @@ public class Controller {
 		String pais1 = solicitarNombre("Ingrese el nombre del primer país");
 		String pais2 = solicitarNombre("Ingrese el nombre del segundo país");
 
-		String resultado = modelo.req3String(pais1, pais2);
+		String resultado = consultar(CONSULTA_PAISES, () -> modelo.req3String(pais1, pais2));
 		view.printMessage(resultado);
 	}
 
 	private void realizarBusquedaPuntoConexion() {
 		String puntoConexion = solicitarNombre("Ingrese el nombre del punto de conexión");
-		String resultado = modelo.req5String(puntoConexion);
+		String resultado = consultar(CONSULTA_PUNTO, () -> modelo.req5String(puntoConexion));
 		view.printMessage(resultado);
 	}
 
@@ -101,5 +180,15 @@ public class Controller {
 	private void mostrarResultado(String resultado) {
 		view.printMessage(resultado);
 	}
+
+	/**
+	 * Ejecuta una consulta al modelo registrando su duración
+	 */
+	private static String consultar(Metricas.Histograma histograma, Supplier<String> consulta) {
+		long inicio = Metricas.inicio();
+		String resultado = consulta.get();
+		histograma.registrarDesde(inicio);
+		return resultado;
+	}
 }
 
@@ -0,0 +1,198 @@
+package controller;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import model.logic.Modelo;
+import utils.Metricas;
+
+/**
+ * Servicio HTTP local (solo en la interfaz de loopback) que responde consultas sobre un Modelo cargado una vez.
+ * Las peticiones se atienden a la vez y solo leen el modelo, que debe venir sin cachés (capacidad 0 y sin
+ * presupuesto de árboles, como lo crea Controller.servir) para que ninguna tome un lock. La única espera es la
+ * de la matriz de capitales, que la primera consulta distance calcula bajo el lock del modelo. Cada ruta exige
+ * sus parámetros y no acepta otros; una ruta que no sea exactamente una de estas responde 404. Rutas (GET):
+ * <pre>
+ * /route?a=landing&amp;b=landing     ruta mínima entre puntos de aterrizaje
+ * /components?a=landing&amp;b=landing  mismo componente fuertemente conexo
+ * /compare?a=país&amp;b=país         ruta mínima entre capitales
+ * /distance?a=país&amp;b=país        distancia mínima entre capitales (matriz precalculada)
+ * /from?a=país                   distancia mínima a todas las demás capitales
+ * /failure?a=landing             fallas en conexión
+ * /failures                      todos los puntos y cables críticos
+ * /mst                           red de expansión mínima
+ * /metricas                      volcado de Metricas en JSON
+ * </pre>
+ */
+public class ServicioConsultas {
+
+	// Tipo de consulta seguido de los parámetros que exige, en el orden en que los recibe ConsultasLote.responder
+	private static final String[][] CONSULTAS = { { "route", "a", "b" }, { "components", "a", "b" },
+			{ "compare", "a", "b" }, { "distance", "a", "b" }, { "from", "a" }, { "failure", "a" }, { "failures" },
+			{ "mst" } };
+
+	private final Modelo modelo;
+	private final HttpServer servidor;
+	private final ExecutorService ejecutor;
+
+	/**
+	 * @param modelo modelo con los datos ya cargados; solo se consulta
+	 * @param puerto puerto local (0 para que el sistema elija uno libre)
+	 */
+	public ServicioConsultas(Modelo modelo, int puerto) throws IOException {
+		this.modelo = modelo;
+		this.servidor = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), puerto), 0);
+		this.ejecutor = crearEjecutor();
+		for (String[] consulta : CONSULTAS) {
+			Metricas.Histograma duracion = Metricas.histogramaTiempo("servicio." + consulta[0]);
+			servidor.createContext("/" + consulta[0], intercambio -> atender(intercambio, consulta, duracion));
+		}
+		servidor.createContext("/metricas", intercambio -> {
+			if (!rutaExacta(intercambio, "metricas")) {
+				return;
+			}
+			if (!"GET".equals(intercambio.getRequestMethod())) {
+				responder(intercambio, 405, "Solo se aceptan peticiones GET", null);
+			} else {
+				responder(intercambio, 200, Metricas.json(), "application/json; charset=utf-8");
+			}
+		});
+		servidor.setExecutor(ejecutor);
+	}
+
+	public void iniciar() {
+		servidor.start();
+	}
+
+	/**
+	 * Deja de aceptar peticiones y espera hasta segundos a que terminen las que están en curso
+	 */
+	public void detener(int segundos) {
+		servidor.stop(segundos);
+		ejecutor.shutdown();
+		try {
+			ejecutor.awaitTermination(segundos, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	public InetSocketAddress getDireccion() {
+		return servidor.getAddress();
+	}
+
+	/**
+	 * Un hilo virtual por petición si la JVM los tiene (Java 21 o más); si no, un pool de hilos de plataforma.
+	 * Se busca por reflexión porque el proyecto compila para Java 8.
+	 */
+	private static ExecutorService crearEjecutor() {
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (ReflectiveOperationException e) {
+			return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2);
+		}
+	}
+
+	private void atender(HttpExchange intercambio, String[] consulta, Metricas.Histograma duracion) throws IOException {
+		String tipo = consulta[0];
+		if (!rutaExacta(intercambio, tipo)) {
+			return;
+		}
+		long inicio = Metricas.inicio();
+		try {
+			if (!"GET".equals(intercambio.getRequestMethod())) {
+				responder(intercambio, 405, "Solo se aceptan peticiones GET", null);
+				return;
+			}
+			Map<String, String> parametros;
+			try {
+				parametros = parametros(intercambio.getRequestURI().getRawQuery());
+			} catch (IllegalArgumentException e) {
+				responder(intercambio, 400, "Parámetros mal codificados", null);
+				return;
+			}
+			List<String> partes = new ArrayList<>();
+			partes.add(tipo);
+			for (int i = 1; i < consulta.length; i++) {
+				String valor = parametros.remove(consulta[i]);
+				if (valor == null || valor.isEmpty()) {
+					responder(intercambio, 400, "Falta el parámetro " + consulta[i] + " para /" + tipo, null);
+					return;
+				}
+				partes.add(valor);
+			}
+			if (!parametros.isEmpty()) {
+				responder(intercambio, 400, "Parámetros no válidos para /" + tipo + ": "
+						+ String.join(", ", parametros.keySet()), null);
+				return;
+			}
+			String respuesta;
+			try {
+				respuesta = ConsultasLote.responder(modelo, partes);
+			} catch (RuntimeException e) {
+				responder(intercambio, 500, "Error al resolver la consulta: " + e, null);
+				return;
+			}
+			if (respuesta == null) {
+				responder(intercambio, 400, "Parámetros inválidos para /" + tipo, null);
+			} else {
+				responder(intercambio, 200, respuesta, null);
+			}
+		} finally {
+			duracion.registrarDesde(inicio);
+		}
+	}
+
+	/**
+	 * El contexto de HttpServer también recibe las rutas que solo empiezan igual (/routeXYZ en /route); esas
+	 * se responden con 404 y retorna false
+	 */
+	private static boolean rutaExacta(HttpExchange intercambio, String tipo) throws IOException {
+		String ruta = intercambio.getRequestURI().getPath();
+		if (("/" + tipo).equals(ruta)) {
+			return true;
+		}
+		responder(intercambio, 404, "No existe la ruta " + ruta, null);
+		return false;
+	}
+
+	private static Map<String, String> parametros(String consulta) throws UnsupportedEncodingException {
+		Map<String, String> parametros = new HashMap<>();
+		if (consulta == null || consulta.isEmpty()) {
+			return parametros;
+		}
+		for (String par : consulta.split("&")) {
+			int igual = par.indexOf('=');
+			String nombre = igual < 0 ? par : par.substring(0, igual);
+			String valor = igual < 0 ? "" : par.substring(igual + 1);
+			parametros.put(URLDecoder.decode(nombre, "UTF-8"), URLDecoder.decode(valor, "UTF-8"));
+		}
+		return parametros;
+	}
+
+	private static void responder(HttpExchange intercambio, int estado, String cuerpo, String tipoContenido)
+			throws IOException {
+		byte[] bytes = cuerpo.getBytes(StandardCharsets.UTF_8);
+		intercambio.getResponseHeaders().set("Content-Type",
+				tipoContenido != null ? tipoContenido : "text/plain; charset=utf-8");
+		intercambio.sendResponseHeaders(estado, bytes.length);
+		try (OutputStream salida = intercambio.getResponseBody()) {
+			salida.write(bytes);
+		}
+	}
+}
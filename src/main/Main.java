@@ -3,9 +3,30 @@ import controller.Controller;
 
 public class Main {
 	
+	/**
+	 * Sin argumentos abre el menú interactivo. Con --lote consultas.txt salida.txt [hilos] resuelve el archivo
+	 * de consultas sin interacción, con --servicio [puerto] atiende consultas por HTTP local y con
+	 * --matriz archivo.csv guarda la matriz de distancias entre capitales.
+	 */
 	public static void main(String[] args) 
 	{
 		Controller controler = new Controller();
+		if (args.length >= 3 && "--lote".equals(args[0]))
+		{
+			int hilos = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+			controler.ejecutarLote(args[1], args[2], hilos);
+			return;
+		}
+		if (args.length >= 2 && "--matriz".equals(args[0]))
+		{
+			controler.exportarMatriz(args[1]);
+			return;
+		}
+		if (args.length >= 1 && "--servicio".equals(args[0]))
+		{
+			controler.servir(args.length > 1 ? Integer.parseInt(args[1]) : 8080);
+			return;
+		}
 		controler.run();
 	}
 }
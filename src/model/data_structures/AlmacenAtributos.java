@@ -0,0 +1,147 @@
+package model.data_structures;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Almacén por columnas de los atributos de muchos objetos del mismo tipo (países o puntos de aterrizaje).
+ * Las coordenadas quedan en arreglos de double y los textos descriptivos en un solo arreglo de bytes UTF-8;
+ * un texto solo se convierte en String cuando se pide (normalmente al imprimir un resultado).
+ * Se puede agregar desde varios hilos, pero solo se debe leer cuando ya nadie está agregando.
+ */
+public class AlmacenAtributos {
+
+	private final int campos;
+	private double[] latitudes;
+	private double[] longitudes;
+	private int[] inicios;
+	private int[] largos;
+	private byte[] textos;
+	private int bytesUsados;
+	private int filas;
+
+	/**
+	 * @param campos cantidad de textos que guarda cada fila
+	 */
+	public AlmacenAtributos(int campos, int filasIniciales) {
+		int capacidad = Math.max(1, filasIniciales);
+		this.campos = campos;
+		this.latitudes = new double[capacidad];
+		this.longitudes = new double[capacidad];
+		this.inicios = new int[capacidad * campos];
+		this.largos = new int[capacidad * campos];
+		this.textos = new byte[capacidad * campos * 8];
+	}
+
+	/**
+	 * Agrega una fila y retorna su número. Debe recibir exactamente un texto por campo (puede ser null).
+	 */
+	public synchronized int agregar(double latitud, double longitud, String... valores) {
+		if (valores.length != campos) {
+			throw new IllegalArgumentException("Se esperaban " + campos + " textos y llegaron " + valores.length);
+		}
+		if (filas == latitudes.length) {
+			int capacidad = filas * 2;
+			latitudes = Arrays.copyOf(latitudes, capacidad);
+			longitudes = Arrays.copyOf(longitudes, capacidad);
+			inicios = Arrays.copyOf(inicios, capacidad * campos);
+			largos = Arrays.copyOf(largos, capacidad * campos);
+		}
+		int fila = filas++;
+		latitudes[fila] = latitud;
+		longitudes[fila] = longitud;
+		for (int campo = 0; campo < campos; campo++) {
+			guardarTexto(fila * campos + campo, valores[campo]);
+		}
+		return fila;
+	}
+
+	public int numCampos() {
+		return campos;
+	}
+
+	public int size() {
+		return filas;
+	}
+
+	public double latitud(int fila) {
+		return latitudes[fila];
+	}
+
+	public double longitud(int fila) {
+		return longitudes[fila];
+	}
+
+	public synchronized void cambiarLatitud(int fila, double latitud) {
+		latitudes[fila] = latitud;
+	}
+
+	public synchronized void cambiarLongitud(int fila, double longitud) {
+		longitudes[fila] = longitud;
+	}
+
+	/**
+	 * Decodifica el texto del campo en la fila dada
+	 */
+	public String texto(int fila, int campo) {
+		int posicion = fila * campos + campo;
+		int largo = largos[posicion];
+		return largo < 0 ? null : new String(textos, inicios[posicion], largo, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Compara el texto del campo en esta fila con el del mismo campo en la fila de otro almacén, byte a byte
+	 * sobre el UTF-8 guardado y sin crear Strings. El orden es el de los puntos de código (igual al de
+	 * String.compareTo salvo entre caracteres fuera del plano básico y los de U+E000 a U+FFFF); null va primero.
+	 */
+	public int compararTexto(int fila, AlmacenAtributos otro, int otraFila, int campo) {
+		int posicion = fila * campos + campo;
+		int otraPosicion = otraFila * otro.campos + campo;
+		int largo = largos[posicion];
+		int otroLargo = otro.largos[otraPosicion];
+		if (largo < 0 || otroLargo < 0) {
+			return Integer.compare(largo < 0 ? 0 : 1, otroLargo < 0 ? 0 : 1);
+		}
+		int inicio = inicios[posicion];
+		int otroInicio = otro.inicios[otraPosicion];
+		byte[] otrosTextos = otro.textos;
+		int comun = Math.min(largo, otroLargo);
+		for (int i = 0; i < comun; i++) {
+			int diferencia = (textos[inicio + i] & 0xFF) - (otrosTextos[otroInicio + i] & 0xFF);
+			if (diferencia != 0) {
+				return diferencia;
+			}
+		}
+		return largo - otroLargo;
+	}
+
+	/**
+	 * Reemplaza el texto de un campo (los bytes del valor anterior no se recuperan)
+	 */
+	public synchronized void cambiarTexto(int fila, int campo, String valor) {
+		guardarTexto(fila * campos + campo, valor);
+	}
+
+	/**
+	 * Bytes ocupados por los textos guardados
+	 */
+	public int bytesTexto() {
+		return bytesUsados;
+	}
+
+	private void guardarTexto(int posicion, String valor) {
+		if (valor == null) {
+			inicios[posicion] = 0;
+			largos[posicion] = -1;
+			return;
+		}
+		byte[] bytes = valor.getBytes(StandardCharsets.UTF_8);
+		if (bytesUsados + bytes.length > textos.length) {
+			textos = Arrays.copyOf(textos, Math.max(textos.length * 2, bytesUsados + bytes.length));
+		}
+		System.arraycopy(bytes, 0, textos, bytesUsados, bytes.length);
+		inicios[posicion] = bytesUsados;
+		largos[posicion] = bytes.length;
+		bytesUsados += bytes.length;
+	}
+}
@@ -0,0 +1,51 @@
+package model.data_structures;
+
+/**
+ * Árbol de caminos mínimos desde un origen sobre los ids enteros de un GrafoCSR.
+ * distTo[v] es la distancia acumulada y edgeTo[v] el vértice anterior en el camino (-1 si no hay).
+ */
+public class ArbolCaminosMinimos {
+	private final int origen;
+	private final float[] distTo;
+	private final int[] edgeTo;
+
+	public ArbolCaminosMinimos(int origen, float[] distTo, int[] edgeTo) {
+		this.origen = origen;
+		this.distTo = distTo;
+		this.edgeTo = edgeTo;
+	}
+
+	public int getOrigen() {
+		return origen;
+	}
+
+	public float distTo(int v) {
+		return distTo[v];
+	}
+
+	public boolean hasPathTo(int v) {
+		return distTo[v] < Float.POSITIVE_INFINITY;
+	}
+
+	public int edgeTo(int v) {
+		return edgeTo[v];
+	}
+
+	/**
+	 * Retorna los vértices del camino desde el origen hasta v (ambos incluidos), o un arreglo vacío si no hay camino.
+	 */
+	public int[] pathTo(int v) {
+		if (!hasPathTo(v)) {
+			return new int[0];
+		}
+		int largo = 1;
+		for (int x = v; x != origen; x = edgeTo[x]) {
+			largo++;
+		}
+		int[] camino = new int[largo];
+		for (int x = v, i = largo - 1; i >= 0; x = edgeTo[x], i--) {
+			camino[i] = x;
+		}
+		return camino;
+	}
+}
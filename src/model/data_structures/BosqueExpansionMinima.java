@@ -0,0 +1,36 @@
+package model.data_structures;
+
+/**
+ * Resultado de un algoritmo de expansión mínima sobre un GrafoCSR: los índices de los arcos elegidos,
+ * su peso total y la cantidad de componentes (árboles) del bosque.
+ */
+public class BosqueExpansionMinima {
+	private final int[] arcos;
+	private final double pesoTotal;
+	private final int componentes;
+
+	public BosqueExpansionMinima(int[] arcos, double pesoTotal, int componentes) {
+		this.arcos = arcos;
+		this.pesoTotal = pesoTotal;
+		this.componentes = componentes;
+	}
+
+	/**
+	 * Índices (en el GrafoCSR) de los arcos del bosque.
+	 */
+	public int[] getEdges() {
+		return arcos;
+	}
+
+	public int numEdges() {
+		return arcos.length;
+	}
+
+	public double getTotalWeight() {
+		return pesoTotal;
+	}
+
+	public int getComponents() {
+		return componentes;
+	}
+}
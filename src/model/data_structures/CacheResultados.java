@@ -0,0 +1,322 @@
+package model.data_structures;
+
+import java.text.DecimalFormat;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Caché acotada de resultados de consultas. Cada operación recibe la versión del grafo con que se calcula el
+ * resultado; cuando llega una versión más nueva la caché se vacía, así nunca retorna algo calculado sobre un
+ * grafo que ya cambió. Es segura para varios hilos (un solo lock; el cálculo de un fallo se hace fuera de él).
+ * <ul>
+ * <li>LRU: expulsa la entrada usada hace más tiempo.</li>
+ * <li>W_TINY_LFU: una ventana LRU pequeña (1%) recibe las entradas nuevas y una zona principal SLRU (prueba y
+ * protegida) guarda las frecuentes. Al salir de la ventana, una entrada solo reemplaza a la víctima de la zona
+ * principal si su frecuencia estimada (count-min sketch con envejecimiento) es mayor, así una ráfaga de
+ * consultas únicas no saca de la caché los pares que se piden todo el tiempo.</li>
+ * </ul>
+ */
+public class CacheResultados<K, V> {
+
+	public enum Politica {
+		LRU, W_TINY_LFU
+	}
+
+	private static final int VENTANA = 0;
+	private static final int PRUEBA = 1;
+	private static final int PROTEGIDA = 2;
+
+	private final Politica politica;
+	private final int capacidad;
+	private final int capacidadVentana;
+	private final int capacidadPrincipal;
+	private final int capacidadProtegida;
+	private final Map<K, Nodo<K, V>> nodos = new HashMap<>();
+	// Listas doblemente encadenadas con centinela: la más reciente va después del centinela
+	private final Nodo<K, V>[] listas;
+	private final int[] tamanos = new int[3];
+	private final Frecuencias frecuencias;
+
+	private long version;
+	private long aciertos;
+	private long fallos;
+	private long expulsiones;
+	private long invalidaciones;
+
+	/**
+	 * @param capacidad cantidad máxima de resultados guardados (0 deshabilita la caché)
+	 */
+	@SuppressWarnings("unchecked")
+	public CacheResultados(int capacidad, Politica politica) {
+		this.politica = politica;
+		this.capacidad = Math.max(0, capacidad);
+		if (politica == Politica.LRU) {
+			capacidadVentana = this.capacidad;
+		} else {
+			capacidadVentana = Math.max(1, this.capacidad / 100);
+		}
+		capacidadPrincipal = Math.max(0, this.capacidad - capacidadVentana);
+		capacidadProtegida = capacidadPrincipal * 8 / 10;
+		listas = new Nodo[3];
+		for (int i = 0; i < listas.length; i++) {
+			listas[i] = new Nodo<>(null, null);
+			listas[i].anterior = listas[i];
+			listas[i].siguiente = listas[i];
+		}
+		frecuencias = politica == Politica.W_TINY_LFU ? new Frecuencias(this.capacidad) : null;
+	}
+
+	/**
+	 * Resultado guardado para la llave, o null si no está o es de una versión anterior del grafo
+	 */
+	public synchronized V get(K llave, long versionGrafo) {
+		if (!actualizarVersion(versionGrafo)) {
+			fallos++;
+			return null;
+		}
+		if (frecuencias != null) {
+			frecuencias.incrementar(llave.hashCode());
+		}
+		Nodo<K, V> nodo = nodos.get(llave);
+		if (nodo == null) {
+			fallos++;
+			return null;
+		}
+		aciertos++;
+		usar(nodo);
+		return nodo.valor;
+	}
+
+	/**
+	 * Guarda un resultado calculado con la versión dada del grafo; si la caché ya va en una versión más nueva,
+	 * el resultado se descarta
+	 */
+	public synchronized void put(K llave, V valor, long versionGrafo) {
+		if (capacidad == 0 || valor == null || !actualizarVersion(versionGrafo)) {
+			return;
+		}
+		Nodo<K, V> nodo = nodos.get(llave);
+		if (nodo != null) {
+			nodo.valor = valor;
+			usar(nodo);
+			return;
+		}
+		nodo = new Nodo<>(llave, valor);
+		nodos.put(llave, nodo);
+		agregarAlInicio(VENTANA, nodo);
+		if (tamanos[VENTANA] > capacidadVentana) {
+			salirDeVentana(ultimo(VENTANA));
+		}
+	}
+
+	/**
+	 * Retorna el resultado guardado o lo calcula (fuera del lock) y lo guarda. Con capacidad 0 solo lo calcula,
+	 * sin tomar el lock ni contar el fallo.
+	 */
+	public V obtener(K llave, long versionGrafo, Supplier<V> calcular) {
+		if (capacidad == 0) {
+			return calcular.get();
+		}
+		V valor = get(llave, versionGrafo);
+		if (valor == null) {
+			valor = calcular.get();
+			put(llave, valor, versionGrafo);
+		}
+		return valor;
+	}
+
+	/**
+	 * Descarta todos los resultados guardados
+	 */
+	public synchronized void invalidar() {
+		nodos.clear();
+		for (int i = 0; i < listas.length; i++) {
+			listas[i].anterior = listas[i];
+			listas[i].siguiente = listas[i];
+			tamanos[i] = 0;
+		}
+		invalidaciones++;
+	}
+
+	public synchronized int size() {
+		return nodos.size();
+	}
+
+	public synchronized long darAciertos() {
+		return aciertos;
+	}
+
+	public synchronized long darFallos() {
+		return fallos;
+	}
+
+	public synchronized long darExpulsiones() {
+		return expulsiones;
+	}
+
+	public synchronized long darInvalidaciones() {
+		return invalidaciones;
+	}
+
+	public synchronized String toString() {
+		DecimalFormat df = new DecimalFormat("###.##");
+		long consultas = aciertos + fallos;
+		String retorno = "Caché " + politica + ": " + nodos.size() + " de " + capacidad + " entradas";
+		retorno += "\nAciertos: " + aciertos + ", fallos: " + fallos;
+		retorno += "\nTasa de aciertos: " + df.format(consultas == 0 ? 0 : 100.0 * aciertos / consultas) + "%";
+		retorno += "\nExpulsiones: " + expulsiones + ", invalidaciones: " + invalidaciones;
+		return retorno;
+	}
+
+	/**
+	 * Vacía la caché si llega una versión más nueva; retorna false si la versión es anterior a la actual
+	 */
+	private boolean actualizarVersion(long versionGrafo) {
+		if (versionGrafo > version) {
+			if (!nodos.isEmpty()) {
+				invalidar();
+			}
+			version = versionGrafo;
+		}
+		return versionGrafo == version;
+	}
+
+	/**
+	 * Mueve la entrada usada al frente de su lista; en W-TinyLFU un acierto en prueba la pasa a protegida
+	 */
+	private void usar(Nodo<K, V> nodo) {
+		quitar(nodo);
+		if (nodo.lista == PRUEBA) {
+			agregarAlInicio(PROTEGIDA, nodo);
+			if (tamanos[PROTEGIDA] > capacidadProtegida) {
+				Nodo<K, V> degradado = ultimo(PROTEGIDA);
+				quitar(degradado);
+				agregarAlInicio(PRUEBA, degradado);
+			}
+		} else {
+			agregarAlInicio(nodo.lista, nodo);
+		}
+	}
+
+	/**
+	 * Decide qué pasa con la entrada más vieja de la ventana: en LRU se expulsa; en W-TinyLFU entra a la zona
+	 * principal si hay espacio o si es más frecuente que la víctima de esa zona
+	 */
+	private void salirDeVentana(Nodo<K, V> candidato) {
+		quitar(candidato);
+		if (politica == Politica.LRU || capacidadPrincipal == 0) {
+			expulsar(candidato);
+			return;
+		}
+		if (tamanos[PRUEBA] + tamanos[PROTEGIDA] < capacidadPrincipal) {
+			agregarAlInicio(PRUEBA, candidato);
+			return;
+		}
+		Nodo<K, V> victima = tamanos[PRUEBA] > 0 ? ultimo(PRUEBA) : ultimo(PROTEGIDA);
+		if (frecuencias.estimar(candidato.llave.hashCode()) > frecuencias.estimar(victima.llave.hashCode())) {
+			quitar(victima);
+			expulsar(victima);
+			agregarAlInicio(PRUEBA, candidato);
+		} else {
+			expulsar(candidato);
+		}
+	}
+
+	private void expulsar(Nodo<K, V> nodo) {
+		nodos.remove(nodo.llave);
+		expulsiones++;
+	}
+
+	private Nodo<K, V> ultimo(int lista) {
+		return listas[lista].anterior;
+	}
+
+	private void agregarAlInicio(int lista, Nodo<K, V> nodo) {
+		Nodo<K, V> centinela = listas[lista];
+		nodo.lista = lista;
+		nodo.anterior = centinela;
+		nodo.siguiente = centinela.siguiente;
+		centinela.siguiente.anterior = nodo;
+		centinela.siguiente = nodo;
+		tamanos[lista]++;
+	}
+
+	private void quitar(Nodo<K, V> nodo) {
+		nodo.anterior.siguiente = nodo.siguiente;
+		nodo.siguiente.anterior = nodo.anterior;
+		tamanos[nodo.lista]--;
+	}
+
+	private static final class Nodo<K, V> {
+		private final K llave;
+		private V valor;
+		private int lista;
+		private Nodo<K, V> anterior;
+		private Nodo<K, V> siguiente;
+
+		private Nodo(K llave, V valor) {
+			this.llave = llave;
+			this.valor = valor;
+		}
+	}
+
+	/**
+	 * Count-min sketch de 4 filas con contadores hasta 15. Cuando se han registrado 10 veces la capacidad de
+	 * la caché, todos los contadores se dividen entre dos para que las frecuencias viejas pierdan peso.
+	 */
+	private static final class Frecuencias {
+		private static final int FILAS = 4;
+		private static final int MAXIMO = 15;
+		private static final int[] SEMILLAS = { 0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F };
+
+		private final byte[][] contadores;
+		private final int mascara;
+		private final int periodo;
+		private int registros;
+
+		private Frecuencias(int capacidad) {
+			int ancho = 16;
+			while (ancho < capacidad && ancho < (1 << 24)) {
+				ancho <<= 1;
+			}
+			contadores = new byte[FILAS][ancho];
+			mascara = ancho - 1;
+			periodo = Math.max(16, capacidad * 10);
+		}
+
+		private void incrementar(int hash) {
+			for (int fila = 0; fila < FILAS; fila++) {
+				int posicion = posicion(hash, fila);
+				if (contadores[fila][posicion] < MAXIMO) {
+					contadores[fila][posicion]++;
+				}
+			}
+			if (++registros >= periodo) {
+				envejecer();
+			}
+		}
+
+		private int estimar(int hash) {
+			int minimo = MAXIMO;
+			for (int fila = 0; fila < FILAS; fila++) {
+				minimo = Math.min(minimo, contadores[fila][posicion(hash, fila)]);
+			}
+			return minimo;
+		}
+
+		private int posicion(int hash, int fila) {
+			int h = hash * SEMILLAS[fila];
+			return (h ^ (h >>> 16)) & mascara;
+		}
+
+		private void envejecer() {
+			for (byte[] fila : contadores) {
+				for (int i = 0; i < fila.length; i++) {
+					fila[i] >>= 1;
+				}
+			}
+			registros /= 2;
+		}
+	}
+}
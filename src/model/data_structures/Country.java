@@ -2,30 +2,53 @@ package model.data_structures;
 
 import java.util.Comparator;
 
-public class Country implements Comparable<Country> {
+/**
+ * País con su capital. El nombre del país y el de la capital (llaves de búsqueda) viven en el objeto; las
+ * coordenadas, el código y el continente están en un AlmacenAtributos compartido.
+ */
+public class Country implements Comparable<Country>, Punto {
+	// Campos de texto en el almacén
+	private static final int CODIGO = 0;
+	private static final int CONTINENTE = 1;
+	private static final int CAMPOS = 2;
+
 	private String countryName;
 	private String capitalName;
-	private double latitude;
-	private double longitude;
-	private String code;
-	private String continentName;
+	private final AlmacenAtributos atributos;
+	private final int fila;
 	private float population;
 	private double users;
 	private double distlan;
 
 	public Country(String countryName, String capitalName, double latitude, double longitude,
 				   String code, String continentName, float population, double users) {
+		this(nuevoAlmacen(1), countryName, capitalName, latitude, longitude, code, continentName, population, users);
+	}
+
+	/**
+	 * Crea el país guardando sus atributos en el almacén dado (creado con nuevoAlmacen)
+	 */
+	public Country(AlmacenAtributos atributos, String countryName, String capitalName, double latitude,
+				   double longitude, String code, String continentName, float population, double users) {
+		if (atributos.numCampos() != CAMPOS) {
+			throw new IllegalArgumentException("El almacén no es de países");
+		}
 		this.countryName = countryName;
 		this.capitalName = capitalName;
-		this.latitude = latitude;
-		this.longitude = longitude;
-		this.code = code;
-		this.continentName = continentName;
+		this.atributos = atributos;
+		this.fila = atributos.agregar(latitude, longitude, code, continentName);
 		this.population = population;
 		this.users = users;
 		this.distlan = 0; // Initializing distlan to 0 by default.
 	}
 
+	/**
+	 * Almacén de atributos para una cantidad esperada de países
+	 */
+	public static AlmacenAtributos nuevoAlmacen(int cantidad) {
+		return new AlmacenAtributos(CAMPOS, cantidad);
+	}
+
 	// Getters and setters
 	public String getCountryName() {
 		return countryName;
@@ -44,35 +67,35 @@ public class Country implements Comparable<Country> {
 	}
 
 	public double getLatitude() {
-		return latitude;
+		return atributos.latitud(fila);
 	}
 
 	public void setLatitude(double latitude) {
-		this.latitude = latitude;
+		atributos.cambiarLatitud(fila, latitude);
 	}
 
 	public double getLongitude() {
-		return longitude;
+		return atributos.longitud(fila);
 	}
 
 	public void setLongitude(double longitude) {
-		this.longitude = longitude;
+		atributos.cambiarLongitud(fila, longitude);
 	}
 
 	public String getCode() {
-		return code;
+		return atributos.texto(fila, CODIGO);
 	}
 
 	public void setCode(String code) {
-		this.code = code;
+		atributos.cambiarTexto(fila, CODIGO, code);
 	}
 
 	public String getContinentName() {
-		return continentName;
+		return atributos.texto(fila, CONTINENTE);
 	}
 
 	public void setContinentName(String continentName) {
-		this.continentName = continentName;
+		atributos.cambiarTexto(fila, CONTINENTE, continentName);
 	}
 
 	public float getPopulation() {
@@ -0,0 +1,199 @@
+package model.data_structures;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Diccionario de las llaves de los vértices del grafo de cables: cada par (punto de aterrizaje, cable) y cada
+ * capital recibe un id entero denso una sola vez durante la carga. Dentro del grafo solo se usan esos ids;
+ * el texto "landingId + cableId" se arma únicamente al mostrar un vértice.
+ * Los pares se guardan en una tabla de direccionamiento abierto con llaves long (índice del landing en los
+ * 32 bits altos e índice del cable en los bajos), sin crear objetos por búsqueda.
+ */
+public class DiccionarioVertices {
+
+	private static final long VACIO = -1L;
+
+	private final Map<String, Integer> indicesLanding = new HashMap<>();
+	private final Map<String, Integer> indicesCable = new HashMap<>();
+	private final Map<String, Integer> idsCapital = new HashMap<>();
+	private String[] landings = new String[16];
+	private String[] cables = new String[16];
+
+	// Pares (landing, cable) -> id
+	private long[] pares;
+	private int[] idsPar;
+	private int paresUsados;
+	private int bits;
+
+	// Por id: índice del landing y del cable, o -1 y el nombre de la capital
+	private int[] landingDe;
+	private int[] cableDe;
+	private String[] capitales;
+	private int tamano;
+
+	public DiccionarioVertices(int tamInicial) {
+		bits = 4;
+		while ((1 << bits) < tamInicial * 2 && bits < 30) {
+			bits++;
+		}
+		pares = new long[1 << bits];
+		idsPar = new int[1 << bits];
+		Arrays.fill(pares, VACIO);
+		int capacidad = Math.max(16, tamInicial);
+		landingDe = new int[capacidad];
+		cableDe = new int[capacidad];
+		capitales = new String[capacidad];
+	}
+
+	/**
+	 * Id del vértice de la capital; lo crea si no existe
+	 */
+	public synchronized int idCapital(String capital) {
+		Integer id = idsCapital.get(capital);
+		if (id == null) {
+			id = nuevoId(-1, -1, capital);
+			idsCapital.put(capital, id);
+		}
+		return id;
+	}
+
+	/**
+	 * Id del vértice del par (punto de aterrizaje, cable); lo crea si no existe
+	 */
+	public synchronized int idVertice(String landingId, String cableId) {
+		int landing = indice(indicesLanding, landingId, true);
+		int cable = indice(indicesCable, cableId, false);
+		long par = ((long) landing << 32) | cable;
+		int posicion = buscarPar(par);
+		if (pares[posicion] != VACIO) {
+			return idsPar[posicion];
+		}
+		int id = nuevoId(landing, cable, null);
+		pares[posicion] = par;
+		idsPar[posicion] = id;
+		if (++paresUsados > pares.length / 2) {
+			crecerPares();
+		}
+		return id;
+	}
+
+	/**
+	 * Id de la capital o -1 si no está registrada
+	 */
+	public int buscarCapital(String capital) {
+		Integer id = idsCapital.get(capital);
+		return id != null ? id : -1;
+	}
+
+	/**
+	 * Id del par (punto de aterrizaje, cable) o -1 si no está registrado
+	 */
+	public int buscarVertice(String landingId, String cableId) {
+		Integer landing = indicesLanding.get(landingId);
+		Integer cable = indicesCable.get(cableId);
+		if (landing == null || cable == null) {
+			return -1;
+		}
+		int posicion = buscarPar(((long) landing << 32) | cable);
+		return pares[posicion] == VACIO ? -1 : idsPar[posicion];
+	}
+
+	public int size() {
+		return tamano;
+	}
+
+	public boolean esCapital(int id) {
+		return landingDe[id] < 0;
+	}
+
+	/**
+	 * Id del punto de aterrizaje del vértice, o null si es una capital
+	 */
+	public String landingDe(int id) {
+		return landingDe[id] < 0 ? null : landings[landingDe[id]];
+	}
+
+	/**
+	 * Id del cable del vértice, o null si es una capital
+	 */
+	public String cableDe(int id) {
+		return landingDe[id] < 0 ? null : cables[cableDe[id]];
+	}
+
+	public String capitalDe(int id) {
+		return capitales[id];
+	}
+
+	/**
+	 * Llave de texto del vértice como se armaba antes: landingId + cableId, o el nombre de la capital
+	 */
+	public String llave(int id) {
+		return landingDe[id] < 0 ? capitales[id] : landings[landingDe[id]] + cables[cableDe[id]];
+	}
+
+	private int nuevoId(int landing, int cable, String capital) {
+		if (tamano == landingDe.length) {
+			int capacidad = tamano * 2;
+			landingDe = Arrays.copyOf(landingDe, capacidad);
+			cableDe = Arrays.copyOf(cableDe, capacidad);
+			capitales = Arrays.copyOf(capitales, capacidad);
+		}
+		landingDe[tamano] = landing;
+		cableDe[tamano] = cable;
+		capitales[tamano] = capital;
+		return tamano++;
+	}
+
+	private int indice(Map<String, Integer> indices, String texto, boolean esLanding) {
+		Integer indice = indices.get(texto);
+		if (indice == null) {
+			indice = indices.size();
+			indices.put(texto, indice);
+			if (esLanding) {
+				landings = agregar(landings, indice, texto);
+			} else {
+				cables = agregar(cables, indice, texto);
+			}
+		}
+		return indice;
+	}
+
+	private static String[] agregar(String[] arreglo, int posicion, String texto) {
+		if (posicion == arreglo.length) {
+			arreglo = Arrays.copyOf(arreglo, arreglo.length * 2);
+		}
+		arreglo[posicion] = texto;
+		return arreglo;
+	}
+
+	/**
+	 * Posición del par en la tabla, o la posición vacía donde iría
+	 */
+	private int buscarPar(long par) {
+		int mascara = pares.length - 1;
+		long h = par * 0x9E3779B97F4A7C15L;
+		int posicion = (int) (h >>> (64 - bits));
+		while (pares[posicion] != VACIO && pares[posicion] != par) {
+			posicion = (posicion + 1) & mascara;
+		}
+		return posicion;
+	}
+
+	private void crecerPares() {
+		long[] viejosPares = pares;
+		int[] viejosIds = idsPar;
+		bits++;
+		pares = new long[1 << bits];
+		idsPar = new int[1 << bits];
+		Arrays.fill(pares, VACIO);
+		for (int i = 0; i < viejosPares.length; i++) {
+			if (viejosPares[i] != VACIO) {
+				int posicion = buscarPar(viejosPares[i]);
+				pares[posicion] = viejosPares[i];
+				idsPar[posicion] = viejosIds[i];
+			}
+		}
+	}
+}
@@ -0,0 +1,854 @@
+package model.data_structures;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32;
+
+import utils.Metricas;
+
+/**
+ * Vista inmutable de un GrafoListaAdyacencia en formato CSR (compressed sparse row).
+ * Los vértices se identifican con ids enteros 0..n-1; los arcos que salen del vértice v
+ * ocupan las posiciones [offsets[v], offsets[v+1]) de targets y weights.
+ * Se obtiene con GrafoListaAdyacencia.freeze() una vez el grafo ya no se modifica.
+ */
+public class GrafoCSR<K extends Comparable<K>, V extends Comparable<V>> {
+
+	private static final Metricas.Histograma BFS_VISITADOS = Metricas.histograma("grafo.bfs.verticesVisitados");
+	private static final Metricas.Histograma DIJKSTRA_ASENTADOS = Metricas
+			.histograma("grafo.dijkstra.verticesAsentados");
+	private static final Metricas.Histograma ASTAR_ASENTADOS = Metricas.histograma("grafo.aStar.verticesAsentados");
+	private static final Metricas.Histograma BIDIRECCIONAL_ASENTADOS = Metricas
+			.histograma("grafo.dijkstraBidireccional.verticesAsentados");
+
+	private final K[] llaves;
+	private final V[] valores;
+	private final Map<K, Integer> ids;
+	private final int[] offsets;
+	private final int[] targets;
+	private final float[] weights;
+	private volatile int[] offsetsT;
+	private int[] sourcesT;
+	private float[] weightsT;
+	private volatile int[] componentesFuertes;
+	private int numComponentesFuertes;
+
+	@SuppressWarnings("unchecked")
+	public GrafoCSR(Vertex<K, V>[] vertices) {
+		int n = vertices.length;
+		this.llaves = (K[]) new Comparable[n];
+		this.valores = (V[]) new Comparable[n];
+		this.ids = new HashMap<>(n * 2);
+		this.offsets = new int[n + 1];
+
+		for (int i = 0; i < n; i++) {
+			llaves[i] = vertices[i].getId();
+			valores[i] = vertices[i].getInfo();
+			ids.put(llaves[i], i);
+			offsets[i + 1] = offsets[i] + vertices[i].getEdges().size();
+		}
+
+		this.targets = new int[offsets[n]];
+		this.weights = new float[offsets[n]];
+		for (int i = 0; i < n; i++) {
+			int e = offsets[i];
+			for (Edge<K, V> arco : vertices[i].getEdges().values()) {
+				targets[e] = ids.get(arco.getDestination().getId());
+				weights[e] = arco.getWeight();
+				e++;
+			}
+		}
+	}
+
+	public int numVertices() {
+		return llaves.length;
+	}
+
+	public int numEdges() {
+		return targets.length;
+	}
+
+	/**
+	 * Retorna el id entero del vértice con la llave dada, o -1 si no existe.
+	 */
+	public int idOf(K llave) {
+		Integer id = ids.get(llave);
+		return id != null ? id : -1;
+	}
+
+	public K keyOf(int v) {
+		return llaves[v];
+	}
+
+	public V valueOf(int v) {
+		return valores[v];
+	}
+
+	public int outDegree(int v) {
+		return offsets[v + 1] - offsets[v];
+	}
+
+	/**
+	 * Primer arco de salida de v; los arcos de v son los índices e con firstEdge(v) <= e < firstEdge(v + 1).
+	 */
+	public int firstEdge(int v) {
+		return offsets[v];
+	}
+
+	public int target(int e) {
+		return targets[e];
+	}
+
+	public float weight(int e) {
+		return weights[e];
+	}
+
+	/**
+	 * Vértice del que sale el arco e (búsqueda binaria sobre offsets).
+	 */
+	public int source(int e) {
+		int lo = 0;
+		int hi = llaves.length - 1;
+		while (lo < hi) {
+			int mid = (lo + hi + 1) >>> 1;
+			if (offsets[mid] <= e) {
+				lo = mid;
+			} else {
+				hi = mid - 1;
+			}
+		}
+		return lo;
+	}
+
+	/**
+	 * Huella (CRC32) de la estructura y los pesos del grafo; sirve para validar datos derivados guardados en disco.
+	 */
+	public long fingerprint() {
+		CRC32 crc = new CRC32();
+		for (int i = 0; i < offsets.length; i++) {
+			actualizar(crc, offsets[i]);
+		}
+		for (int e = 0; e < targets.length; e++) {
+			actualizar(crc, targets[e]);
+			actualizar(crc, Float.floatToIntBits(weights[e]));
+		}
+		return crc.getValue();
+	}
+
+	private static void actualizar(CRC32 crc, int valor) {
+		crc.update(valor >>> 24);
+		crc.update(valor >>> 16);
+		crc.update(valor >>> 8);
+		crc.update(valor);
+	}
+
+	/**
+	 * Recorrido en anchura desde el origen; retorna los vértices alcanzados.
+	 */
+	public boolean[] bfs(int origen) {
+		boolean[] marked = new boolean[llaves.length];
+		int[] cola = new int[llaves.length];
+		int inicio = 0;
+		int fin = 0;
+		marked[origen] = true;
+		cola[fin++] = origen;
+
+		while (inicio < fin) {
+			int v = cola[inicio++];
+			for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+				int w = targets[e];
+				if (!marked[w]) {
+					marked[w] = true;
+					cola[fin++] = w;
+				}
+			}
+		}
+		BFS_VISITADOS.registrar(fin);
+		return marked;
+	}
+
+	/**
+	 * Recorrido en profundidad iterativo desde el origen; retorna los vértices alcanzados.
+	 */
+	public boolean[] dfs(int origen) {
+		boolean[] marked = new boolean[llaves.length];
+		int[] pila = new int[llaves.length];
+		int tope = 0;
+		marked[origen] = true;
+		pila[tope++] = origen;
+
+		while (tope > 0) {
+			int v = pila[--tope];
+			for (int e = offsets[v + 1] - 1; e >= offsets[v]; e--) {
+				int w = targets[e];
+				if (!marked[w]) {
+					marked[w] = true;
+					pila[tope++] = w;
+				}
+			}
+		}
+		return marked;
+	}
+
+	/**
+	 * Árbol de caminos mínimos (Dijkstra) desde el origen hacia todos los vértices.
+	 */
+	public ArbolCaminosMinimos dijkstra(int origen) {
+		return dijkstra(origen, -1);
+	}
+
+	/**
+	 * Dijkstra con heap indexado; se detiene apenas se fija la distancia del destino.
+	 * Con destino -1 calcula el árbol completo.
+	 */
+	public ArbolCaminosMinimos dijkstra(int origen, int destino) {
+		int n = llaves.length;
+		float[] distTo = new float[n];
+		int[] edgeTo = new int[n];
+		Arrays.fill(distTo, Float.POSITIVE_INFINITY);
+		Arrays.fill(edgeTo, -1);
+		distTo[origen] = 0f;
+
+		MinPQIndexadaPrimitiva pq = new MinPQIndexadaPrimitiva(n);
+		pq.insert(origen, 0f);
+		int asentados = 0;
+		while (!pq.isEmpty()) {
+			int v = pq.delMin();
+			asentados++;
+			if (v == destino) {
+				break;
+			}
+			for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+				int w = targets[e];
+				float nueva = distTo[v] + weights[e];
+				if (nueva < distTo[w]) {
+					distTo[w] = nueva;
+					edgeTo[w] = v;
+					pq.insertOrDecrease(w, nueva);
+				}
+			}
+		}
+		DIJKSTRA_ASENTADOS.registrar(asentados);
+		return new ArbolCaminosMinimos(origen, distTo, edgeTo);
+	}
+
+	/**
+	 * Dijkstra desde varios orígenes a la vez (todos empiezan con distancia 0); se detiene al fijar el primer
+	 * destino, que es el más cercano a alguno de los orígenes. Retorna los vértices del camino desde ese origen
+	 * hasta ese destino, o un arreglo vacío si ningún destino es alcanzable.
+	 */
+	public int[] dijkstra(int[] origenes, int[] destinos) {
+		int n = llaves.length;
+		float[] distTo = new float[n];
+		int[] edgeTo = new int[n];
+		boolean[] esDestino = new boolean[n];
+		Arrays.fill(distTo, Float.POSITIVE_INFINITY);
+		Arrays.fill(edgeTo, -1);
+		for (int destino : destinos) {
+			esDestino[destino] = true;
+		}
+
+		MinPQIndexadaPrimitiva pq = new MinPQIndexadaPrimitiva(n);
+		for (int origen : origenes) {
+			if (distTo[origen] != 0f) {
+				distTo[origen] = 0f;
+				pq.insert(origen, 0f);
+			}
+		}
+		int llegada = -1;
+		int asentados = 0;
+		while (!pq.isEmpty()) {
+			int v = pq.delMin();
+			asentados++;
+			if (esDestino[v]) {
+				llegada = v;
+				break;
+			}
+			for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+				int w = targets[e];
+				float nueva = distTo[v] + weights[e];
+				if (nueva < distTo[w]) {
+					distTo[w] = nueva;
+					edgeTo[w] = v;
+					pq.insertOrDecrease(w, nueva);
+				}
+			}
+		}
+		DIJKSTRA_ASENTADOS.registrar(asentados);
+		if (llegada == -1) {
+			return new int[0];
+		}
+
+		// Los orígenes son los únicos vértices alcanzados sin anterior
+		int largo = 1;
+		for (int x = llegada; edgeTo[x] != -1; x = edgeTo[x]) {
+			largo++;
+		}
+		int[] camino = new int[largo];
+		for (int x = llegada, i = largo - 1; i >= 0; x = edgeTo[x], i--) {
+			camino[i] = x;
+		}
+		return camino;
+	}
+
+	/**
+	 * A* entre origen y destino usando como heurística la distancia de Haversine al destino.
+	 * Los pesos del grafo son distancias geográficas, así que la heurística no sobreestima;
+	 * si los valores de los vértices no son Punto la heurística es 0 y equivale a Dijkstra.
+	 */
+	public ArbolCaminosMinimos aStar(int origen, int destino) {
+		int n = llaves.length;
+		float[] distTo = new float[n];
+		int[] edgeTo = new int[n];
+		Arrays.fill(distTo, Float.POSITIVE_INFINITY);
+		Arrays.fill(edgeTo, -1);
+		distTo[origen] = 0f;
+
+		Punto meta = valores[destino] instanceof Punto ? (Punto) valores[destino] : null;
+		MinPQIndexadaPrimitiva pq = new MinPQIndexadaPrimitiva(n);
+		pq.insert(origen, heuristica(origen, meta));
+		int asentados = 0;
+		while (!pq.isEmpty()) {
+			int v = pq.delMin();
+			asentados++;
+			if (v == destino) {
+				break;
+			}
+			for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+				int w = targets[e];
+				float nueva = distTo[v] + weights[e];
+				if (nueva < distTo[w]) {
+					distTo[w] = nueva;
+					edgeTo[w] = v;
+					// Sin conjunto cerrado: si el redondeo de la heurística la vuelve inconsistente, w se reabre
+					pq.insertOrDecrease(w, nueva + heuristica(w, meta));
+				}
+			}
+		}
+		ASTAR_ASENTADOS.registrar(asentados);
+		return new ArbolCaminosMinimos(origen, distTo, edgeTo);
+	}
+
+	private float heuristica(int v, Punto meta) {
+		if (meta == null || !(valores[v] instanceof Punto)) {
+			return 0f;
+		}
+		return Punto.distancia((Punto) valores[v], meta);
+	}
+
+	/**
+	 * Dijkstra bidireccional: avanza desde el origen sobre los arcos y desde el destino sobre el transpuesto,
+	 * siempre por el lado con la menor distancia pendiente, hasta que ninguna frontera pueda mejorar la mejor
+	 * ruta encontrada. Retorna los vértices del camino (vacío si no hay).
+	 */
+	public int[] bidirectionalDijkstra(int origen, int destino) {
+		if (origen == destino) {
+			return new int[] { origen };
+		}
+		buildTranspose();
+		int n = llaves.length;
+		float[] distF = new float[n];
+		float[] distB = new float[n];
+		int[] edgeToF = new int[n];
+		int[] edgeToB = new int[n];
+		Arrays.fill(distF, Float.POSITIVE_INFINITY);
+		Arrays.fill(distB, Float.POSITIVE_INFINITY);
+		Arrays.fill(edgeToF, -1);
+		Arrays.fill(edgeToB, -1);
+		distF[origen] = 0f;
+		distB[destino] = 0f;
+
+		MinPQIndexadaPrimitiva pqF = new MinPQIndexadaPrimitiva(n);
+		MinPQIndexadaPrimitiva pqB = new MinPQIndexadaPrimitiva(n);
+		pqF.insert(origen, 0f);
+		pqB.insert(destino, 0f);
+		float mejor = Float.POSITIVE_INFINITY;
+		int encuentro = -1;
+		int asentados = 0;
+
+		while (!pqF.isEmpty() && !pqB.isEmpty() && pqF.minKey() + pqB.minKey() < mejor) {
+			asentados++;
+			if (pqF.minKey() <= pqB.minKey()) {
+				int v = pqF.delMin();
+				for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+					int w = targets[e];
+					float nueva = distF[v] + weights[e];
+					if (nueva < distF[w]) {
+						distF[w] = nueva;
+						edgeToF[w] = v;
+						pqF.insertOrDecrease(w, nueva);
+					}
+					if (distF[w] + distB[w] < mejor) {
+						mejor = distF[w] + distB[w];
+						encuentro = w;
+					}
+				}
+			} else {
+				int v = pqB.delMin();
+				for (int e = offsetsT[v]; e < offsetsT[v + 1]; e++) {
+					int w = sourcesT[e];
+					float nueva = distB[v] + weightsT[e];
+					if (nueva < distB[w]) {
+						distB[w] = nueva;
+						edgeToB[w] = v;
+						pqB.insertOrDecrease(w, nueva);
+					}
+					if (distF[w] + distB[w] < mejor) {
+						mejor = distF[w] + distB[w];
+						encuentro = w;
+					}
+				}
+			}
+		}
+		BIDIRECCIONAL_ASENTADOS.registrar(asentados);
+		if (encuentro == -1) {
+			return new int[0];
+		}
+
+		int largo = 1;
+		for (int x = encuentro; x != origen; x = edgeToF[x]) {
+			largo++;
+		}
+		for (int x = encuentro; x != destino; x = edgeToB[x]) {
+			largo++;
+		}
+		int[] camino = new int[largo];
+		int i = 0;
+		for (int x = encuentro; x != origen; x = edgeToF[x]) {
+			camino[i++] = x;
+		}
+		camino[i++] = origen;
+		for (int a = 0, b = i - 1; a < b; a++, b--) {
+			int temp = camino[a];
+			camino[a] = camino[b];
+			camino[b] = temp;
+		}
+		for (int x = edgeToB[encuentro]; x != -1; x = edgeToB[x]) {
+			camino[i++] = x;
+		}
+		return camino;
+	}
+
+	/**
+	 * Construye (una sola vez) la adyacencia inversa en CSR: los arcos que llegan a v ocupan
+	 * [offsetsT[v], offsetsT[v+1]) de sourcesT y weightsT.
+	 */
+	private void buildTranspose() {
+		if (offsetsT == null) {
+			construirTranspuesto();
+		}
+	}
+
+	/**
+	 * offsetsT se asigna al final y es volatile: quien lo ve distinto de null también ve sourcesT y weightsT, así
+	 * las consultas solo toman el lock mientras no se ha construido
+	 */
+	private synchronized void construirTranspuesto() {
+		if (offsetsT != null) {
+			return;
+		}
+		int n = llaves.length;
+		int[] offsetsInv = new int[n + 1];
+		int[] sourcesInv = new int[targets.length];
+		float[] weightsInv = new float[targets.length];
+		for (int e = 0; e < targets.length; e++) {
+			offsetsInv[targets[e] + 1]++;
+		}
+		for (int v = 0; v < n; v++) {
+			offsetsInv[v + 1] += offsetsInv[v];
+		}
+		int[] siguiente = Arrays.copyOf(offsetsInv, n);
+		for (int v = 0; v < n; v++) {
+			for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+				int pos = siguiente[targets[e]]++;
+				sourcesInv[pos] = v;
+				weightsInv[pos] = weights[e];
+			}
+		}
+		sourcesT = sourcesInv;
+		weightsT = weightsInv;
+		offsetsT = offsetsInv;
+	}
+
+	/**
+	 * Componentes fuertemente conexas calculadas una sola vez para esta vista (que corresponde a una versión del
+	 * grafo) y compartidas entre consultas: el arreglo retornado no se debe modificar.
+	 */
+	public int[] componentesFuertes() {
+		if (componentesFuertes == null) {
+			calcularComponentesFuertes();
+		}
+		return componentesFuertes;
+	}
+
+	/**
+	 * Cantidad de componentes fuertemente conexas (el mayor id de componentesFuertes).
+	 */
+	public int numComponentesFuertes() {
+		componentesFuertes();
+		return numComponentesFuertes;
+	}
+
+	private synchronized void calcularComponentesFuertes() {
+		if (componentesFuertes != null) {
+			return;
+		}
+		int[] componente = stronglyConnectedComponents();
+		int cantidad = 0;
+		for (int c : componente) {
+			cantidad = Math.max(cantidad, c);
+		}
+		numComponentesFuertes = cantidad;
+		componentesFuertes = componente;
+	}
+
+	/**
+	 * Componentes fuertemente conexas con Tarjan iterativo: una sola pasada, sin grafo transpuesto y sin recursión
+	 * (la pila de llamadas es un arreglo de enteros). Retorna el id de componente (desde 1) de cada vértice.
+	 */
+	public int[] stronglyConnectedComponents() {
+		int n = llaves.length;
+		int[] componente = new int[n];
+		int[] index = new int[n];
+		int[] low = new int[n];
+		int[] cursor = new int[n];
+		boolean[] enPila = new boolean[n];
+		int[] pila = new int[n];
+		int[] llamadas = new int[n];
+		Arrays.fill(index, -1);
+		int tope = 0;
+		int contador = 0;
+		int componentId = 0;
+
+		for (int s = 0; s < n; s++) {
+			if (index[s] != -1) {
+				continue;
+			}
+			int profundidad = 0;
+			llamadas[profundidad++] = s;
+			index[s] = low[s] = contador++;
+			cursor[s] = offsets[s];
+			pila[tope++] = s;
+			enPila[s] = true;
+
+			while (profundidad > 0) {
+				int v = llamadas[profundidad - 1];
+				if (cursor[v] < offsets[v + 1]) {
+					int w = targets[cursor[v]++];
+					if (index[w] == -1) {
+						index[w] = low[w] = contador++;
+						cursor[w] = offsets[w];
+						pila[tope++] = w;
+						enPila[w] = true;
+						llamadas[profundidad++] = w;
+					} else if (enPila[w] && index[w] < low[v]) {
+						low[v] = index[w];
+					}
+				} else {
+					profundidad--;
+					if (low[v] == index[v]) {
+						componentId++;
+						int w;
+						do {
+							w = pila[--tope];
+							enPila[w] = false;
+							componente[w] = componentId;
+						} while (w != v);
+					}
+					if (profundidad > 0) {
+						int padre = llamadas[profundidad - 1];
+						if (low[v] < low[padre]) {
+							low[padre] = low[v];
+						}
+					}
+				}
+			}
+		}
+		return componente;
+	}
+
+	/**
+	 * Puntos de articulación y puentes (Hopcroft-Tarjan iterativo) tomando los arcos sin dirección: los vecinos
+	 * de v son los destinos de sus arcos de salida y los orígenes de sus arcos de entrada. Los arcos repetidos
+	 * entre el mismo par (ida y vuelta de un cable) cuentan como uno solo. Una sola pasada O(V + E).
+	 */
+	public PuntosCriticos articulationPoints() {
+		int[] grupo = new int[llaves.length];
+		for (int v = 0; v < grupo.length; v++) {
+			grupo[v] = v;
+		}
+		return articulationPoints(grupo, grupo.length);
+	}
+
+	/**
+	 * Puntos de articulación y puentes del grafo en el que los vértices con el mismo grupo (0 a numGrupos - 1)
+	 * se toman como uno solo, por ejemplo los vértices landing + cable de un mismo punto de aterrizaje.
+	 * isArticulationPoint se consulta por grupo y los extremos de cada puente son vértices del grafo. Los arcos
+	 * dentro de un grupo se ignoran; la ida y vuelta entre el mismo par de vértices cuenta como un solo arco,
+	 * pero dos arcos entre los mismos grupos con vértices distintos (dos cables) no.
+	 */
+	public PuntosCriticos articulationPoints(int[] grupo, int numGrupos) {
+		int n = llaves.length;
+		// Cada arco u -> w entre grupos distintos queda en la lista de los dos grupos, con sus dos extremos
+		int[] offsetsG = new int[numGrupos + 1];
+		for (int u = 0; u < n; u++) {
+			for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+				int w = targets[e];
+				if (grupo[u] != grupo[w]) {
+					offsetsG[grupo[u] + 1]++;
+					offsetsG[grupo[w] + 1]++;
+				}
+			}
+		}
+		for (int g = 0; g < numGrupos; g++) {
+			offsetsG[g + 1] += offsetsG[g];
+		}
+		int[] vecino = new int[offsetsG[numGrupos]];
+		int[] desde = new int[vecino.length];
+		int[] hasta = new int[vecino.length];
+		int[] siguiente = Arrays.copyOf(offsetsG, numGrupos);
+		for (int u = 0; u < n; u++) {
+			for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+				int w = targets[e];
+				if (grupo[u] != grupo[w]) {
+					int i = siguiente[grupo[u]]++;
+					vecino[i] = grupo[w];
+					desde[i] = u;
+					hasta[i] = w;
+					i = siguiente[grupo[w]]++;
+					vecino[i] = grupo[u];
+					desde[i] = w;
+					hasta[i] = u;
+				}
+			}
+		}
+
+		int[] disc = new int[numGrupos];
+		int[] low = new int[numGrupos];
+		int[] padre = new int[numGrupos];
+		int[] arcoPadre = new int[numGrupos];
+		int[] cursor = new int[numGrupos];
+		int[] pila = new int[numGrupos];
+		boolean[] articulacion = new boolean[numGrupos];
+		int[] puentesOrigen = new int[numGrupos];
+		int[] puentesDestino = new int[numGrupos];
+		int numPuentes = 0;
+		Arrays.fill(disc, -1);
+		int tiempo = 0;
+
+		for (int s = 0; s < numGrupos; s++) {
+			if (disc[s] != -1) {
+				continue;
+			}
+			int hijosRaiz = 0;
+			int tope = 0;
+			disc[s] = low[s] = tiempo++;
+			padre[s] = -1;
+			pila[tope++] = s;
+
+			while (tope > 0) {
+				int v = pila[tope - 1];
+				if (cursor[v] < offsetsG[v + 1] - offsetsG[v]) {
+					int i = offsetsG[v] + cursor[v]++;
+					int w = vecino[i];
+					// El arco por el que se llegó a v, en cualquiera de sus dos sentidos, no es arco de retorno
+					if (w == padre[v] && desde[i] == hasta[arcoPadre[v]] && hasta[i] == desde[arcoPadre[v]]) {
+						continue;
+					}
+					if (disc[w] == -1) {
+						disc[w] = low[w] = tiempo++;
+						padre[w] = v;
+						arcoPadre[w] = i;
+						pila[tope++] = w;
+						if (v == s) {
+							hijosRaiz++;
+						}
+					} else if (disc[w] < low[v]) {
+						low[v] = disc[w];
+					}
+				} else {
+					tope--;
+					int p = padre[v];
+					if (p != -1) {
+						if (low[v] < low[p]) {
+							low[p] = low[v];
+						}
+						if (low[v] > disc[p]) {
+							puentesOrigen[numPuentes] = desde[arcoPadre[v]];
+							puentesDestino[numPuentes++] = hasta[arcoPadre[v]];
+						}
+						if (p != s && low[v] >= disc[p]) {
+							articulacion[p] = true;
+						}
+					}
+				}
+			}
+			if (hijosRaiz > 1) {
+				articulacion[s] = true;
+			}
+		}
+		return new PuntosCriticos(articulacion, Arrays.copyOf(puentesOrigen, numPuentes), Arrays.copyOf(puentesDestino, numPuentes));
+	}
+
+	/**
+	 * Componentes conexas tomando los arcos sin dirección y sin los vértices marcados en fuera: el número de
+	 * componente de cada vértice (desde 0), o -1 para los que están fuera.
+	 */
+	public int[] connectedComponents(boolean[] fuera) {
+		buildTranspose();
+		int n = llaves.length;
+		int[] componente = new int[n];
+		Arrays.fill(componente, -1);
+		int[] cola = new int[n];
+		int numComponentes = 0;
+		for (int s = 0; s < n; s++) {
+			if (fuera[s] || componente[s] != -1) {
+				continue;
+			}
+			int inicio = 0;
+			int fin = 0;
+			componente[s] = numComponentes;
+			cola[fin++] = s;
+			while (inicio < fin) {
+				int v = cola[inicio++];
+				for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+					fin = visitarComponente(targets[e], numComponentes, fuera, componente, cola, fin);
+				}
+				for (int e = offsetsT[v]; e < offsetsT[v + 1]; e++) {
+					fin = visitarComponente(sourcesT[e], numComponentes, fuera, componente, cola, fin);
+				}
+			}
+			numComponentes++;
+		}
+		return componente;
+	}
+
+	private static int visitarComponente(int w, int c, boolean[] fuera, int[] componente, int[] cola, int fin) {
+		if (!fuera[w] && componente[w] == -1) {
+			componente[w] = c;
+			cola[fin++] = w;
+		}
+		return fin;
+	}
+
+	/**
+	 * Árbol de expansión mínima con Prim perezoso desde el origen; retorna los índices de los arcos elegidos.
+	 */
+	public int[] mstPrimLazy(int origen) {
+		int n = llaves.length;
+		boolean[] marked = new boolean[n];
+		int[] mst = new int[Math.max(0, n - 1)];
+		int cantidad = 0;
+		MinPQPrimitiva pq = new MinPQPrimitiva(n);
+
+		visitarPrim(origen, marked, pq);
+		while (!pq.isEmpty() && cantidad < mst.length) {
+			int e = pq.delMin();
+			int w = targets[e];
+			if (!marked[w]) {
+				mst[cantidad++] = e;
+				visitarPrim(w, marked, pq);
+			}
+		}
+		return Arrays.copyOf(mst, cantidad);
+	}
+
+	/**
+	 * Bosque de expansión mínima con Kruskal, tomando los arcos sin dirección. Los arcos se ordenan una sola vez
+	 * con Arrays.parallelSort sobre llaves long (bits del peso en la parte alta, índice del arco en la baja),
+	 * que ordenan igual que los pesos porque estos nunca son negativos.
+	 */
+	public BosqueExpansionMinima mstKruskal() {
+		int n = llaves.length;
+		long[] orden = new long[targets.length];
+		for (int e = 0; e < targets.length; e++) {
+			orden[e] = ((long) Float.floatToIntBits(weights[e]) << 32) | e;
+		}
+		Arrays.parallelSort(orden);
+
+		UnionFind uf = new UnionFind(n);
+		int[] mst = new int[Math.max(0, n - 1)];
+		int cantidad = 0;
+		double pesoTotal = 0;
+		for (int i = 0; i < orden.length && cantidad < mst.length; i++) {
+			int e = (int) orden[i];
+			if (uf.union(source(e), targets[e])) {
+				mst[cantidad++] = e;
+				pesoTotal += weights[e];
+			}
+		}
+		return new BosqueExpansionMinima(Arrays.copyOf(mst, cantidad), pesoTotal, uf.count());
+	}
+
+	/**
+	 * Bosque de expansión mínima con Borůvka en paralelo, tomando los arcos sin dirección. En cada ronda se busca
+	 * en paralelo el arco más barato que sale de cada componente (mínimo por CAS sobre la misma llave que usa
+	 * Kruskal, así los empates se rompen por índice y no se forman ciclos), se unen los componentes y se descartan
+	 * los arcos que quedaron internos. Termina cuando ningún componente tiene arcos de salida, así que las islas
+	 * desconectadas quedan como árboles separados.
+	 */
+	public BosqueExpansionMinima mstBoruvka() {
+		int n = llaves.length;
+		int[] origenes = new int[targets.length];
+		for (int v = 0; v < n; v++) {
+			Arrays.fill(origenes, offsets[v], offsets[v + 1], v);
+		}
+		int[] componente = new int[n];
+		for (int v = 0; v < n; v++) {
+			componente[v] = v;
+		}
+		int[] activos = IntStream.range(0, targets.length).filter(e -> origenes[e] != targets[e]).toArray();
+
+		UnionFind uf = new UnionFind(n);
+		AtomicLongArray masBarato = new AtomicLongArray(n);
+		int[] mst = new int[Math.max(0, n - 1)];
+		int cantidad = 0;
+		double pesoTotal = 0;
+
+		while (activos.length > 0) {
+			for (int c = 0; c < n; c++) {
+				masBarato.set(c, Long.MAX_VALUE);
+			}
+			IntStream.of(activos).parallel().forEach(e -> {
+				long llave = ((long) Float.floatToIntBits(weights[e]) << 32) | e;
+				actualizarMinimo(masBarato, componente[origenes[e]], llave);
+				actualizarMinimo(masBarato, componente[targets[e]], llave);
+			});
+
+			for (int c = 0; c < n; c++) {
+				long llave = masBarato.get(c);
+				if (llave != Long.MAX_VALUE) {
+					int e = (int) llave;
+					if (uf.union(origenes[e], targets[e])) {
+						mst[cantidad++] = e;
+						pesoTotal += weights[e];
+					}
+				}
+			}
+			for (int v = 0; v < n; v++) {
+				componente[v] = uf.find(v);
+			}
+			activos = IntStream.of(activos).parallel().filter(e -> componente[origenes[e]] != componente[targets[e]]).toArray();
+		}
+		return new BosqueExpansionMinima(Arrays.copyOf(mst, cantidad), pesoTotal, uf.count());
+	}
+
+	private static void actualizarMinimo(AtomicLongArray minimos, int i, long llave) {
+		long actual = minimos.get(i);
+		while (llave < actual && !minimos.compareAndSet(i, actual, llave)) {
+			actual = minimos.get(i);
+		}
+	}
+
+	private void visitarPrim(int v, boolean[] marked, MinPQPrimitiva pq) {
+		marked[v] = true;
+		for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+			if (!marked[targets[e]]) {
+				pq.insert(weights[e], e);
+			}
+		}
+	}
+}
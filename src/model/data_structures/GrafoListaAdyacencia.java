@@ -1,13 +1,37 @@
 package model.data_structures;
 
+import java.util.Arrays;
+
+import model.exceptions.NullException;
+import model.exceptions.PosException;
+import model.exceptions.VacioException;
+
 public class GrafoListaAdyacencia<K extends Comparable<K>, V extends Comparable<V>> {
 
+	// Memoria para árboles de caminos mínimos guardados si no se configura otra (32 MB)
+	private static final long PRESUPUESTO_ARBOLES = 32L << 20;
+
 	private final ITablaSimbolos<K, Vertex<K, V>> vertices;
 	private final ILista<Edge<K, V>> arcos;
 	private int numEdges;
+	private volatile long version;
+	private GrafoCSR<K, V> congelado;
+	private JerarquiaContracciones<K, V> jerarquia;
+	// Árboles de Dijkstra completos por id de origen en el CSR congelado sobre el que se calcularon
+	private CacheResultados<Integer, ArbolCaminosMinimos> arboles;
+	private GrafoCSR<K, V> csrArboles;
+	private volatile long presupuestoArboles = PRESUPUESTO_ARBOLES;
 
 	public GrafoListaAdyacencia(int numVertices) {
-		this.vertices = new TablaHashLinearProbing<>(numVertices);
+		this(new TablaHashRobinHood<>(numVertices));
+	}
+
+	/**
+	 * Crea el grafo sobre la tabla de vértices dada; por ejemplo una TablaDensaEnteros cuando las llaves son
+	 * ids densos asignados por un diccionario.
+	 */
+	public GrafoListaAdyacencia(ITablaSimbolos<K, Vertex<K, V>> tablaVertices) {
+		this.vertices = tablaVertices;
 		this.arcos = new ArregloDinamico<>(1);
 		this.numEdges = 0;
 	}
@@ -28,6 +52,8 @@ public class GrafoListaAdyacencia<K extends Comparable<K>, V extends Comparable<
 		if (!containsVertex(id)) {
 			Vertex<K, V> nuevoVertice = new Vertex<>(id, value);
 			vertices.put(id, nuevoVertice);
+			congelado = null;
+			version++;
 		}
 	}
 
@@ -40,7 +66,42 @@ public class GrafoListaAdyacencia<K extends Comparable<K>, V extends Comparable<
 			origen.addEdge(arco);
 			arcos.insertElement(arco, arcos.size() + 1);
 			numEdges++;
+			congelado = null;
+			version++;
+		}
+	}
+
+	/**
+	 * Número que cambia cada vez que se agrega un vértice o un arco; sirve para saber si un resultado
+	 * calculado antes sigue siendo válido.
+	 */
+	public long getVersion() {
+		return version;
+	}
+
+	/**
+	 * Retorna la vista CSR del grafo para consultas de solo lectura.
+	 * Se construye una sola vez y se descarta si luego se agregan vértices o arcos.
+	 */
+	public GrafoCSR<K, V> freeze() {
+		if (congelado == null) {
+			congelado = new GrafoCSR<>(verticesComoArreglo());
+		}
+		return congelado;
+	}
+
+	@SuppressWarnings("unchecked")
+	private Vertex<K, V>[] verticesComoArreglo() {
+		ILista<Vertex<K, V>> lista = vertices.valueSet();
+		Vertex<K, V>[] arreglo = (Vertex<K, V>[]) new Vertex[lista.size()];
+		try {
+			for (int i = 1; i <= lista.size(); i++) {
+				arreglo[i - 1] = lista.getElement(i);
+			}
+		} catch (PosException | VacioException e) {
+			e.printStackTrace();
 		}
+		return arreglo;
 	}
 
 	public Vertex<K, V> getVertex(K id) {
@@ -122,18 +183,12 @@ public class GrafoListaAdyacencia<K extends Comparable<K>, V extends Comparable<
 	}
 
 	public ITablaSimbolos<K, Integer> stronglyConnectedComponents() {
-		PilaEncadenada<Vertex<K, V>> reverseOrder = reverse().topologicalOrder();
-		ITablaSimbolos<K, Integer> components = new TablaHashLinearProbing<>(numVertices());
-		int componentId = 1;
-
-		while (!reverseOrder.isEmpty()) {
-			Vertex<K, V> vertex = reverseOrder.pop();
-			if (!vertex.isMarked()) {
-				vertex.dfsForComponent(components, componentId);
-				componentId++;
-			}
+		GrafoCSR<K, V> csr = freeze();
+		int[] componente = csr.componentesFuertes();
+		ITablaSimbolos<K, Integer> components = new TablaHashAbierta<>(numVertices());
+		for (int v = 0; v < componente.length; v++) {
+			components.put(csr.keyOf(v), componente[v]);
 		}
-		unmarkVertices();
 		return components;
 	}
 
@@ -159,19 +214,190 @@ public class GrafoListaAdyacencia<K extends Comparable<K>, V extends Comparable<
 		return mst;
 	}
 
+	/**
+	 * Bosque de expansión mínima (Kruskal) sobre todos los arcos, tomados sin dirección.
+	 */
+	public ILista<Edge<K, V>> mstKruskal() {
+		return forestAsEdges(freeze().mstKruskal());
+	}
+
+	/**
+	 * Bosque de expansión mínima con Borůvka paralelo; mismo resultado que mstKruskal usando todos los núcleos.
+	 */
+	public ILista<Edge<K, V>> mstBoruvka() {
+		return forestAsEdges(freeze().mstBoruvka());
+	}
+
+	private ILista<Edge<K, V>> forestAsEdges(BosqueExpansionMinima bosque) {
+		GrafoCSR<K, V> csr = freeze();
+		ILista<Edge<K, V>> mst = new ArregloDinamico<>(Math.max(1, bosque.numEdges()));
+		try {
+			for (int e : bosque.getEdges()) {
+				mst.insertElement(getEdge(csr.keyOf(csr.source(e)), csr.keyOf(csr.target(e))), mst.size() + 1);
+			}
+		} catch (PosException | NullException e) {
+			e.printStackTrace();
+		}
+		return mst;
+	}
+
+	/**
+	 * Camino mínimo (Dijkstra). Si ya hay un árbol guardado desde el origen (ver shortestPathTree) lo usa; si no,
+	 * hace una búsqueda que se detiene al llegar al destino y no guarda nada.
+	 */
 	public PilaEncadenada<Edge<K, V>> shortestPath(K idOrigen, K idDestino) {
-		ITablaSimbolos<K, NodoTS<Float, Edge<K, V>>> tree = getVertex(idOrigen).dijkstraTree();
-		PilaEncadenada<Edge<K, V>> path = new PilaEncadenada<>();
+		GrafoCSR<K, V> csr = freeze();
+		int origen = csr.idOf(idOrigen);
+		int destino = csr.idOf(idDestino);
+		if (origen < 0 || destino < 0) return new PilaEncadenada<>();
+
+		ArbolCaminosMinimos tree = presupuestoArboles > 0 ? arboles(csr).get(origen, version) : null;
+		if (tree == null) {
+			tree = csr.dijkstra(origen, destino);
+		}
+		return pathAsEdges(csr, tree.pathTo(destino));
+	}
+
+	/**
+	 * Camino mínimo entre dos grupos de vértices (por ejemplo, los de dos puntos de aterrizaje): el más corto que
+	 * sale de alguno de los orígenes y llega a alguno de los destinos, con una sola búsqueda de Dijkstra.
+	 */
+	public PilaEncadenada<Edge<K, V>> shortestPath(K[] idsOrigen, K[] idsDestino) {
+		GrafoCSR<K, V> csr = freeze();
+		int[] origenes = idsEnCSR(csr, idsOrigen);
+		int[] destinos = idsEnCSR(csr, idsDestino);
+		if (origenes.length == 0 || destinos.length == 0) return new PilaEncadenada<>();
+
+		return pathAsEdges(csr, csr.dijkstra(origenes, destinos));
+	}
 
-		K current = idDestino;
-		while (current != null) {
-			NodoTS<Float, Edge<K, V>> node = tree.get(current);
-			if (node == null || node.getValue() == null) break;
-			path.push(node.getValue());
-			current = node.getValue().getSource().getId();
+	/**
+	 * Ids en el CSR de las llaves dadas; las que no son vértices del grafo se omiten
+	 */
+	private static <K extends Comparable<K>, V extends Comparable<V>> int[] idsEnCSR(GrafoCSR<K, V> csr, K[] llaves) {
+		int[] ids = new int[llaves.length];
+		int cantidad = 0;
+		for (K llave : llaves) {
+			int id = csr.idOf(llave);
+			if (id >= 0) {
+				ids[cantidad++] = id;
+			}
+		}
+		return Arrays.copyOf(ids, cantidad);
+	}
+
+	/**
+	 * Árbol de caminos mínimos desde el origen hacia todos los vértices, sobre los ids de freeze(), o null si
+	 * el origen no existe. Es para consultas de uno a muchos: los árboles se guardan por origen hasta llenar el
+	 * presupuesto de memoria (se expulsan los menos pedidos) y se descartan cuando cambia el grafo.
+	 */
+	public ArbolCaminosMinimos shortestPathTree(K idOrigen) {
+		GrafoCSR<K, V> csr = freeze();
+		int origen = csr.idOf(idOrigen);
+		if (origen < 0) return null;
+
+		if (presupuestoArboles == 0) {
+			return csr.dijkstra(origen);
+		}
+		return arboles(csr).obtener(origen, version, () -> csr.dijkstra(origen));
+	}
+
+	/**
+	 * Cambia la memoria máxima (en bytes) de los árboles de caminos mínimos guardados; 0 para no guardarlos, y
+	 * entonces shortestPath y shortestPathTree no toman ningún lock.
+	 */
+	public synchronized void setPresupuestoArboles(long bytes) {
+		presupuestoArboles = Math.max(0, bytes);
+		csrArboles = null;
+	}
+
+	/**
+	 * Aciertos, fallos y expulsiones de los árboles de caminos mínimos guardados
+	 */
+	public synchronized String estadisticasArboles() {
+		return "Árboles de caminos mínimos. " + (arboles == null ? "Sin caché todavía" : arboles.toString());
+	}
+
+	/**
+	 * Caché de árboles dimensionada para el CSR dado: cada árbol ocupa 8 bytes por vértice (distancia y padre)
+	 */
+	private synchronized CacheResultados<Integer, ArbolCaminosMinimos> arboles(GrafoCSR<K, V> csr) {
+		if (csrArboles != csr) {
+			long bytesPorArbol = Math.max(1, (long) csr.numVertices() * (Float.BYTES + Integer.BYTES));
+			int capacidad = (int) Math.min(Integer.MAX_VALUE, presupuestoArboles / bytesPorArbol);
+			arboles = new CacheResultados<>(capacidad, CacheResultados.Politica.W_TINY_LFU);
+			csrArboles = csr;
+		}
+		return arboles;
+	}
+
+	/**
+	 * Igual que shortestPath pero con A* guiado por la distancia geográfica al destino.
+	 */
+	public PilaEncadenada<Edge<K, V>> shortestPathAStar(K idOrigen, K idDestino) {
+		GrafoCSR<K, V> csr = freeze();
+		int origen = csr.idOf(idOrigen);
+		int destino = csr.idOf(idDestino);
+		if (origen < 0 || destino < 0) return new PilaEncadenada<>();
+
+		ArbolCaminosMinimos tree = csr.aStar(origen, destino);
+		return pathAsEdges(csr, tree.pathTo(destino));
+	}
+
+	/**
+	 * Igual que shortestPath pero con búsqueda bidireccional (origen y destino avanzan a la vez).
+	 */
+	public PilaEncadenada<Edge<K, V>> shortestPathBidirectional(K idOrigen, K idDestino) {
+		GrafoCSR<K, V> csr = freeze();
+		int origen = csr.idOf(idOrigen);
+		int destino = csr.idOf(idDestino);
+		if (origen < 0 || destino < 0) return new PilaEncadenada<>();
+
+		return pathAsEdges(csr, csr.bidirectionalDijkstra(origen, destino));
+	}
+
+	/**
+	 * Jerarquía de contracciones del grafo actual; se construye la primera vez que se pide.
+	 */
+	public JerarquiaContracciones<K, V> contractionHierarchy() {
+		GrafoCSR<K, V> csr = freeze();
+		if (jerarquia == null || jerarquia.getGrafo() != csr) {
+			jerarquia = JerarquiaContracciones.construir(csr);
+		}
+		return jerarquia;
+	}
+
+	/**
+	 * Usa una jerarquía ya construida (por ejemplo, cargada de disco) para las consultas de shortestPathCH.
+	 */
+	public void setContractionHierarchy(JerarquiaContracciones<K, V> jerarquia) {
+		if (jerarquia.getGrafo() != freeze()) {
+			throw new IllegalArgumentException("La jerarquía no corresponde al estado actual del grafo");
+		}
+		this.jerarquia = jerarquia;
+	}
+
+	/**
+	 * Igual que shortestPath pero consultando la jerarquía de contracciones.
+	 */
+	public PilaEncadenada<Edge<K, V>> shortestPathCH(K idOrigen, K idDestino) {
+		JerarquiaContracciones<K, V> ch = contractionHierarchy();
+		GrafoCSR<K, V> csr = ch.getGrafo();
+		int origen = csr.idOf(idOrigen);
+		int destino = csr.idOf(idDestino);
+		if (origen < 0 || destino < 0) return new PilaEncadenada<>();
+
+		return pathAsEdges(csr, ch.path(origen, destino));
+	}
+
+	/**
+	 * Convierte un camino de ids del CSR en la pila de arcos que retorna shortestPath (el primer arco queda en el tope).
+	 */
+	private PilaEncadenada<Edge<K, V>> pathAsEdges(GrafoCSR<K, V> csr, int[] camino) {
+		PilaEncadenada<Edge<K, V>> path = new PilaEncadenada<>();
+		for (int i = camino.length - 1; i > 0; i--) {
+			path.push(getEdge(csr.keyOf(camino[i - 1]), csr.keyOf(camino[i])));
 		}
-		unmarkVertices();
 		return path;
 	}
 }
-
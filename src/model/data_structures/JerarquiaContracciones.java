@@ -0,0 +1,613 @@
+package model.data_structures;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.text.DecimalFormat;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Jerarquía de contracciones sobre un GrafoCSR para responder rutas repetidas.
+ * El preprocesamiento contrae los vértices en orden de importancia (diferencia de arcos) agregando
+ * atajos donde no hay un camino testigo; la consulta es un Dijkstra bidireccional que solo sube en la
+ * jerarquía y los atajos se desempacan al reconstruir el camino.
+ */
+public class JerarquiaContracciones<K extends Comparable<K>, V extends Comparable<V>> {
+
+	private static final int MAGIC = 0x43484331;
+	private static final int VERSION = 2;
+	private static final int LIMITE_TESTIGO = 500;
+
+	private final GrafoCSR<K, V> grafo;
+	private int[] rank;
+	private int numOriginales;
+
+	// Todos los arcos (originales y atajos); un atajo apunta a los dos arcos que reemplaza
+	private int[] origenes;
+	private int[] destinos;
+	private float[] pesos;
+	private int[] hijoIzq;
+	private int[] hijoDer;
+	private int numArcos;
+
+	// Grafo de subida hacia adelante y de subida hacia atrás, en CSR
+	private int[] offsetsSubida;
+	private int[] arcosSubida;
+	private int[] offsetsBajada;
+	private int[] arcosBajada;
+
+	private long tiempoPreprocesamiento;
+
+	// Arreglos de la consulta, uno por hilo para que las consultas concurrentes no reserven O(n) cada vez
+	private final ThreadLocal<EspacioBusqueda> espacios = ThreadLocal
+			.withInitial(() -> new EspacioBusqueda(rank.length));
+
+	private JerarquiaContracciones(GrafoCSR<K, V> grafo) {
+		this.grafo = grafo;
+	}
+
+	/**
+	 * Construye la jerarquía contrayendo todos los vértices del grafo.
+	 */
+	public static <K extends Comparable<K>, V extends Comparable<V>> JerarquiaContracciones<K, V> construir(GrafoCSR<K, V> grafo) {
+		JerarquiaContracciones<K, V> jerarquia = new JerarquiaContracciones<>(grafo);
+		long inicio = System.currentTimeMillis();
+		jerarquia.contraer();
+		jerarquia.construirGrafosSubida();
+		jerarquia.tiempoPreprocesamiento = System.currentTimeMillis() - inicio;
+		return jerarquia;
+	}
+
+	/**
+	 * Carga una jerarquía guardada con guardar(). Falla si el archivo no corresponde a este grafo o si su
+	 * contenido no coincide con el CRC32 del encabezado.
+	 */
+	public static <K extends Comparable<K>, V extends Comparable<V>> JerarquiaContracciones<K, V> cargar(GrafoCSR<K, V> grafo, String ruta) throws IOException {
+		JerarquiaContracciones<K, V> jerarquia = new JerarquiaContracciones<>(grafo);
+		long inicio = System.currentTimeMillis();
+		byte[] contenido;
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(ruta)))) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+				throw new IOException("El archivo " + ruta + " no es una jerarquía de contracciones válida");
+			}
+			int n = in.readInt();
+			long huella = in.readLong();
+			if (n != grafo.numVertices() || huella != grafo.fingerprint()) {
+				throw new IOException("La jerarquía de " + ruta + " fue construida para otro grafo");
+			}
+			int largo = in.readInt();
+			long esperado = in.readLong();
+			if (largo < 0) {
+				throw new IOException("La jerarquía de " + ruta + " está dañada");
+			}
+			contenido = new byte[largo];
+			in.readFully(contenido);
+			if (in.read() != -1) {
+				throw new IOException("La jerarquía de " + ruta + " tiene datos de más");
+			}
+			CRC32 crc = new CRC32();
+			crc.update(contenido);
+			if (crc.getValue() != esperado) {
+				throw new IOException("La jerarquía de " + ruta + " está dañada");
+			}
+		}
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(contenido))) {
+			int n = grafo.numVertices();
+			jerarquia.numOriginales = in.readInt();
+			jerarquia.numArcos = in.readInt();
+			jerarquia.rank = leerEnteros(in, n);
+			jerarquia.origenes = leerEnteros(in, jerarquia.numArcos);
+			jerarquia.destinos = leerEnteros(in, jerarquia.numArcos);
+			jerarquia.hijoIzq = leerEnteros(in, jerarquia.numArcos);
+			jerarquia.hijoDer = leerEnteros(in, jerarquia.numArcos);
+			jerarquia.pesos = new float[jerarquia.numArcos];
+			for (int e = 0; e < jerarquia.numArcos; e++) {
+				jerarquia.pesos[e] = in.readFloat();
+			}
+		}
+		jerarquia.construirGrafosSubida();
+		jerarquia.tiempoPreprocesamiento = System.currentTimeMillis() - inicio;
+		return jerarquia;
+	}
+
+	/**
+	 * Guarda la jerarquía en un archivo binario para reutilizarla en otra ejecución. El encabezado lleva la
+	 * huella del grafo y un CRC32 del contenido.
+	 */
+	public void guardar(String ruta) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			out.writeInt(numOriginales);
+			out.writeInt(numArcos);
+			escribirEnteros(out, rank, rank.length);
+			escribirEnteros(out, origenes, numArcos);
+			escribirEnteros(out, destinos, numArcos);
+			escribirEnteros(out, hijoIzq, numArcos);
+			escribirEnteros(out, hijoDer, numArcos);
+			for (int e = 0; e < numArcos; e++) {
+				out.writeFloat(pesos[e]);
+			}
+		}
+		byte[] contenido = bytes.toByteArray();
+		CRC32 crc = new CRC32();
+		crc.update(contenido);
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(ruta)))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(rank.length);
+			out.writeLong(grafo.fingerprint());
+			out.writeInt(contenido.length);
+			out.writeLong(crc.getValue());
+			out.write(contenido);
+		}
+	}
+
+	public GrafoCSR<K, V> getGrafo() {
+		return grafo;
+	}
+
+	public int numShortcuts() {
+		return numArcos - numOriginales;
+	}
+
+	/**
+	 * Tiempo en ms que tomó construir (o cargar) la jerarquía.
+	 */
+	public long getTiempoPreprocesamiento() {
+		return tiempoPreprocesamiento;
+	}
+
+	/**
+	 * Distancia mínima entre origen y destino, o infinito si no hay camino.
+	 */
+	public float distance(int origen, int destino) {
+		return buscar(origen, destino, espacios.get());
+	}
+
+	/**
+	 * Vértices del camino mínimo entre origen y destino con los atajos desempacados (vacío si no hay camino).
+	 */
+	public int[] path(int origen, int destino) {
+		int n = rank.length;
+		EspacioBusqueda espacio = espacios.get();
+		float distancia = buscar(origen, destino, espacio);
+		if (distancia == Float.POSITIVE_INFINITY) {
+			return new int[0];
+		}
+		int encuentro = espacio.encuentro;
+		int[] edgeToF = espacio.padreF;
+		int[] edgeToB = espacio.padreB;
+
+		// Arcos de la jerarquía en orden, del origen al encuentro y del encuentro al destino
+		int[] arcos = new int[n];
+		int cantidad = 0;
+		for (int x = encuentro; edgeToF[x] != -1; x = origenes[edgeToF[x]]) {
+			arcos[cantidad++] = edgeToF[x];
+		}
+		for (int a = 0, b = cantidad - 1; a < b; a++, b--) {
+			int temp = arcos[a];
+			arcos[a] = arcos[b];
+			arcos[b] = temp;
+		}
+		for (int x = encuentro; edgeToB[x] != -1; x = destinos[edgeToB[x]]) {
+			arcos[cantidad++] = edgeToB[x];
+		}
+
+		int[] camino = new int[n];
+		int largo = 0;
+		camino[largo++] = origen;
+		int[] pila = new int[numArcos];
+		for (int i = 0; i < cantidad; i++) {
+			int tope = 0;
+			pila[tope++] = arcos[i];
+			while (tope > 0) {
+				int e = pila[--tope];
+				if (hijoIzq[e] == -1) {
+					if (largo == camino.length) {
+						camino = Arrays.copyOf(camino, camino.length * 2);
+					}
+					camino[largo++] = destinos[e];
+				} else {
+					pila[tope++] = hijoDer[e];
+					pila[tope++] = hijoIzq[e];
+				}
+			}
+		}
+		return Arrays.copyOf(camino, largo);
+	}
+
+	/**
+	 * Búsqueda bidireccional sobre los grafos de subida. Al terminar, espacio.padreF y espacio.padreB guardan el
+	 * arco por el que se llegó a cada vértice alcanzado (-1 en origen y destino) y espacio.encuentro el vértice
+	 * donde se unen las dos búsquedas. Solo se restauran las distancias de los vértices que se tocaron.
+	 */
+	private float buscar(int origen, int destino, EspacioBusqueda espacio) {
+		espacio.limpiar();
+		float[] distF = espacio.distF;
+		float[] distB = espacio.distB;
+		int[] padreF = espacio.padreF;
+		int[] padreB = espacio.padreB;
+		padreF[origen] = -1;
+		padreB[destino] = -1;
+		if (origen == destino) {
+			espacio.encuentro = origen;
+			return 0f;
+		}
+		espacio.tocar(origen);
+		espacio.tocar(destino);
+		distF[origen] = 0f;
+		distB[destino] = 0f;
+
+		MinPQIndexadaPrimitiva pqF = espacio.pqF;
+		MinPQIndexadaPrimitiva pqB = espacio.pqB;
+		pqF.insert(origen, 0f);
+		pqB.insert(destino, 0f);
+		float mejor = Float.POSITIVE_INFINITY;
+		int encuentro = -1;
+
+		while ((!pqF.isEmpty() && pqF.minKey() < mejor) || (!pqB.isEmpty() && pqB.minKey() < mejor)) {
+			boolean adelante = pqB.isEmpty() || pqB.minKey() >= mejor
+					|| (!pqF.isEmpty() && pqF.minKey() < mejor && pqF.minKey() <= pqB.minKey());
+			MinPQIndexadaPrimitiva pq = adelante ? pqF : pqB;
+			float[] dist = adelante ? distF : distB;
+			float[] otra = adelante ? distB : distF;
+			int[] padre = adelante ? padreF : padreB;
+			int[] offsets = adelante ? offsetsSubida : offsetsBajada;
+			int[] arcos = adelante ? arcosSubida : arcosBajada;
+
+			int v = pq.delMin();
+			if (dist[v] + otra[v] < mejor) {
+				mejor = dist[v] + otra[v];
+				encuentro = v;
+			}
+			for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+				int e = arcos[i];
+				int w = adelante ? destinos[e] : origenes[e];
+				float nueva = dist[v] + pesos[e];
+				if (nueva < dist[w]) {
+					if (dist[w] == Float.POSITIVE_INFINITY && otra[w] == Float.POSITIVE_INFINITY) {
+						espacio.tocar(w);
+					}
+					dist[w] = nueva;
+					padre[w] = e;
+					pq.insertOrDecrease(w, nueva);
+				}
+			}
+		}
+		espacio.encuentro = encuentro;
+		return mejor;
+	}
+
+	/**
+	 * Distancias, padres y colas de una búsqueda. Las distancias empiezan en infinito y limpiar() solo restaura
+	 * las de los vértices tocados en la búsqueda anterior; los padres no se restauran porque solo se leen en
+	 * vértices alcanzados.
+	 */
+	private static final class EspacioBusqueda {
+		private final float[] distF;
+		private final float[] distB;
+		private final int[] padreF;
+		private final int[] padreB;
+		private final int[] tocados;
+		private final MinPQIndexadaPrimitiva pqF;
+		private final MinPQIndexadaPrimitiva pqB;
+		private int numTocados;
+		private int encuentro;
+
+		private EspacioBusqueda(int n) {
+			distF = new float[n];
+			distB = new float[n];
+			Arrays.fill(distF, Float.POSITIVE_INFINITY);
+			Arrays.fill(distB, Float.POSITIVE_INFINITY);
+			padreF = new int[n];
+			padreB = new int[n];
+			tocados = new int[n];
+			pqF = new MinPQIndexadaPrimitiva(n);
+			pqB = new MinPQIndexadaPrimitiva(n);
+		}
+
+		private void tocar(int v) {
+			tocados[numTocados++] = v;
+		}
+
+		private void limpiar() {
+			for (int t = 0; t < numTocados; t++) {
+				distF[tocados[t]] = Float.POSITIVE_INFINITY;
+				distB[tocados[t]] = Float.POSITIVE_INFINITY;
+			}
+			numTocados = 0;
+			pqF.clear();
+			pqB.clear();
+			encuentro = -1;
+		}
+	}
+
+	// ----------------------------------------------------------------
+	// Preprocesamiento
+	// ----------------------------------------------------------------
+
+	private int[][] salientes;
+	private int[] numSalientes;
+	private int[][] entrantes;
+	private int[] numEntrantes;
+	private Map<Long, Integer> arcoPorPar;
+	private boolean[] contraido;
+	private int[] vecinosContraidos;
+
+	// Estado reutilizable de la búsqueda de testigos
+	private float[] distTestigo;
+	private int[] tocados;
+	private MinPQIndexadaPrimitiva pqTestigo;
+
+	private void contraer() {
+		int n = grafo.numVertices();
+		int m = grafo.numEdges();
+		origenes = new int[Math.max(16, m * 2)];
+		destinos = new int[origenes.length];
+		pesos = new float[origenes.length];
+		hijoIzq = new int[origenes.length];
+		hijoDer = new int[origenes.length];
+		salientes = new int[n][];
+		entrantes = new int[n][];
+		numSalientes = new int[n];
+		numEntrantes = new int[n];
+		arcoPorPar = new HashMap<>(m * 2);
+		contraido = new boolean[n];
+		vecinosContraidos = new int[n];
+		distTestigo = new float[n];
+		Arrays.fill(distTestigo, Float.POSITIVE_INFINITY);
+		tocados = new int[n];
+		pqTestigo = new MinPQIndexadaPrimitiva(n);
+
+		for (int v = 0; v < n; v++) {
+			salientes[v] = new int[Math.max(2, grafo.outDegree(v))];
+			entrantes[v] = new int[2];
+		}
+		for (int v = 0; v < n; v++) {
+			for (int e = grafo.firstEdge(v); e < grafo.firstEdge(v + 1); e++) {
+				if (grafo.target(e) != v) {
+					agregarArco(v, grafo.target(e), grafo.weight(e), -1, -1);
+				}
+			}
+		}
+		numOriginales = numArcos;
+
+		MinPQPrimitiva orden = new MinPQPrimitiva(n);
+		for (int v = 0; v < n; v++) {
+			orden.insert(prioridad(v), v);
+		}
+		rank = new int[n];
+		int siguienteRank = 0;
+		while (!orden.isEmpty()) {
+			int v = orden.delMin();
+			float actual = prioridad(v);
+			if (!orden.isEmpty() && actual > orden.minKey()) {
+				orden.insert(actual, v);
+				continue;
+			}
+			rank[v] = siguienteRank++;
+			contraerVertice(v, true);
+			contraido[v] = true;
+			for (int i = 0; i < numSalientes[v]; i++) {
+				vecinosContraidos[destinos[salientes[v][i]]]++;
+			}
+			for (int i = 0; i < numEntrantes[v]; i++) {
+				vecinosContraidos[origenes[entrantes[v][i]]]++;
+			}
+		}
+
+		salientes = null;
+		entrantes = null;
+		numSalientes = null;
+		numEntrantes = null;
+		arcoPorPar = null;
+		contraido = null;
+		vecinosContraidos = null;
+		distTestigo = null;
+		tocados = null;
+		pqTestigo = null;
+	}
+
+	/**
+	 * Diferencia de arcos de contraer v más la cantidad de vecinos ya contraídos.
+	 */
+	private float prioridad(int v) {
+		int atajos = contraerVertice(v, false);
+		int grado = 0;
+		for (int i = 0; i < numSalientes[v]; i++) {
+			if (!contraido[destinos[salientes[v][i]]]) grado++;
+		}
+		for (int i = 0; i < numEntrantes[v]; i++) {
+			if (!contraido[origenes[entrantes[v][i]]]) grado++;
+		}
+		return atajos - grado + vecinosContraidos[v];
+	}
+
+	/**
+	 * Cuenta (y si agregar es true, inserta) los atajos necesarios para contraer v.
+	 */
+	private int contraerVertice(int v, boolean agregar) {
+		int atajos = 0;
+		for (int i = 0; i < numEntrantes[v]; i++) {
+			int arcoEntrada = entrantes[v][i];
+			int u = origenes[arcoEntrada];
+			if (contraido[u]) {
+				continue;
+			}
+			float pesoEntrada = pesos[arcoEntrada];
+			float maximo = 0f;
+			// Con un booleano y no con maximo == 0: los arcos de peso 0 (coordenadas iguales) también necesitan atajo
+			boolean hayVecino = false;
+			for (int j = 0; j < numSalientes[v]; j++) {
+				int x = destinos[salientes[v][j]];
+				if (!contraido[x] && x != u) {
+					maximo = Math.max(maximo, pesos[salientes[v][j]]);
+					hayVecino = true;
+				}
+			}
+			if (!hayVecino) {
+				continue;
+			}
+			int cantidadTocados = buscarTestigos(u, v, pesoEntrada + maximo);
+			for (int j = 0; j < numSalientes[v]; j++) {
+				int arcoSalida = salientes[v][j];
+				int x = destinos[arcoSalida];
+				if (contraido[x] || x == u) {
+					continue;
+				}
+				float atajo = pesoEntrada + pesos[arcoSalida];
+				if (distTestigo[x] > atajo) {
+					atajos++;
+					if (agregar) {
+						agregarArco(u, x, atajo, arcoEntrada, arcoSalida);
+					}
+				}
+			}
+			for (int t = 0; t < cantidadTocados; t++) {
+				distTestigo[tocados[t]] = Float.POSITIVE_INFINITY;
+			}
+		}
+		return atajos;
+	}
+
+	/**
+	 * Dijkstra local desde u que ignora a v y a los contraídos, acotado por distancia y por vértices fijados.
+	 * Retorna cuántos vértices quedaron con distancia en distTestigo.
+	 */
+	private int buscarTestigos(int u, int v, float limite) {
+		int cantidadTocados = 0;
+		int fijados = 0;
+		distTestigo[u] = 0f;
+		tocados[cantidadTocados++] = u;
+		pqTestigo.insert(u, 0f);
+		while (!pqTestigo.isEmpty()) {
+			if (pqTestigo.minKey() > limite || fijados >= LIMITE_TESTIGO) {
+				while (!pqTestigo.isEmpty()) {
+					pqTestigo.delMin();
+				}
+				break;
+			}
+			int y = pqTestigo.delMin();
+			fijados++;
+			for (int i = 0; i < numSalientes[y]; i++) {
+				int e = salientes[y][i];
+				int z = destinos[e];
+				if (z == v || contraido[z]) {
+					continue;
+				}
+				float nueva = distTestigo[y] + pesos[e];
+				if (nueva < distTestigo[z]) {
+					if (distTestigo[z] == Float.POSITIVE_INFINITY) {
+						tocados[cantidadTocados++] = z;
+					}
+					distTestigo[z] = nueva;
+					pqTestigo.insertOrDecrease(z, nueva);
+				}
+			}
+		}
+		return cantidadTocados;
+	}
+
+	private void agregarArco(int u, int x, float peso, int izq, int der) {
+		long par = ((long) u << 32) | (x & 0xffffffffL);
+		Integer existente = arcoPorPar.get(par);
+		if (existente != null) {
+			if (pesos[existente] > peso) {
+				pesos[existente] = peso;
+				hijoIzq[existente] = izq;
+				hijoDer[existente] = der;
+			}
+			return;
+		}
+		if (numArcos == origenes.length) {
+			int capacidad = origenes.length * 2;
+			origenes = Arrays.copyOf(origenes, capacidad);
+			destinos = Arrays.copyOf(destinos, capacidad);
+			pesos = Arrays.copyOf(pesos, capacidad);
+			hijoIzq = Arrays.copyOf(hijoIzq, capacidad);
+			hijoDer = Arrays.copyOf(hijoDer, capacidad);
+		}
+		int e = numArcos++;
+		origenes[e] = u;
+		destinos[e] = x;
+		pesos[e] = peso;
+		hijoIzq[e] = izq;
+		hijoDer[e] = der;
+		arcoPorPar.put(par, e);
+
+		if (numSalientes[u] == salientes[u].length) {
+			salientes[u] = Arrays.copyOf(salientes[u], salientes[u].length * 2);
+		}
+		salientes[u][numSalientes[u]++] = e;
+		if (numEntrantes[x] == entrantes[x].length) {
+			entrantes[x] = Arrays.copyOf(entrantes[x], entrantes[x].length * 2);
+		}
+		entrantes[x][numEntrantes[x]++] = e;
+	}
+
+	/**
+	 * Reparte los arcos: los que suben de rank quedan en el grafo de subida de su origen y los que
+	 * bajan quedan, invertidos, en el grafo de subida hacia atrás de su destino.
+	 */
+	private void construirGrafosSubida() {
+		int n = rank.length;
+		offsetsSubida = new int[n + 1];
+		offsetsBajada = new int[n + 1];
+		for (int e = 0; e < numArcos; e++) {
+			if (rank[destinos[e]] > rank[origenes[e]]) {
+				offsetsSubida[origenes[e] + 1]++;
+			} else {
+				offsetsBajada[destinos[e] + 1]++;
+			}
+		}
+		for (int v = 0; v < n; v++) {
+			offsetsSubida[v + 1] += offsetsSubida[v];
+			offsetsBajada[v + 1] += offsetsBajada[v];
+		}
+		arcosSubida = new int[offsetsSubida[n]];
+		arcosBajada = new int[offsetsBajada[n]];
+		int[] siguienteSubida = Arrays.copyOf(offsetsSubida, n);
+		int[] siguienteBajada = Arrays.copyOf(offsetsBajada, n);
+		for (int e = 0; e < numArcos; e++) {
+			if (rank[destinos[e]] > rank[origenes[e]]) {
+				arcosSubida[siguienteSubida[origenes[e]]++] = e;
+			} else {
+				arcosBajada[siguienteBajada[destinos[e]]++] = e;
+			}
+		}
+	}
+
+	private static int[] leerEnteros(DataInputStream in, int cantidad) throws IOException {
+		int[] arreglo = new int[cantidad];
+		for (int i = 0; i < cantidad; i++) {
+			arreglo[i] = in.readInt();
+		}
+		return arreglo;
+	}
+
+	private static void escribirEnteros(DataOutputStream out, int[] arreglo, int cantidad) throws IOException {
+		for (int i = 0; i < cantidad; i++) {
+			out.writeInt(arreglo[i]);
+		}
+	}
+
+	public String toString() {
+		DecimalFormat df = new DecimalFormat("###.##");
+		String retorno = "";
+		retorno += "Vértices: " + rank.length;
+		retorno += "\nArcos originales: " + numOriginales;
+		retorno += "\nAtajos agregados: " + numShortcuts();
+		retorno += "\nArcos por vértice: " + df.format(rank.length == 0 ? 0 : (double) numArcos / rank.length);
+		retorno += "\nTiempo de preprocesamiento (ms): " + tiempoPreprocesamiento;
+		return retorno;
+	}
+}
@@ -1,22 +1,43 @@
 package model.data_structures;
 
-public class Landing implements Comparable<Landing> {
+/**
+ * Punto de aterrizaje. Solo el landingId (la llave con la que se busca) vive en el objeto; las coordenadas
+ * y los textos descriptivos están en un AlmacenAtributos compartido y los textos se decodifican al pedirlos.
+ */
+public class Landing implements Comparable<Landing>, Punto {
+	// Campos de texto en el almacén
+	private static final int ID = 0;
+	private static final int NOMBRE = 1;
+	private static final int PAIS = 2;
+	private static final int CODIGO = 3;
+	private static final int CAMPOS = 4;
+
 	private String landingId;
-	private String id;
-	private String name;
-	private String pais;
-	private double latitude;
-	private double longitude;
-	private String codigo;
+	private final AlmacenAtributos atributos;
+	private final int fila;
 
 	public Landing(String landingId, String id, String name, String pais, double latitude, double longitude) {
+		this(nuevoAlmacen(1), landingId, id, name, pais, latitude, longitude);
+	}
+
+	/**
+	 * Crea el punto guardando sus atributos en el almacén dado (creado con nuevoAlmacen)
+	 */
+	public Landing(AlmacenAtributos atributos, String landingId, String id, String name, String pais,
+			double latitude, double longitude) {
+		if (atributos.numCampos() != CAMPOS) {
+			throw new IllegalArgumentException("El almacén no es de puntos de aterrizaje");
+		}
 		this.landingId = landingId;
-		this.id = id;
-		this.name = name;
-		this.pais = pais;
-		this.latitude = latitude;
-		this.longitude = longitude;
-		this.codigo = ""; // Set default empty value for codigo
+		this.atributos = atributos;
+		this.fila = atributos.agregar(latitude, longitude, id, name, pais, ""); // codigo vacío por defecto
+	}
+
+	/**
+	 * Almacén de atributos para una cantidad esperada de puntos de aterrizaje
+	 */
+	public static AlmacenAtributos nuevoAlmacen(int cantidad) {
+		return new AlmacenAtributos(CAMPOS, cantidad);
 	}
 
 	// Getters and Setters
@@ -29,58 +50,56 @@ public class Landing implements Comparable<Landing> {
 	}
 
 	public String getId() {
-		return id;
+		return atributos.texto(fila, ID);
 	}
 
 	public void setId(String id) {
-		this.id = id;
+		atributos.cambiarTexto(fila, ID, id);
 	}
 
 	public String getName() {
-		return name;
+		return atributos.texto(fila, NOMBRE);
 	}
 
 	public void setName(String name) {
-		this.name = name;
+		atributos.cambiarTexto(fila, NOMBRE, name);
 	}
 
 	public double getLatitude() {
-		return latitude;
+		return atributos.latitud(fila);
 	}
 
 	public void setLatitude(double latitude) {
-		this.latitude = latitude;
+		atributos.cambiarLatitud(fila, latitude);
 	}
 
 	public double getLongitude() {
-		return longitude;
+		return atributos.longitud(fila);
 	}
 
 	public void setLongitude(double longitude) {
-		this.longitude = longitude;
+		atributos.cambiarLongitud(fila, longitude);
 	}
 
 	public String getPais() {
-		return pais;
+		return atributos.texto(fila, PAIS);
 	}
 
 	public void setPais(String pais) {
-		this.pais = pais;
+		atributos.cambiarTexto(fila, PAIS, pais);
 	}
 
 	public String getCodigo() {
-		return codigo;
+		return atributos.texto(fila, CODIGO);
 	}
 
 	public void setCodigo(String codigo) {
-		this.codigo = codigo;
+		atributos.cambiarTexto(fila, CODIGO, codigo);
 	}
 
-	// Implementación de compareTo por nombre
+	// Implementación de compareTo por nombre, sobre los bytes guardados en el almacén (sin decodificarlos)
 	@Override
 	public int compareTo(Landing o) {
-		// Se compara por el nombre (puedes cambiar este criterio según sea necesario)
-		return this.name.compareTo(o.getName());
+		return atributos.compararTexto(fila, o.atributos, o.fila, NOMBRE);
 	}
 }
-
@@ -0,0 +1,162 @@
+package model.data_structures;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+/**
+ * Matriz densa de distancias mínimas entre un conjunto de vértices del grafo (por ejemplo, las capitales).
+ * Cada fila sale de un Dijkstra desde su vértice; las filas se calculan en paralelo con un ForkJoinPool
+ * y después las consultas son O(1).
+ */
+public class MatrizDistancias<K extends Comparable<K>, V extends Comparable<V>> {
+
+	private static final int FILAS_POR_TAREA = 4;
+
+	private final K[] puntos;
+	private final Map<K, Integer> indices;
+	private final float[][] distancias;
+	private final long tiempoCalculo;
+
+	public MatrizDistancias(GrafoCSR<K, V> grafo, K[] puntos) {
+		this(grafo, puntos, ForkJoinPool.commonPool());
+	}
+
+	public MatrizDistancias(GrafoCSR<K, V> grafo, K[] puntos, ForkJoinPool pool) {
+		this.puntos = puntos.clone();
+		this.indices = new HashMap<>(puntos.length * 2);
+		this.distancias = new float[puntos.length][];
+
+		int[] ids = new int[puntos.length];
+		for (int i = 0; i < puntos.length; i++) {
+			indices.put(puntos[i], i);
+			ids[i] = grafo.idOf(puntos[i]);
+		}
+		long inicio = System.currentTimeMillis();
+		pool.invoke(new CalculoFilas(grafo, ids, distancias, 0, puntos.length));
+		tiempoCalculo = System.currentTimeMillis() - inicio;
+	}
+
+	public int size() {
+		return puntos.length;
+	}
+
+	public K getPunto(int i) {
+		return puntos[i];
+	}
+
+	/**
+	 * Posición del punto en la matriz, o -1 si no hace parte de ella.
+	 */
+	public int indexOf(K punto) {
+		Integer indice = indices.get(punto);
+		return indice != null ? indice : -1;
+	}
+
+	/**
+	 * Distancia entre las posiciones i y j de la matriz (ver indexOf).
+	 */
+	public float distanceAt(int i, int j) {
+		return distancias[i][j];
+	}
+
+	/**
+	 * Distancia entre dos puntos de la matriz; infinito si no hay ruta o alguno no hace parte de la matriz.
+	 */
+	public float distance(K origen, K destino) {
+		int i = indexOf(origen);
+		int j = indexOf(destino);
+		return i < 0 || j < 0 ? Float.POSITIVE_INFINITY : distancias[i][j];
+	}
+
+	/**
+	 * Tiempo en ms que tomó calcular la matriz.
+	 */
+	public long getTiempoCalculo() {
+		return tiempoCalculo;
+	}
+
+	/**
+	 * Exporta la matriz en CSV con los puntos como encabezado de filas y columnas (celda vacía si no hay ruta).
+	 * @param nombre texto con que aparece cada punto en los encabezados (por ejemplo, el nombre de la capital
+	 * cuando los puntos son ids de vértices)
+	 */
+	public void exportarCSV(String ruta, Function<K, String> nombre) throws IOException {
+		try (PrintWriter out = new PrintWriter(new FileWriter(ruta))) {
+			StringBuilder linea = new StringBuilder();
+			for (K punto : puntos) {
+				linea.append(',').append(escaparCSV(nombre.apply(punto)));
+			}
+			out.println(linea);
+			for (int i = 0; i < puntos.length; i++) {
+				linea.setLength(0);
+				linea.append(escaparCSV(nombre.apply(puntos[i])));
+				for (int j = 0; j < puntos.length; j++) {
+					linea.append(',');
+					if (distancias[i][j] < Float.POSITIVE_INFINITY) {
+						linea.append(distancias[i][j]);
+					}
+				}
+				out.println(linea);
+			}
+		}
+	}
+
+	private static String escaparCSV(String valor) {
+		if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0) {
+			return valor;
+		}
+		return '"' + valor.replace("\"", "\"\"") + '"';
+	}
+
+	/**
+	 * Divide las filas en mitades hasta llegar a FILAS_POR_TAREA; cada fila es un Dijkstra completo.
+	 */
+	private static class CalculoFilas extends RecursiveAction {
+		private final GrafoCSR<?, ?> grafo;
+		private final int[] ids;
+		private final float[][] distancias;
+		private final int desde;
+		private final int hasta;
+
+		CalculoFilas(GrafoCSR<?, ?> grafo, int[] ids, float[][] distancias, int desde, int hasta) {
+			this.grafo = grafo;
+			this.ids = ids;
+			this.distancias = distancias;
+			this.desde = desde;
+			this.hasta = hasta;
+		}
+
+		@Override
+		protected void compute() {
+			if (hasta - desde <= FILAS_POR_TAREA) {
+				for (int i = desde; i < hasta; i++) {
+					distancias[i] = calcularFila(i);
+				}
+			} else {
+				int mitad = (desde + hasta) >>> 1;
+				invokeAll(new CalculoFilas(grafo, ids, distancias, desde, mitad),
+						new CalculoFilas(grafo, ids, distancias, mitad, hasta));
+			}
+		}
+
+		private float[] calcularFila(int i) {
+			float[] fila = new float[ids.length];
+			if (ids[i] < 0) {
+				Arrays.fill(fila, Float.POSITIVE_INFINITY);
+				return fila;
+			}
+			ArbolCaminosMinimos arbol = grafo.dijkstra(ids[i]);
+			for (int j = 0; j < ids.length; j++) {
+				fila[j] = ids[j] < 0 ? Float.POSITIVE_INFINITY : arbol.distTo(ids[j]);
+			}
+			return fila;
+		}
+	}
+}
@@ -0,0 +1,139 @@
+package model.data_structures;
+
+import java.util.Arrays;
+
+import utils.Metricas;
+
+/**
+ * Cola de prioridad mínima indexada por enteros 0..n-1 con llaves float.
+ * Mantiene el mapa de posiciones (qp) para que decreaseKey y contains sean O(log n) y O(1)
+ * sin recorrer el heap como MinPQIndexada.changePriority.
+ */
+public class MinPQIndexadaPrimitiva {
+	private static final Metricas.Contador INSERCIONES = Metricas.contador("minpqIndexadaPrimitiva.insert");
+	private static final Metricas.Contador DISMINUCIONES = Metricas.contador("minpqIndexadaPrimitiva.decreaseKey");
+	private static final Metricas.Contador ELIMINACIONES = Metricas.contador("minpqIndexadaPrimitiva.delMin");
+	private static final Metricas.Contador INTERCAMBIOS = Metricas.contador("minpqIndexadaPrimitiva.intercambios");
+
+	private final int[] pq;
+	private final int[] qp;
+	private final float[] llaves;
+	private int tamano;
+
+	public MinPQIndexadaPrimitiva(int maxIndices) {
+		pq = new int[maxIndices + 1];
+		qp = new int[maxIndices];
+		llaves = new float[maxIndices];
+		Arrays.fill(qp, -1);
+		tamano = 0;
+	}
+
+	public boolean contains(int i) {
+		return qp[i] != -1;
+	}
+
+	public void insert(int i, float llave) {
+		INSERCIONES.incrementar();
+		tamano++;
+		qp[i] = tamano;
+		pq[tamano] = i;
+		llaves[i] = llave;
+		swim(tamano);
+	}
+
+	public void decreaseKey(int i, float llave) {
+		DISMINUCIONES.incrementar();
+		llaves[i] = llave;
+		swim(qp[i]);
+	}
+
+	/**
+	 * Inserta el índice o, si ya está, disminuye su llave.
+	 */
+	public void insertOrDecrease(int i, float llave) {
+		if (contains(i)) {
+			decreaseKey(i, llave);
+		} else {
+			insert(i, llave);
+		}
+	}
+
+	public float minKey() {
+		return llaves[pq[1]];
+	}
+
+	public int minIndex() {
+		return pq[1];
+	}
+
+	public int delMin() {
+		ELIMINACIONES.incrementar();
+		int min = pq[1];
+		exchange(1, tamano);
+		tamano--;
+		sink(1);
+		qp[min] = -1;
+		return min;
+	}
+
+	public float keyOf(int i) {
+		return llaves[i];
+	}
+
+	public int size() {
+		return tamano;
+	}
+
+	public boolean isEmpty() {
+		return tamano == 0;
+	}
+
+	/**
+	 * Vacía la cola en O(size) para reutilizarla sin volver a reservar los arreglos.
+	 */
+	public void clear() {
+		for (int pos = 1; pos <= tamano; pos++) {
+			qp[pq[pos]] = -1;
+		}
+		tamano = 0;
+	}
+
+	private boolean greater(int i, int j) {
+		return llaves[pq[i]] > llaves[pq[j]];
+	}
+
+	private void swim(int pos) {
+		int intercambios = 0;
+		while (pos > 1 && greater(pos / 2, pos)) {
+			exchange(pos, pos / 2);
+			pos = pos / 2;
+			intercambios++;
+		}
+		INTERCAMBIOS.sumar(intercambios);
+	}
+
+	private void sink(int pos) {
+		int intercambios = 0;
+		while (2 * pos <= tamano) {
+			int hijo = 2 * pos;
+			if (hijo < tamano && greater(hijo, hijo + 1)) {
+				hijo++;
+			}
+			if (!greater(pos, hijo)) {
+				break;
+			}
+			exchange(pos, hijo);
+			pos = hijo;
+			intercambios++;
+		}
+		INTERCAMBIOS.sumar(intercambios);
+	}
+
+	private void exchange(int i, int j) {
+		int temp = pq[i];
+		pq[i] = pq[j];
+		pq[j] = temp;
+		qp[pq[i]] = i;
+		qp[pq[j]] = j;
+	}
+}
@@ -0,0 +1,105 @@
+package model.data_structures;
+
+import utils.Metricas;
+
+/**
+ * Cola de prioridad mínima sobre arreglos primitivos (llave float, valor int).
+ * Evita crear un NodoTS por inserción; se usa en los recorridos del GrafoCSR.
+ */
+public class MinPQPrimitiva {
+	private static final Metricas.Contador INSERCIONES = Metricas.contador("minpqPrimitiva.insert");
+	private static final Metricas.Contador ELIMINACIONES = Metricas.contador("minpqPrimitiva.delMin");
+	private static final Metricas.Contador INTERCAMBIOS = Metricas.contador("minpqPrimitiva.intercambios");
+
+	private float[] llaves;
+	private int[] valores;
+	private int tamano;
+
+	public MinPQPrimitiva(int inicial) {
+		int capacidad = Math.max(2, inicial + 1);
+		llaves = new float[capacidad];
+		valores = new int[capacidad];
+		tamano = 0;
+	}
+
+	public void insert(float llave, int valor) {
+		INSERCIONES.incrementar();
+		if (tamano + 1 == llaves.length) {
+			crecer();
+		}
+		tamano++;
+		llaves[tamano] = llave;
+		valores[tamano] = valor;
+		swim(tamano);
+	}
+
+	public float minKey() {
+		return llaves[1];
+	}
+
+	public int min() {
+		return valores[1];
+	}
+
+	public int delMin() {
+		ELIMINACIONES.incrementar();
+		int min = valores[1];
+		exchange(1, tamano);
+		tamano--;
+		sink(1);
+		return min;
+	}
+
+	public int size() {
+		return tamano;
+	}
+
+	public boolean isEmpty() {
+		return tamano == 0;
+	}
+
+	private void swim(int pos) {
+		int intercambios = 0;
+		while (pos > 1 && llaves[pos] < llaves[pos / 2]) {
+			exchange(pos, pos / 2);
+			pos = pos / 2;
+			intercambios++;
+		}
+		INTERCAMBIOS.sumar(intercambios);
+	}
+
+	private void sink(int pos) {
+		int intercambios = 0;
+		while (2 * pos <= tamano) {
+			int hijo = 2 * pos;
+			if (hijo < tamano && llaves[hijo + 1] < llaves[hijo]) {
+				hijo++;
+			}
+			if (llaves[pos] <= llaves[hijo]) {
+				break;
+			}
+			exchange(pos, hijo);
+			pos = hijo;
+			intercambios++;
+		}
+		INTERCAMBIOS.sumar(intercambios);
+	}
+
+	private void exchange(int i, int j) {
+		float llave = llaves[i];
+		llaves[i] = llaves[j];
+		llaves[j] = llave;
+		int valor = valores[i];
+		valores[i] = valores[j];
+		valores[j] = valor;
+	}
+
+	private void crecer() {
+		float[] nuevasLlaves = new float[llaves.length * 2];
+		int[] nuevosValores = new int[valores.length * 2];
+		System.arraycopy(llaves, 0, nuevasLlaves, 0, llaves.length);
+		System.arraycopy(valores, 0, nuevosValores, 0, valores.length);
+		llaves = nuevasLlaves;
+		valores = nuevosValores;
+	}
+}
@@ -1,5 +1,36 @@
 package model.data_structures;
 
-public class Punto {
+/**
+ * Elemento con posición geográfica (puntos de aterrizaje y capitales).
+ */
+public interface Punto {
 
+	double EARTH_RADIUS_KM = 6371.0;
+
+	double getLatitude();
+
+	double getLongitude();
+
+	/**
+	 * Distancia en km sobre la superficie terrestre entre dos puntos (fórmula de Haversine)
+	 */
+	static float distancia(double lon1, double lat1, double lon2, double lat2) {
+		double dLat = Math.toRadians(lat2 - lat1);
+		double dLon = Math.toRadians(lon2 - lon1);
+
+		lat1 = Math.toRadians(lat1);
+		lat2 = Math.toRadians(lat2);
+
+		double a = Math.sin(dLat/2) * Math.sin(dLat/2) +
+				Math.cos(lat1) * Math.cos(lat2) *
+						Math.sin(dLon/2) * Math.sin(dLon/2);
+
+		double c = 2 * Math.asin(Math.min(1.0, Math.sqrt(a)));
+
+		return (float) (EARTH_RADIUS_KM * c);
+	}
+
+	static float distancia(Punto a, Punto b) {
+		return distancia(a.getLongitude(), a.getLatitude(), b.getLongitude(), b.getLatitude());
+	}
 }
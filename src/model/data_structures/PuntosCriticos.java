@@ -0,0 +1,53 @@
+package model.data_structures;
+
+/**
+ * Puntos de articulación y puentes de un GrafoCSR tomado sin dirección: los vértices y arcos cuya falla
+ * desconecta el grafo. Si se calcularon por grupos de vértices, los puntos son grupos y los extremos de los
+ * puentes siguen siendo vértices.
+ */
+public class PuntosCriticos {
+	private final boolean[] articulacion;
+	private final int[] puntos;
+	private final int[] puentesOrigen;
+	private final int[] puentesDestino;
+
+	public PuntosCriticos(boolean[] articulacion, int[] puentesOrigen, int[] puentesDestino) {
+		this.articulacion = articulacion;
+		this.puentesOrigen = puentesOrigen;
+		this.puentesDestino = puentesDestino;
+		int cantidad = 0;
+		for (boolean critico : articulacion) {
+			if (critico) cantidad++;
+		}
+		this.puntos = new int[cantidad];
+		for (int v = 0, i = 0; v < articulacion.length; v++) {
+			if (articulacion[v]) puntos[i++] = v;
+		}
+	}
+
+	public boolean isArticulationPoint(int v) {
+		return articulacion[v];
+	}
+
+	/**
+	 * Ids de los puntos de articulación en orden creciente.
+	 */
+	public int[] getArticulationPoints() {
+		return puntos;
+	}
+
+	public int numBridges() {
+		return puentesOrigen.length;
+	}
+
+	/**
+	 * Extremo del puente i más cercano a la raíz del recorrido.
+	 */
+	public int bridgeSource(int i) {
+		return puentesOrigen[i];
+	}
+
+	public int bridgeTarget(int i) {
+		return puentesDestino[i];
+	}
+}
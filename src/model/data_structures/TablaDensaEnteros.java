@@ -0,0 +1,101 @@
+package model.data_structures;
+
+import java.util.Arrays;
+
+import model.exceptions.NullException;
+import model.exceptions.PosException;
+
+/**
+ * Tabla de símbolos para llaves enteras densas (0, 1, 2, ...), como los ids que asigna un diccionario:
+ * el valor de la llave k está en la posición k de un arreglo, así que buscar no calcula ningún hash.
+ * keySet y valueSet salen en orden de llave.
+ */
+public class TablaDensaEnteros<V extends Comparable<V>> implements ITablaSimbolos<Integer, V> {
+
+	private Object[] valores;
+	private int tamanoAct;
+
+	public TablaDensaEnteros(int tamInicial) {
+		valores = new Object[Math.max(1, tamInicial)];
+		tamanoAct = 0;
+	}
+
+	@Override
+	public void put(Integer key, V value) {
+		if (key == null || key < 0) {
+			throw new IllegalArgumentException("Key must be a non-negative integer");
+		}
+		if (value == null) {
+			throw new IllegalArgumentException("Value cannot be null");
+		}
+		if (key >= valores.length) {
+			valores = Arrays.copyOf(valores, Math.max(valores.length * 2, key + 1));
+		}
+		if (valores[key] == null) {
+			tamanoAct++;
+		}
+		valores[key] = value;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V get(Integer key) {
+		return key != null && key >= 0 && key < valores.length ? (V) valores[key] : null;
+	}
+
+	@Override
+	public V remove(Integer key) {
+		V anterior = get(key);
+		if (anterior != null) {
+			valores[key] = null;
+			tamanoAct--;
+		}
+		return anterior;
+	}
+
+	@Override
+	public boolean contains(Integer key) {
+		return get(key) != null;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return tamanoAct == 0;
+	}
+
+	@Override
+	public int size() {
+		return tamanoAct;
+	}
+
+	@Override
+	public ILista<Integer> keySet() {
+		ILista<Integer> lista = new ArregloDinamico<>(Math.max(1, tamanoAct));
+		try {
+			for (int i = 0; i < valores.length; i++) {
+				if (valores[i] != null) {
+					lista.insertElement(i, lista.size() + 1);
+				}
+			}
+		} catch (PosException | NullException e) {
+			e.printStackTrace();
+		}
+		return lista;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public ILista<V> valueSet() {
+		ILista<V> lista = new ArregloDinamico<>(Math.max(1, tamanoAct));
+		try {
+			for (int i = 0; i < valores.length; i++) {
+				if (valores[i] != null) {
+					lista.insertElement((V) valores[i], lista.size() + 1);
+				}
+			}
+		} catch (PosException | NullException e) {
+			e.printStackTrace();
+		}
+		return lista;
+	}
+}
@@ -0,0 +1,227 @@
+package model.data_structures;
+
+import java.text.DecimalFormat;
+
+import model.exceptions.NullException;
+import model.exceptions.PosException;
+import utils.Metricas;
+
+/**
+ * Tabla de símbolos con direccionamiento abierto sobre arreglos planos (llaves y valores en arreglos paralelos).
+ * La capacidad es potencia de dos, el hash se mezcla antes de tomar los bits altos y el sondeo lineal
+ * reutiliza las lápidas que dejan las eliminaciones. put actualiza en el sitio si la llave ya existe y
+ * get no crea objetos.
+ */
+public class TablaHashAbierta<K extends Comparable<K>, V extends Comparable<V>> implements ITablaSimbolos<K, V> {
+
+	private static final Object LAPIDA = new Object();
+	private static final double CARGA_MAXIMA = 0.75;
+	private static final Metricas.Histograma SONDEOS = Metricas.histograma("tablaHash.abierta.sondeos");
+	private static final Metricas.Contador REHASH = Metricas.contador("tablaHash.abierta.rehash");
+
+	private Object[] llaves;
+	private Object[] valores;
+	private int bits;
+	private int tamanoAct;
+	private int lapidas;
+	private final int minicial;
+	private int cantidadRehash;
+
+	public TablaHashAbierta(int tamInicial) {
+		bits = 1;
+		while ((1 << bits) < Math.max(2, tamInicial * 2) && bits < 30) {
+			bits++;
+		}
+		llaves = new Object[1 << bits];
+		valores = new Object[1 << bits];
+		minicial = llaves.length;
+		tamanoAct = 0;
+		lapidas = 0;
+	}
+
+	@Override
+	public void put(K key, V value) {
+		if (key == null) {
+			throw new IllegalArgumentException("Key cannot be null");
+		}
+		int mascara = llaves.length - 1;
+		int posicion = hash(key);
+		int primeraLapida = -1;
+		int sondeos = 1;
+		Object actual;
+		while ((actual = llaves[posicion]) != null) {
+			if (actual == LAPIDA) {
+				if (primeraLapida == -1) {
+					primeraLapida = posicion;
+				}
+			} else if (actual.equals(key)) {
+				valores[posicion] = value;
+				SONDEOS.registrar(sondeos);
+				return;
+			}
+			posicion = (posicion + 1) & mascara;
+			sondeos++;
+		}
+		SONDEOS.registrar(sondeos);
+		if (primeraLapida != -1) {
+			posicion = primeraLapida;
+			lapidas--;
+		}
+		llaves[posicion] = key;
+		valores[posicion] = value;
+		tamanoAct++;
+
+		if (tamanoAct + lapidas > llaves.length * CARGA_MAXIMA) {
+			rehash();
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V get(K key) {
+		int posicion = buscar(key);
+		return posicion >= 0 ? (V) valores[posicion] : null;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V remove(K key) {
+		int posicion = buscar(key);
+		if (posicion < 0) {
+			return null;
+		}
+		V anterior = (V) valores[posicion];
+		llaves[posicion] = LAPIDA;
+		valores[posicion] = null;
+		tamanoAct--;
+		lapidas++;
+		return anterior;
+	}
+
+	@Override
+	public boolean contains(K key) {
+		return buscar(key) >= 0;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return tamanoAct == 0;
+	}
+
+	@Override
+	public int size() {
+		return tamanoAct;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public ILista<K> keySet() {
+		ILista<K> lista = new ArregloDinamico<>(Math.max(1, tamanoAct));
+		try {
+			for (int i = 0; i < llaves.length; i++) {
+				if (llaves[i] != null && llaves[i] != LAPIDA) {
+					lista.insertElement((K) llaves[i], lista.size() + 1);
+				}
+			}
+		} catch (PosException | NullException e) {
+			e.printStackTrace();
+		}
+		return lista;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public ILista<V> valueSet() {
+		ILista<V> lista = new ArregloDinamico<>(Math.max(1, tamanoAct));
+		try {
+			for (int i = 0; i < llaves.length; i++) {
+				if (llaves[i] != null && llaves[i] != LAPIDA) {
+					lista.insertElement((V) valores[i], lista.size() + 1);
+				}
+			}
+		} catch (PosException | NullException e) {
+			e.printStackTrace();
+		}
+		return lista;
+	}
+
+	/**
+	 * Posición de la llave en los arreglos, o -1 si no está.
+	 */
+	private int buscar(K key) {
+		if (key == null) {
+			return -1;
+		}
+		int mascara = llaves.length - 1;
+		int posicion = hash(key);
+		int sondeos = 1;
+		Object actual;
+		while ((actual = llaves[posicion]) != null) {
+			if (actual != LAPIDA && actual.equals(key)) {
+				SONDEOS.registrar(sondeos);
+				return posicion;
+			}
+			posicion = (posicion + 1) & mascara;
+			sondeos++;
+		}
+		SONDEOS.registrar(sondeos);
+		return -1;
+	}
+
+	/**
+	 * Mezcla el hashCode (multiplicación de Fibonacci) y toma los bits altos como posición.
+	 */
+	private int hash(Object key) {
+		int h = key.hashCode();
+		h ^= h >>> 16;
+		return (h * 0x9E3779B9) >>> (32 - bits);
+	}
+
+	/**
+	 * Duplica la capacidad (o la conserva si lo que sobra son lápidas) y reinserta sin pasar por put.
+	 */
+	private void rehash() {
+		Object[] viejasLlaves = llaves;
+		Object[] viejosValores = valores;
+		if (tamanoAct > llaves.length / 2 && bits < 30) {
+			bits++;
+		}
+		llaves = new Object[1 << bits];
+		valores = new Object[1 << bits];
+		int mascara = llaves.length - 1;
+		for (int i = 0; i < viejasLlaves.length; i++) {
+			Object llave = viejasLlaves[i];
+			if (llave != null && llave != LAPIDA) {
+				int posicion = hash(llave);
+				while (llaves[posicion] != null) {
+					posicion = (posicion + 1) & mascara;
+				}
+				llaves[posicion] = llave;
+				valores[posicion] = viejosValores[i];
+			}
+		}
+		lapidas = 0;
+		cantidadRehash++;
+		REHASH.incrementar();
+	}
+
+	public int darMinicial() {
+		return minicial;
+	}
+
+	public int darMfinal() {
+		return llaves.length;
+	}
+
+	public String toString() {
+		String retorno = "";
+		retorno += "La cantidad de duplas: " + tamanoAct;
+		retorno += "\nEl m inicial es: " + minicial;
+		retorno += "\nEl m final es: " + llaves.length;
+		DecimalFormat df = new DecimalFormat("###.##");
+		retorno += "\nEl factor de carga es: " + df.format((double) tamanoAct / llaves.length);
+		retorno += "\nLa cantidad de lápidas es: " + lapidas;
+		retorno += "\nLa cantidad de rehash es: " + cantidadRehash;
+		return retorno;
+	}
+}
@@ -0,0 +1,357 @@
+package model.data_structures;
+
+import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import model.exceptions.NullException;
+import model.exceptions.PosException;
+import utils.Metricas;
+
+/**
+ * Tabla de símbolos segura para varios hilos con bloqueo por segmentos (lock striping). La tabla se divide en
+ * segmentos independientes; las escrituras bloquean solo el segmento de su llave y las lecturas no bloquean:
+ * recorren cadenas cuyos nodos tienen llave y siguiente inmutables, así que siempre ven un estado válido.
+ * keySet y valueSet son débilmente consistentes: reflejan cada segmento en el momento en que se recorre.
+ * Tiene las operaciones de ITablaSimbolos, pero no la implementa porque los valores no tienen que ser
+ * comparables (por ejemplo, las listas de vértices de cada punto de aterrizaje en Modelo).
+ */
+public class TablaHashConcurrente<K extends Comparable<K>, V> {
+
+	private static final int SEGMENTOS_POR_DEFECTO = 16;
+	private static final double CARGA_MAXIMA = 0.75;
+	private static final Metricas.Histograma SONDEOS = Metricas.histograma("tablaHash.concurrente.sondeos");
+	private static final Metricas.Contador REHASH = Metricas.contador("tablaHash.concurrente.rehash");
+
+	private final Segmento<K, V>[] segmentos;
+	private final int bitsSegmento;
+
+	public TablaHashConcurrente(int tamInicial) {
+		this(tamInicial, SEGMENTOS_POR_DEFECTO);
+	}
+
+	/**
+	 * @param nivelConcurrencia cantidad de hilos que se espera escriban a la vez; se redondea a potencia de dos
+	 */
+	@SuppressWarnings("unchecked")
+	public TablaHashConcurrente(int tamInicial, int nivelConcurrencia) {
+		int bits = 0;
+		while ((1 << bits) < nivelConcurrencia && bits < 16) {
+			bits++;
+		}
+		bitsSegmento = bits;
+		segmentos = new Segmento[1 << bits];
+		int porSegmento = Math.max(2, (tamInicial >> bits) + 1);
+		for (int i = 0; i < segmentos.length; i++) {
+			segmentos[i] = new Segmento<>(porSegmento);
+		}
+	}
+
+	public void put(K key, V value) {
+		if (key == null || value == null) {
+			throw new IllegalArgumentException("Key and value cannot be null");
+		}
+		int h = mezclar(key);
+		segmentoDe(h).put(key, h, value, false);
+	}
+
+	/**
+	 * Inserta solo si la llave no está. Retorna el valor que ya estaba, o null si se insertó.
+	 */
+	public V putIfAbsent(K key, V value) {
+		if (key == null || value == null) {
+			throw new IllegalArgumentException("Key and value cannot be null");
+		}
+		int h = mezclar(key);
+		return segmentoDe(h).put(key, h, value, true);
+	}
+
+	/**
+	 * Retorna el valor de la llave; si no está, lo crea con la función y lo inserta de forma atómica
+	 * (la función se llama a lo sumo una vez por llave, con el segmento bloqueado).
+	 */
+	public V computeIfAbsent(K key, Function<? super K, ? extends V> funcion) {
+		if (key == null) {
+			throw new IllegalArgumentException("Key cannot be null");
+		}
+		int h = mezclar(key);
+		Segmento<K, V> segmento = segmentoDe(h);
+		V actual = segmento.get(key, h);
+		return actual != null ? actual : segmento.computeIfAbsent(key, h, funcion);
+	}
+
+	/**
+	 * Reemplaza de forma atómica el valor de la llave por funcion(llave, valorActual); valorActual es null si
+	 * la llave no estaba. Si la función retorna null la llave se elimina.
+	 */
+	public V compute(K key, BiFunction<? super K, ? super V, ? extends V> funcion) {
+		if (key == null) {
+			throw new IllegalArgumentException("Key cannot be null");
+		}
+		int h = mezclar(key);
+		return segmentoDe(h).compute(key, h, funcion);
+	}
+
+	public V get(K key) {
+		if (key == null) {
+			return null;
+		}
+		int h = mezclar(key);
+		return segmentoDe(h).get(key, h);
+	}
+
+	public V remove(K key) {
+		if (key == null) {
+			return null;
+		}
+		int h = mezclar(key);
+		return segmentoDe(h).remove(key, h);
+	}
+
+	public boolean contains(K key) {
+		return get(key) != null;
+	}
+
+	public boolean isEmpty() {
+		for (Segmento<K, V> segmento : segmentos) {
+			if (segmento.tamano != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Suma de los tamaños de los segmentos; con escrituras concurrentes es solo aproximado.
+	 */
+	public int size() {
+		int total = 0;
+		for (Segmento<K, V> segmento : segmentos) {
+			total += segmento.tamano;
+		}
+		return total;
+	}
+
+	public ILista<K> keySet() {
+		ILista<K> lista = new ArregloDinamico<>(Math.max(1, size()));
+		try {
+			for (Segmento<K, V> segmento : segmentos) {
+				AtomicReferenceArray<Nodo<K, V>> tabla = segmento.tabla;
+				for (int i = 0; i < tabla.length(); i++) {
+					for (Nodo<K, V> nodo = tabla.get(i); nodo != null; nodo = nodo.siguiente) {
+						lista.insertElement(nodo.llave, lista.size() + 1);
+					}
+				}
+			}
+		} catch (PosException | NullException e) {
+			e.printStackTrace();
+		}
+		return lista;
+	}
+
+	public List<V> valueSet() {
+		List<V> lista = new ArrayList<>(size());
+		for (Segmento<K, V> segmento : segmentos) {
+			AtomicReferenceArray<Nodo<K, V>> tabla = segmento.tabla;
+			for (int i = 0; i < tabla.length(); i++) {
+				for (Nodo<K, V> nodo = tabla.get(i); nodo != null; nodo = nodo.siguiente) {
+					V valor = nodo.valor;
+					if (valor != null) {
+						lista.add(valor);
+					}
+				}
+			}
+		}
+		return lista;
+	}
+
+	private Segmento<K, V> segmentoDe(int h) {
+		return bitsSegmento == 0 ? segmentos[0] : segmentos[h >>> (32 - bitsSegmento)];
+	}
+
+	/**
+	 * Mezcla el hashCode (multiplicación de Fibonacci): los bits altos eligen el segmento y los bajos la lista.
+	 */
+	private static int mezclar(Object key) {
+		int h = key.hashCode();
+		h ^= h >>> 16;
+		h *= 0x9E3779B9;
+		return h ^ (h >>> 15);
+	}
+
+	public int darNumeroSegmentos() {
+		return segmentos.length;
+	}
+
+	public String toString() {
+		int capacidad = 0;
+		int rehash = 0;
+		for (Segmento<K, V> segmento : segmentos) {
+			capacidad += segmento.tabla.length();
+			rehash += segmento.cantidadRehash;
+		}
+		String retorno = "";
+		retorno += "La cantidad de duplas: " + size();
+		retorno += "\nLa cantidad de segmentos es: " + segmentos.length;
+		retorno += "\nEl m final es: " + capacidad;
+		DecimalFormat df = new DecimalFormat("###.##");
+		retorno += "\nEl factor de carga es: " + df.format((double) size() / capacidad);
+		retorno += "\nLa cantidad de rehash es: " + rehash;
+		return retorno;
+	}
+
+	/**
+	 * Nodo de una cadena. La llave y el siguiente no cambian después de publicar el nodo, por eso un lector
+	 * sin bloqueo nunca ve una cadena a medio modificar; eliminar copia los nodos anteriores al eliminado.
+	 */
+	private static final class Nodo<K, V> {
+		final K llave;
+		final int hash;
+		volatile V valor;
+		final Nodo<K, V> siguiente;
+
+		Nodo(K llave, int hash, V valor, Nodo<K, V> siguiente) {
+			this.llave = llave;
+			this.hash = hash;
+			this.valor = valor;
+			this.siguiente = siguiente;
+		}
+	}
+
+	/**
+	 * Tabla de encadenamiento con su propio bloqueo (el monitor del segmento) y capacidad potencia de dos.
+	 */
+	private static final class Segmento<K, V> {
+		volatile AtomicReferenceArray<Nodo<K, V>> tabla;
+		volatile int tamano;
+		int cantidadRehash;
+
+		Segmento(int tamInicial) {
+			int capacidad = 2;
+			while (capacidad < tamInicial) {
+				capacidad <<= 1;
+			}
+			tabla = new AtomicReferenceArray<>(capacidad);
+		}
+
+		V get(Object key, int h) {
+			AtomicReferenceArray<Nodo<K, V>> t = tabla;
+			int sondeos = 0;
+			for (Nodo<K, V> nodo = t.get(h & (t.length() - 1)); nodo != null; nodo = nodo.siguiente) {
+				sondeos++;
+				if (nodo.hash == h && nodo.llave.equals(key)) {
+					SONDEOS.registrar(sondeos);
+					return nodo.valor;
+				}
+			}
+			SONDEOS.registrar(sondeos);
+			return null;
+		}
+
+		synchronized V put(K key, int h, V value, boolean soloSiAusente) {
+			Nodo<K, V> nodo = buscar(key, h);
+			if (nodo != null) {
+				V anterior = nodo.valor;
+				if (!soloSiAusente) {
+					nodo.valor = value;
+				}
+				return anterior;
+			}
+			insertar(key, h, value);
+			return null;
+		}
+
+		synchronized V computeIfAbsent(K key, int h, Function<? super K, ? extends V> funcion) {
+			Nodo<K, V> nodo = buscar(key, h);
+			if (nodo != null) {
+				return nodo.valor;
+			}
+			V valor = funcion.apply(key);
+			if (valor != null) {
+				insertar(key, h, valor);
+			}
+			return valor;
+		}
+
+		synchronized V compute(K key, int h, BiFunction<? super K, ? super V, ? extends V> funcion) {
+			Nodo<K, V> nodo = buscar(key, h);
+			V valor = funcion.apply(key, nodo != null ? nodo.valor : null);
+			if (valor == null) {
+				if (nodo != null) {
+					remove(key, h);
+				}
+			} else if (nodo != null) {
+				nodo.valor = valor;
+			} else {
+				insertar(key, h, valor);
+			}
+			return valor;
+		}
+
+		synchronized V remove(Object key, int h) {
+			AtomicReferenceArray<Nodo<K, V>> t = tabla;
+			int posicion = h & (t.length() - 1);
+			Nodo<K, V> primero = t.get(posicion);
+			Nodo<K, V> nodo = primero;
+			while (nodo != null && !(nodo.hash == h && nodo.llave.equals(key))) {
+				nodo = nodo.siguiente;
+			}
+			if (nodo == null) {
+				return null;
+			}
+			// Los nodos posteriores se comparten; los anteriores se copian delante de ellos
+			Nodo<K, V> cabeza = nodo.siguiente;
+			for (Nodo<K, V> p = primero; p != nodo; p = p.siguiente) {
+				cabeza = new Nodo<>(p.llave, p.hash, p.valor, cabeza);
+			}
+			t.set(posicion, cabeza);
+			tamano--;
+			return nodo.valor;
+		}
+
+		private Nodo<K, V> buscar(Object key, int h) {
+			AtomicReferenceArray<Nodo<K, V>> t = tabla;
+			for (Nodo<K, V> nodo = t.get(h & (t.length() - 1)); nodo != null; nodo = nodo.siguiente) {
+				if (nodo.hash == h && nodo.llave.equals(key)) {
+					return nodo;
+				}
+			}
+			return null;
+		}
+
+		/**
+		 * Inserta al inicio de la cadena (se llama con el segmento bloqueado y la llave ausente).
+		 */
+		private void insertar(K key, int h, V value) {
+			if (tamano + 1 > tabla.length() * CARGA_MAXIMA) {
+				rehash();
+			}
+			AtomicReferenceArray<Nodo<K, V>> t = tabla;
+			int posicion = h & (t.length() - 1);
+			t.set(posicion, new Nodo<>(key, h, value, t.get(posicion)));
+			tamano++;
+		}
+
+		/**
+		 * Construye la tabla duplicada con nodos nuevos y la publica; los lectores que aún tengan la vieja
+		 * la siguen viendo completa.
+		 */
+		private void rehash() {
+			AtomicReferenceArray<Nodo<K, V>> vieja = tabla;
+			AtomicReferenceArray<Nodo<K, V>> nueva = new AtomicReferenceArray<>(vieja.length() * 2);
+			int mascara = nueva.length() - 1;
+			for (int i = 0; i < vieja.length(); i++) {
+				for (Nodo<K, V> nodo = vieja.get(i); nodo != null; nodo = nodo.siguiente) {
+					int posicion = nodo.hash & mascara;
+					nueva.set(posicion, new Nodo<>(nodo.llave, nodo.hash, nodo.valor, nueva.get(posicion)));
+				}
+			}
+			tabla = nueva;
+			cantidadRehash++;
+			REHASH.incrementar();
+		}
+	}
+}
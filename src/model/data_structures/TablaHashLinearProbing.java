@@ -2,8 +2,13 @@ package model.data_structures;
 
 import java.text.DecimalFormat;
 
+import utils.Metricas;
+
 public class TablaHashLinearProbing <K extends Comparable<K>, V extends Comparable <V>> implements ITablaSimbolos<K, V>{
 
+	private static final Metricas.Histograma SONDEOS = Metricas.histograma("tablaHash.linearProbing.sondeos");
+	private static final Metricas.Contador REHASH = Metricas.contador("tablaHash.linearProbing.rehash");
+
 	private ILista<NodoTS<K,V>> listaNodos;
 	private int tamanoAct;
 	private int tamanoTabla;
@@ -91,10 +96,12 @@ public class TablaHashLinearProbing <K extends Comparable<K>, V extends Comparab
 		int posicion=hash(key);
 		V retornar=null;
 		boolean encontroNull= false;
+		int sondeos=0;
 
 		while(retornar==null && !encontroNull)
 		{
 			NodoTS<K, V> nodoActual;
+			sondeos++;
 			try 
 			{
 				nodoActual = listaNodos.getElement(posicion);
@@ -124,6 +131,7 @@ public class TablaHashLinearProbing <K extends Comparable<K>, V extends Comparab
 			}
 		}
 
+		SONDEOS.registrar(sondeos);
 		return retornar;	
 	}
 
@@ -181,13 +189,7 @@ public class TablaHashLinearProbing <K extends Comparable<K>, V extends Comparab
 	@Override
 	public boolean contains(K key) 
 	{
-		V valor=get(key);
-		boolean retornar=false;
-		if (!valor.equals(null))
-		{
-			retornar=true;
-		}
-		return retornar;
+		return get(key) != null;
 	}
 
 	@Override
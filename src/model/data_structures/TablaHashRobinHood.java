@@ -0,0 +1,267 @@
+package model.data_structures;
+
+import java.text.DecimalFormat;
+
+import model.exceptions.NullException;
+import model.exceptions.PosException;
+import utils.Metricas;
+
+/**
+ * Tabla de símbolos con hashing Robin Hood: al insertar, una llave que ya se alejó más de su posición ideal
+ * le quita el puesto a la que está más cerca de la suya, así las distancias de sondeo quedan parejas y el peor
+ * caso se mantiene acotado aun con factor de carga alto. Las eliminaciones corren hacia atrás las llaves
+ * siguientes (sin lápidas).
+ */
+public class TablaHashRobinHood<K extends Comparable<K>, V extends Comparable<V>> implements ITablaSimbolos<K, V> {
+
+	private static final double CARGA_MAXIMA = 0.85;
+	private static final Metricas.Histograma SONDEOS = Metricas.histograma("tablaHash.robinHood.sondeos");
+	private static final Metricas.Contador REHASH = Metricas.contador("tablaHash.robinHood.rehash");
+
+	private Object[] llaves;
+	private Object[] valores;
+	private int[] hashes;
+	private int bits;
+	private int tamanoAct;
+	private final int minicial;
+	private int cantidadRehash;
+
+	public TablaHashRobinHood(int tamInicial) {
+		bits = 1;
+		while ((1 << bits) < Math.max(2, tamInicial * 2) && bits < 30) {
+			bits++;
+		}
+		llaves = new Object[1 << bits];
+		valores = new Object[1 << bits];
+		hashes = new int[1 << bits];
+		minicial = llaves.length;
+		tamanoAct = 0;
+	}
+
+	@Override
+	public void put(K key, V value) {
+		if (key == null) {
+			throw new IllegalArgumentException("Key cannot be null");
+		}
+		int h = mezclar(key);
+		int posicion = buscar(key, h);
+		if (posicion >= 0) {
+			valores[posicion] = value;
+			return;
+		}
+		if (tamanoAct + 1 > llaves.length * CARGA_MAXIMA) {
+			rehash();
+		}
+		insertar(key, value, h);
+		tamanoAct++;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V get(K key) {
+		if (key == null) {
+			return null;
+		}
+		int posicion = buscar(key, mezclar(key));
+		return posicion >= 0 ? (V) valores[posicion] : null;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V remove(K key) {
+		if (key == null) {
+			return null;
+		}
+		int posicion = buscar(key, mezclar(key));
+		if (posicion < 0) {
+			return null;
+		}
+		V anterior = (V) valores[posicion];
+		int mascara = llaves.length - 1;
+		int siguiente = (posicion + 1) & mascara;
+		while (llaves[siguiente] != null && distancia(siguiente) > 0) {
+			llaves[posicion] = llaves[siguiente];
+			valores[posicion] = valores[siguiente];
+			hashes[posicion] = hashes[siguiente];
+			posicion = siguiente;
+			siguiente = (siguiente + 1) & mascara;
+		}
+		llaves[posicion] = null;
+		valores[posicion] = null;
+		tamanoAct--;
+		return anterior;
+	}
+
+	@Override
+	public boolean contains(K key) {
+		return key != null && buscar(key, mezclar(key)) >= 0;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return tamanoAct == 0;
+	}
+
+	@Override
+	public int size() {
+		return tamanoAct;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public ILista<K> keySet() {
+		ILista<K> lista = new ArregloDinamico<>(Math.max(1, tamanoAct));
+		try {
+			for (int i = 0; i < llaves.length; i++) {
+				if (llaves[i] != null) {
+					lista.insertElement((K) llaves[i], lista.size() + 1);
+				}
+			}
+		} catch (PosException | NullException e) {
+			e.printStackTrace();
+		}
+		return lista;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public ILista<V> valueSet() {
+		ILista<V> lista = new ArregloDinamico<>(Math.max(1, tamanoAct));
+		try {
+			for (int i = 0; i < llaves.length; i++) {
+				if (llaves[i] != null) {
+					lista.insertElement((V) valores[i], lista.size() + 1);
+				}
+			}
+		} catch (PosException | NullException e) {
+			e.printStackTrace();
+		}
+		return lista;
+	}
+
+	/**
+	 * Longitud máxima de sondeo (distancia a la posición ideal) entre las llaves presentes.
+	 */
+	public int darSondeoMaximo() {
+		int maximo = 0;
+		for (int i = 0; i < llaves.length; i++) {
+			if (llaves[i] != null) {
+				maximo = Math.max(maximo, distancia(i));
+			}
+		}
+		return maximo;
+	}
+
+	/**
+	 * Longitud promedio de sondeo de una búsqueda exitosa.
+	 */
+	public double darSondeoPromedio() {
+		if (tamanoAct == 0) {
+			return 0;
+		}
+		long total = 0;
+		for (int i = 0; i < llaves.length; i++) {
+			if (llaves[i] != null) {
+				total += distancia(i);
+			}
+		}
+		return (double) total / tamanoAct;
+	}
+
+	/**
+	 * Busca la llave desde su posición ideal; se detiene en cuanto encuentra una llave más cerca de la suya
+	 * que la distancia recorrida, porque por la invariante de Robin Hood la buscada no puede estar más adelante.
+	 */
+	private int buscar(K key, int h) {
+		int mascara = llaves.length - 1;
+		int posicion = h >>> (32 - bits);
+		int recorrido = 0;
+		while (llaves[posicion] != null && recorrido <= distancia(posicion)) {
+			if (hashes[posicion] == h && llaves[posicion].equals(key)) {
+				SONDEOS.registrar(recorrido + 1);
+				return posicion;
+			}
+			posicion = (posicion + 1) & mascara;
+			recorrido++;
+		}
+		SONDEOS.registrar(recorrido + 1);
+		return -1;
+	}
+
+	private void insertar(Object llave, Object valor, int h) {
+		int mascara = llaves.length - 1;
+		int posicion = h >>> (32 - bits);
+		int recorrido = 0;
+		while (llaves[posicion] != null) {
+			int existente = distancia(posicion);
+			if (existente < recorrido) {
+				Object llaveTemp = llaves[posicion];
+				Object valorTemp = valores[posicion];
+				int hashTemp = hashes[posicion];
+				llaves[posicion] = llave;
+				valores[posicion] = valor;
+				hashes[posicion] = h;
+				llave = llaveTemp;
+				valor = valorTemp;
+				h = hashTemp;
+				recorrido = existente;
+			}
+			posicion = (posicion + 1) & mascara;
+			recorrido++;
+		}
+		llaves[posicion] = llave;
+		valores[posicion] = valor;
+		hashes[posicion] = h;
+	}
+
+	/**
+	 * Distancia de la llave en la posición dada a su posición ideal.
+	 */
+	private int distancia(int posicion) {
+		return (posicion - (hashes[posicion] >>> (32 - bits))) & (llaves.length - 1);
+	}
+
+	private static int mezclar(Object key) {
+		int h = key.hashCode();
+		h ^= h >>> 16;
+		return h * 0x9E3779B9;
+	}
+
+	private void rehash() {
+		Object[] viejasLlaves = llaves;
+		Object[] viejosValores = valores;
+		int[] viejosHashes = hashes;
+		bits++;
+		llaves = new Object[1 << bits];
+		valores = new Object[1 << bits];
+		hashes = new int[1 << bits];
+		for (int i = 0; i < viejasLlaves.length; i++) {
+			if (viejasLlaves[i] != null) {
+				insertar(viejasLlaves[i], viejosValores[i], viejosHashes[i]);
+			}
+		}
+		cantidadRehash++;
+		REHASH.incrementar();
+	}
+
+	public int darMinicial() {
+		return minicial;
+	}
+
+	public int darMfinal() {
+		return llaves.length;
+	}
+
+	public String toString() {
+		String retorno = "";
+		retorno += "La cantidad de duplas: " + tamanoAct;
+		retorno += "\nEl m inicial es: " + minicial;
+		retorno += "\nEl m final es: " + llaves.length;
+		DecimalFormat df = new DecimalFormat("###.##");
+		retorno += "\nEl factor de carga es: " + df.format((double) tamanoAct / llaves.length);
+		retorno += "\nLa cantidad de rehash es: " + cantidadRehash;
+		retorno += "\nEl sondeo promedio es: " + df.format(darSondeoPromedio());
+		retorno += "\nEl sondeo máximo es: " + darSondeoMaximo();
+		return retorno;
+	}
+}
@@ -2,57 +2,68 @@ package model.data_structures;
 
 import java.text.DecimalFormat;
 
-import sun.security.util.Debug;
+import model.exceptions.NullException;
+import model.exceptions.PosException;
+import model.exceptions.VacioException;
+import utils.Metricas;
 
 public class TablaHashSeparteChaining<K extends Comparable<K>, V extends Comparable<V>> implements ITablaSimbolos<K, V> {
 
-	private ILista<ILista<NodoTS<K, V>>> listaNodos;
+	// Cantidad de listas de la tabla vieja que se migran en cada operación durante un rehash incremental
+	private static final int MIGRACION_POR_OPERACION = 4;
+	private static final Metricas.Histograma SONDEOS = Metricas.histograma("tablaHash.separateChaining.sondeos");
+	private static final Metricas.Contador REHASH = Metricas.contador("tablaHash.separateChaining.rehash");
+
+	private ILista<NodoTS<K, V>>[] listaNodos;
 	private int tamanoAct;
 	private int tamanoTabla;
 	private double minicial;
 	private double cantidadRehash;
 
+	// Rehash incremental: mientras listaVieja no sea null, las llaves se van pasando de ella a listaNodos
+	private final boolean rehashIncremental;
+	private ILista<NodoTS<K, V>>[] listaVieja;
+	private int tamanoViejo;
+	private int siguienteMigracion;
+
 	public TablaHashSeparteChaining(int tamInicial) {
+		this(tamInicial, false);
+	}
+
+	/**
+	 * @param rehashIncremental si es true, al superar el factor de carga la tabla vieja se migra de a pocas
+	 * listas en cada operación en lugar de copiarse completa en un solo put
+	 */
+	public TablaHashSeparteChaining(int tamInicial, boolean rehashIncremental) {
 		int m = nextPrime(tamInicial);
 		minicial = m;
-		listaNodos = new ArregloDinamico<>(m);
+		listaNodos = crearListas(m);
 		tamanoAct = 0;
 		tamanoTabla = m;
-
-		// Inicializar cada lista de nodos con una lista vacía
-		for (int i = 1; i <= tamanoTabla; i++) {
-			try {
-				listaNodos.insertElement(new ArregloDinamico<NodoTS<K, V>>(5), i);  // Inicializamos con una lista vacía de tamaño 5
-			} catch (PosException | NullException e) {
-				e.printStackTrace();
-			}
-		}
+		this.rehashIncremental = rehashIncremental;
 	}
 
 	@Override
 	public void put(K key, V value) {
-		int posicion = hash(key);
+		migrarPaso(key);
+		int posicion = hash(key, tamanoTabla);
 		try {
-			ILista<NodoTS<K, V>> listasc = listaNodos.getElement(posicion);
+			ILista<NodoTS<K, V>> listasc = listaNodos[posicion];
 
 			if (listasc == null) {
 				// Si no hay lista, crear una nueva
 				listasc = new ArregloDinamico<>(5);
-				listaNodos.changeInfo(posicion, listasc);
+				listaNodos[posicion] = listasc;
 			}
 
-			// Comprobar si la clave ya existe
-			if (!contains(key)) {
-				listasc.insertElement(new NodoTS<K, V>(key, value), listasc.size() + 1);
-			} else {
-				// Si ya existe, actualizar el valor
-				for (int i = 1; i <= listasc.size(); i++) {
-					if (listasc.getElement(i).getKey().compareTo(key) == 0) {
-						listasc.getElement(i).setValue(value);
-						break;
-					}
+			// Si la clave ya existe se actualiza el valor; se recorre la lista una sola vez
+			for (int i = 1; i <= listasc.size(); i++) {
+				if (listasc.getElement(i).getKey().compareTo(key) == 0) {
+					listasc.getElement(i).setValue(value);
+					return;
 				}
 			}
+			listasc.insertElement(new NodoTS<K, V>(key, value), listasc.size() + 1);
 		} catch (PosException | NullException | VacioException e) {
 			e.printStackTrace();
 		}
@@ -63,19 +74,26 @@ public class TablaHashSeparteChaining<K extends Comparable<K>, V extends Compara
 		double tam2 = tamanoTabla;
 		double tamanoCarga = tam / tam2;
 
-		if (tamanoCarga > 0.7) {  // Ajusté el valor del factor de carga a 0.7
-			rehash();
+		if (tamanoCarga > 0.7 && listaVieja == null) {  // Ajusté el valor del factor de carga a 0.7
+			if (rehashIncremental) {
+				iniciarRehash();
+			} else {
+				rehash();
+			}
 		}
 	}
 
 	@Override
 	public V get(K key) {
+		migrarPaso(key);
 		V retornar = null;
-		int posicion = hash(key);
+		int posicion = hash(key, tamanoTabla);
+		int sondeos = 0;
 		try {
-			ILista<NodoTS<K, V>> listasc = listaNodos.getElement(posicion);
+			ILista<NodoTS<K, V>> listasc = listaNodos[posicion];
 			if (listasc != null) {
 				for (int i = 1; i <= listasc.size() && retornar == null; i++) {
+					sondeos++;
 					if (listasc.getElement(i).getKey().compareTo(key) == 0) {
 						retornar = listasc.getElement(i).getValue();
 					}
@@ -85,27 +103,29 @@ public class TablaHashSeparteChaining<K extends Comparable<K>, V extends Compara
 			e.printStackTrace();
 		}
 
+		SONDEOS.registrar(sondeos);
 		return retornar;
 	}
 
 	@Override
 	public V remove(K key) {
+		migrarPaso(key);
 		V retornar = null;
-		int posicion = hash(key);
+		int posicion = hash(key, tamanoTabla);
 		try {
-			ILista<NodoTS<K, V>> listasc = listaNodos.getElement(posicion);
+			ILista<NodoTS<K, V>> listasc = listaNodos[posicion];
 			if (listasc != null) {
 				for (int i = 1; i <= listasc.size() && retornar == null; i++) {
 					if (listasc.getElement(i).getKey().compareTo(key) == 0) {
 						retornar = listasc.getElement(i).getValue();
 						listasc.deleteElement(i);
+						tamanoAct--;
 					}
 				}
 			}
 		} catch (PosException | VacioException e) {
 			e.printStackTrace();
 		}
-		tamanoAct--;
 		return retornar;
 	}
 
@@ -129,15 +149,9 @@ public class TablaHashSeparteChaining<K extends Comparable<K>, V extends Compara
 	public ILista<K> keySet() {
 		ILista<K> lista = new ArregloDinamico<>(1);
 		try {
-			for (int i = 1; i <= tamanoTabla; i++) {
-				ILista<NodoTS<K, V>> listasc = listaNodos.getElement(i);
-				if (listasc != null) {
-					for (int j = 1; j <= listasc.size(); j++) {
-						if (listasc.getElement(j) != null) {
-							lista.insertElement(listasc.getElement(j).getKey(), lista.size() + 1);
-						}
-					}
-				}
+			ILista<NodoTS<K, V>> nodos = darListaNodos();
+			for (int i = 1; i <= nodos.size(); i++) {
+				lista.insertElement(nodos.getElement(i).getKey(), lista.size() + 1);
 			}
 		} catch (PosException | NullException | VacioException e) {
 			e.printStackTrace();
@@ -151,15 +165,9 @@ public class TablaHashSeparteChaining<K extends Comparable<K>, V extends Compara
 		ILista<V> lista = new ArregloDinamico<>(1);
 
 		try {
-			for (int i = 1; i <= tamanoTabla; i++) {
-				ILista<NodoTS<K, V>> listasc = listaNodos.getElement(i);
-				if (listasc != null) {
-					for (int j = 1; j <= listasc.size(); j++) {
-						if (listasc.getElement(j) != null) {
-							lista.insertElement(listasc.getElement(j).getValue(), lista.size() + 1);
-						}
-					}
-				}
+			ILista<NodoTS<K, V>> nodos = darListaNodos();
+			for (int i = 1; i <= nodos.size(); i++) {
+				lista.insertElement(nodos.getElement(i).getValue(), lista.size() + 1);
 			}
 		} catch (PosException | NullException | VacioException e) {
 			e.printStackTrace();
@@ -168,12 +176,12 @@ public class TablaHashSeparteChaining<K extends Comparable<K>, V extends Compara
 		return lista;
 	}
 
-	@Override
 	public ILista<NodoTS<K, V>> darListaNodos() {
+		completarRehash();
 		ILista<NodoTS<K, V>> nodos = new ArregloDinamico<>(1);
 		try {
-			for (int i = 1; i <= tamanoTabla; i++) {
-				ILista<NodoTS<K, V>> elemento = listaNodos.getElement(i);
+			for (int i = 0; i < tamanoTabla; i++) {
+				ILista<NodoTS<K, V>> elemento = listaNodos[i];
 				if (elemento != null && !elemento.isEmpty()) {
 					for (int j = 1; j <= elemento.size(); j++) {
 						NodoTS<K, V> elemento2 = elemento.getElement(j);
@@ -190,35 +198,89 @@ public class TablaHashSeparteChaining<K extends Comparable<K>, V extends Compara
 		return nodos;
 	}
 
-	@Override
 	public int hash(K key) {
-		return Math.abs(key.hashCode() % tamanoTabla) + 1;
+		return hash(key, tamanoTabla);
+	}
+
+	private static int hash(Object key, int m) {
+		return Math.abs(key.hashCode() % m);
 	}
 
+	/**
+	 * Rehash completo: duplica la tabla y pasa todos los nodos de una vez (reutilizando los mismos NodoTS).
+	 */
 	public void rehash() {
-		try {
-			ILista<NodoTS<K, V>> nodos = darListaNodos();
+		iniciarRehash();
+		completarRehash();
+	}
 
-			tamanoAct = 0;
-			tamanoTabla *= 2;
-			int m = nextPrime(tamanoTabla);
-			tamanoTabla = m;
-			listaNodos = new ArregloDinamico<>(tamanoTabla);
+	/**
+	 * Crea la tabla nueva y deja la actual como tabla vieja para migrarla poco a poco.
+	 */
+	private void iniciarRehash() {
+		listaVieja = listaNodos;
+		tamanoViejo = tamanoTabla;
+		siguienteMigracion = 0;
+		tamanoTabla = nextPrime(tamanoTabla * 2);
+		listaNodos = crearListas(tamanoTabla);
+		cantidadRehash++;
+		REHASH.incrementar();
+	}
 
-			for (int i = 1; i <= tamanoTabla; i++) {
-				listaNodos.insertElement(null, size() + 1);
-			}
+	/**
+	 * Durante un rehash incremental, migra primero la lista vieja donde podría estar la llave (para que cada llave
+	 * viva en una sola tabla) y luego unas pocas listas más en orden.
+	 */
+	private void migrarPaso(K key) {
+		if (listaVieja == null) {
+			return;
+		}
+		migrarLista(hash(key, tamanoViejo));
+		for (int i = 0; i < MIGRACION_POR_OPERACION && siguienteMigracion < tamanoViejo; i++) {
+			migrarLista(siguienteMigracion++);
+		}
+		if (siguienteMigracion >= tamanoViejo) {
+			listaVieja = null;
+		}
+	}
 
-			NodoTS<K, V> actual = null;
-			for (int i = 1; i <= nodos.size(); i++) {
-				actual = nodos.getElement(i);
-				put(actual.getKey(), actual.getValue());
+	/**
+	 * Termina de una vez el rehash incremental pendiente, si lo hay. Después de esto get ya no modifica la tabla,
+	 * así que se puede leer desde varios hilos mientras nadie escriba.
+	 */
+	public void completarRehash() {
+		if (listaVieja == null) {
+			return;
+		}
+		while (siguienteMigracion < tamanoViejo) {
+			migrarLista(siguienteMigracion++);
+		}
+		listaVieja = null;
+	}
+
+	private void migrarLista(int posicionVieja) {
+		ILista<NodoTS<K, V>> vieja = listaVieja[posicionVieja];
+		if (vieja == null) {
+			return;
+		}
+		listaVieja[posicionVieja] = null;
+		try {
+			for (int i = 1; i <= vieja.size(); i++) {
+				NodoTS<K, V> nodo = vieja.getElement(i);
+				int posicion = hash(nodo.getKey(), tamanoTabla);
+				if (listaNodos[posicion] == null) {
+					listaNodos[posicion] = new ArregloDinamico<>(5);
+				}
+				listaNodos[posicion].insertElement(nodo, listaNodos[posicion].size() + 1);
 			}
-		} catch (NullException | VacioException | PosException e) {
+		} catch (PosException | NullException | VacioException e) {
 			e.printStackTrace();
 		}
+	}
 
-		cantidadRehash++;
+	@SuppressWarnings("unchecked")
+	private static <K extends Comparable<K>, V extends Comparable<V>> ILista<NodoTS<K, V>>[] crearListas(int m) {
+		return (ILista<NodoTS<K, V>>[]) new ILista[m];
 	}
 
 	static boolean isPrime(int n) {
@@ -244,5 +306,16 @@ public class TablaHashSeparteChaining<K extends Comparable<K>, V extends Compara
 		}
 		return prime;
 	}
-}
 
+	public String toString() {
+		String retorno = "";
+		retorno += "La cantidad de duplas: " + tamanoAct;
+		retorno += "\nEl m inicial es: " + (int) minicial;
+		retorno += "\nEl m final es: " + tamanoTabla;
+		DecimalFormat df = new DecimalFormat("###.##");
+		retorno += "\nEl factor de carga es: " + df.format((double) tamanoAct / tamanoTabla);
+		retorno += "\nLa cantidad de rehash es: " + (int) cantidadRehash;
+		retorno += "\nRehash en curso: " + (listaVieja != null ? "sí" : "no");
+		return retorno;
+	}
+}
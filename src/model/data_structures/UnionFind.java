@@ -0,0 +1,64 @@
+package model.data_structures;
+
+/**
+ * Conjuntos disjuntos sobre enteros 0..n-1 con compresión de caminos y unión por rango.
+ */
+public class UnionFind {
+	private final int[] padre;
+	private final byte[] rango;
+	private int count;
+
+	public UnionFind(int n) {
+		padre = new int[n];
+		rango = new byte[n];
+		count = n;
+		for (int i = 0; i < n; i++) {
+			padre[i] = i;
+		}
+	}
+
+	public int find(int p) {
+		int raiz = p;
+		while (raiz != padre[raiz]) {
+			raiz = padre[raiz];
+		}
+		while (p != raiz) {
+			int siguiente = padre[p];
+			padre[p] = raiz;
+			p = siguiente;
+		}
+		return raiz;
+	}
+
+	public boolean connected(int p, int q) {
+		return find(p) == find(q);
+	}
+
+	/**
+	 * Une los conjuntos de p y q; retorna false si ya estaban unidos.
+	 */
+	public boolean union(int p, int q) {
+		int raizP = find(p);
+		int raizQ = find(q);
+		if (raizP == raizQ) {
+			return false;
+		}
+		if (rango[raizP] < rango[raizQ]) {
+			padre[raizP] = raizQ;
+		} else if (rango[raizP] > rango[raizQ]) {
+			padre[raizQ] = raizP;
+		} else {
+			padre[raizQ] = raizP;
+			rango[raizP]++;
+		}
+		count--;
+		return true;
+	}
+
+	/**
+	 * Cantidad de conjuntos disjuntos.
+	 */
+	public int count() {
+		return count;
+	}
+}
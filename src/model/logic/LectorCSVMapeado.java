@@ -0,0 +1,203 @@
+package model.logic;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Lector de CSV (RFC 4180) que mapea el archivo en memoria y recorre los bytes directamente. Una fila solo
+ * guarda dónde empieza y termina cada campo; los números se leen sin crear Strings y el texto de un campo se
+ * decodifica únicamente cuando se pide. Varios hilos pueden leer a la vez rangos distintos, cada uno con su
+ * propia Fila (solo se usan lecturas absolutas sobre el buffer).
+ */
+public class LectorCSVMapeado implements Closeable {
+
+	private final FileChannel canal;
+	private final MappedByteBuffer datos;
+	private final int tamano;
+
+	public LectorCSVMapeado(String ruta) throws IOException {
+		canal = FileChannel.open(Paths.get(ruta), StandardOpenOption.READ);
+		if (canal.size() > Integer.MAX_VALUE) {
+			canal.close();
+			throw new IOException("El archivo es demasiado grande para mapearlo en un solo bloque: " + ruta);
+		}
+		tamano = (int) canal.size();
+		datos = canal.map(FileChannel.MapMode.READ_ONLY, 0, tamano);
+	}
+
+	public int size() {
+		return tamano;
+	}
+
+	/**
+	 * Posición donde empieza la fila siguiente a la que empieza en desde (los saltos de línea entre comillas
+	 * hacen parte del campo)
+	 */
+	public int siguienteFila(int desde) {
+		boolean entreComillas = false;
+		for (int i = desde; i < tamano; i++) {
+			byte b = datos.get(i);
+			if (b == '"') {
+				entreComillas = !entreComillas;
+			} else if (b == '\n' && !entreComillas) {
+				return i + 1;
+			}
+		}
+		return tamano;
+	}
+
+	/**
+	 * Crea un cursor de filas que recuerda los límites de los primeros maxCampos campos
+	 */
+	public Fila nuevaFila(int maxCampos) {
+		return new Fila(maxCampos);
+	}
+
+	@Override
+	public void close() throws IOException {
+		canal.close();
+	}
+
+	/**
+	 * Cursor reutilizable sobre una fila del archivo. No es seguro compartirlo entre hilos.
+	 */
+	public class Fila {
+		private final int[] inicios;
+		private final int[] fines;
+		private final boolean[] escapados;
+		private int campos;
+		private byte[] copia = new byte[64];
+
+		private Fila(int maxCampos) {
+			inicios = new int[maxCampos];
+			fines = new int[maxCampos];
+			escapados = new boolean[maxCampos];
+		}
+
+		/**
+		 * Lee la fila que empieza en desde y retorna la posición donde empieza la siguiente
+		 */
+		public int leer(int desde) {
+			campos = 0;
+			int i = desde;
+			if (i >= tamano || esFinDeLinea(datos.get(i))) {
+				return saltarFinDeLinea(i);
+			}
+			while (true) {
+				int inicio;
+				int fin;
+				boolean escapado = false;
+				if (i < tamano && datos.get(i) == '"') {
+					inicio = ++i;
+					while (i < tamano) {
+						if (datos.get(i) == '"') {
+							if (i + 1 < tamano && datos.get(i + 1) == '"') {
+								escapado = true;
+								i += 2;
+								continue;
+							}
+							break;
+						}
+						i++;
+					}
+					fin = i;
+					// Comilla de cierre y lo que haya hasta el separador
+					while (i < tamano && datos.get(i) != ',' && !esFinDeLinea(datos.get(i))) {
+						i++;
+					}
+				} else {
+					inicio = i;
+					while (i < tamano && datos.get(i) != ',' && !esFinDeLinea(datos.get(i))) {
+						i++;
+					}
+					fin = i;
+				}
+				if (campos < inicios.length) {
+					inicios[campos] = inicio;
+					fines[campos] = fin;
+					escapados[campos] = escapado;
+				}
+				campos++;
+				if (i < tamano && datos.get(i) == ',') {
+					i++;
+				} else {
+					return saltarFinDeLinea(i);
+				}
+			}
+		}
+
+		/**
+		 * Cantidad de campos de la fila leída (incluye los que no se guardaron)
+		 */
+		public int numCampos() {
+			return campos;
+		}
+
+		/**
+		 * Indica si el campo es un entero no negativo escrito sin ceros a la izquierda
+		 */
+		public boolean esEntero(int campo) {
+			int inicio = inicios[campo];
+			int largo = fines[campo] - inicio;
+			if (largo == 0 || largo > 18 || (largo > 1 && datos.get(inicio) == '0')) {
+				return false;
+			}
+			for (int i = inicio; i < fines[campo]; i++) {
+				byte b = datos.get(i);
+				if (b < '0' || b > '9') {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * Valor del campo como entero, sin crear Strings; se debe verificar antes con esEntero
+		 */
+		public long entero(int campo) {
+			long valor = 0;
+			for (int i = inicios[campo]; i < fines[campo]; i++) {
+				valor = valor * 10 + (datos.get(i) - '0');
+			}
+			return valor;
+		}
+
+		/**
+		 * Texto del campo decodificado en UTF-8 (sin las comillas que lo rodean y con "" convertidas en ")
+		 */
+		public String texto(int campo) {
+			int largo = fines[campo] - inicios[campo];
+			if (copia.length < largo) {
+				copia = new byte[Math.max(largo, copia.length * 2)];
+			}
+			int n = 0;
+			for (int i = inicios[campo]; i < fines[campo]; i++) {
+				byte b = datos.get(i);
+				copia[n++] = b;
+				if (b == '"' && escapados[campo]) {
+					i++;
+				}
+			}
+			return new String(copia, 0, n, StandardCharsets.UTF_8);
+		}
+
+		private boolean esFinDeLinea(byte b) {
+			return b == '\n' || b == '\r';
+		}
+
+		private int saltarFinDeLinea(int i) {
+			if (i < tamano && datos.get(i) == '\r') {
+				i++;
+			}
+			if (i < tamano && datos.get(i) == '\n') {
+				i++;
+			}
+			return i;
+		}
+	}
+}
@@ -2,11 +2,26 @@ package model.logic;
 
 import java.io.FileReader;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVRecord;
 import model.data_structures.*;
 import model.exceptions.*;
+import utils.Metricas;
 
 /**
  * Modelo del mundo refactorizado con mejor cohesión y menor complejidad
@@ -16,34 +31,201 @@ public class Modelo {
 	private static final String COUNTRIES_FILE = "./data/countries.csv";
 	private static final String LANDING_POINTS_FILE = "./data/landing_points.csv";
 	private static final String CONNECTIONS_FILE = "./data/connections.csv";
-	private static final double EARTH_RADIUS_KM = 6371.0;
+	private static final String CONTRACTION_FILE = "./data/contraction_hierarchy.bin";
+	private static final String SNAPSHOT_FILE = "./data/modelo.snapshot";
+
+	// Duración de cada etapa de carga
+	private static final Metricas.Histograma CARGA_IMAGEN = Metricas.histogramaTiempo("carga.imagen");
+	private static final Metricas.Histograma CARGA_CSV = Metricas.histogramaTiempo("carga.csv.total");
+	private static final Metricas.Histograma CARGA_PAISES = Metricas.histogramaTiempo("carga.csv.paises");
+	private static final Metricas.Histograma CARGA_PUNTOS = Metricas.histogramaTiempo("carga.csv.puntos");
+	private static final Metricas.Histograma CARGA_LECTURA_CONEXIONES = Metricas
+			.histogramaTiempo("carga.csv.lecturaConexiones");
+	private static final Metricas.Histograma CARGA_UNION_CONEXIONES = Metricas
+			.histogramaTiempo("carga.csv.unionConexiones");
+	private static final Metricas.Histograma CARGA_INTERCONEXION = Metricas.histogramaTiempo("carga.csv.interconexion");
+	// Filas de connections.csv que procesa cada tarea de la carga en paralelo (aproximado)
+	private static final int CONEXIONES_POR_BLOQUE = 512;
 
 	// Estructuras de datos principales
 	private final GrafoListaAdyacencia grafo;
 	private final ITablaSimbolos<String, Country> paises;
 	private final ITablaSimbolos<String, Landing> points;
-	private final ITablaSimbolos<String, ILista<Vertex>> landingIdTabla;
-	private final ITablaSimbolos<String, String> nombreCodigo;
+	private final TablaHashConcurrente<String, ILista<Vertex>> landingIdTabla;
+	private final TablaHashSeparteChaining<String, String> nombreCodigo;
+	// Ids densos de los vértices: (landing, cable) y capitales
+	private final DiccionarioVertices diccionario;
+	// Coordenadas y textos descriptivos de países y puntos, guardados por columnas
+	private final AlmacenAtributos atributosPaises;
+	private final AlmacenAtributos atributosLandings;
+	private volatile MatrizDistancias<Integer, ?> matrizCapitales;
+	// true después de prepararJerarquiaContracciones: req3 consulta la jerarquía en vez del Dijkstra bidireccional
+	private volatile boolean usarJerarquia;
+	private String reporteCarga = "";
+	// Puntos de aterrizaje indexados por su id numérico (null si los ids no son todos numéricos y compactos)
+	private Landing[] landingsPorId;
+	// Respuestas ya calculadas de req1 y req3; se descartan cuando cambia la versión del grafo
+	private final CacheResultados<LlaveConsulta, String> cacheConsultas;
 
 	/**
-	 * Constructor del modelo
+	 * Constructor del modelo con una caché de 1024 consultas (W-TinyLFU)
 	 */
 	public Modelo() {
-		this.grafo = new GrafoListaAdyacencia(2);
-		this.paises = new TablaHashLinearProbing<>(2);
-		this.points = new TablaHashLinearProbing<>(2);
-		this.landingIdTabla = new TablaHashSeparteChaining<>(2);
-		this.nombreCodigo = new TablaHashSeparteChaining<>(2);
+		this(1024, CacheResultados.Politica.W_TINY_LFU);
 	}
 
 	/**
-	 * Carga los datos desde los archivos CSV
+	 * Constructor del modelo
+	 * @param capacidadCache cantidad de respuestas de consultas que se guardan (0 para no guardar ninguna)
+	 */
+	public Modelo(int capacidadCache, CacheResultados.Politica politicaCache) {
+		this.cacheConsultas = new CacheResultados<>(capacidadCache, politicaCache);
+		this.diccionario = new DiccionarioVertices(4096);
+		this.grafo = new GrafoListaAdyacencia(new TablaDensaEnteros<>(4096));
+		this.paises = new TablaHashAbierta<>(2);
+		this.points = new TablaHashAbierta<>(2);
+		this.landingIdTabla = new TablaHashConcurrente<>(2);
+		this.nombreCodigo = new TablaHashSeparteChaining<>(2, true);
+		this.atributosPaises = Country.nuevoAlmacen(256);
+		this.atributosLandings = Landing.nuevoAlmacen(2048);
+	}
+
+	/**
+	 * Carga los datos desde la imagen binaria si está al día con los CSV; si no, desde los archivos CSV,
+	 * y deja guardada la imagen para la próxima carga
 	 */
 	public void cargarDatos() throws IOException {
-		cargarPaises();
-		cargarPuntosAterrizaje();
-		cargarConexiones();
-		construirGrafoConexiones();
+		cargarDatos(SNAPSHOT_FILE);
+	}
+
+	/**
+	 * Igual que cargarDatos(), con la imagen binaria en otra ruta
+	 * @param archivoImagen ruta de la imagen; null para cargar siempre desde los CSV sin guardar imagen
+	 */
+	public void cargarDatos(String archivoImagen) throws IOException {
+		long[] huella = SnapshotModelo.huellaArchivos(COUNTRIES_FILE, LANDING_POINTS_FILE, CONNECTIONS_FILE);
+		long inicio = System.nanoTime();
+		SnapshotModelo snapshot = null;
+		long lecturaMs = 0;
+		if (archivoImagen != null) {
+			try {
+				snapshot = SnapshotModelo.cargar(archivoImagen, huella);
+				lecturaMs = (System.nanoTime() - inicio) / 1000000;
+				snapshot.restaurar(grafo, paises, points, diccionario, landingIdTabla, nombreCodigo);
+			} catch (IOException e) {
+				snapshot = null; // no hay imagen, es de otra versión, los CSV cambiaron o no coincide con el modelo
+			}
+		}
+
+		if (snapshot != null) {
+			CARGA_IMAGEN.registrarDesde(inicio);
+			reporteCarga = "Tiempos de carga desde " + archivoImagen + " (ms):"
+					+ "\n  Lectura de la imagen: " + lecturaMs
+					+ "\n  Reconstrucción del grafo: " + ((System.nanoTime() - inicio) / 1000000 - lecturaMs)
+					+ "\n  Total: " + (System.nanoTime() - inicio) / 1000000;
+		} else {
+			cargarDesdeCSV();
+			if (archivoImagen != null) {
+				try {
+					SnapshotModelo.guardar(archivoImagen, huella, paises, points, diccionario, grafo.freeze(),
+							landingIdTabla, nombreCodigo);
+				} catch (IOException e) {
+					e.printStackTrace();
+				}
+			}
+		}
+		matrizCapitales = null;
+		usarJerarquia = false;
+
+		// Lo que se construye al primer uso queda listo, así las consultas solo leen y pueden correr en paralelo
+		nombreCodigo.completarRehash();
+		grafo.freeze();
+	}
+
+	/**
+	 * Carga los datos desde los archivos CSV
+	 */
+	private void cargarDesdeCSV() throws IOException {
+		ExecutorService pool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+		try {
+			long inicio = System.nanoTime();
+
+			// Etapa 1: países y puntos de aterrizaje a la vez (no comparten estructuras)
+			Future<Long> tiempoPaises = pool.submit(medir(() -> {
+				cargarPaises();
+				return null;
+			}));
+			Future<Long> tiempoPuntos = pool.submit(medir(() -> {
+				cargarPuntosAterrizaje();
+				return null;
+			}));
+			long paisesNs = esperar(tiempoPaises);
+			long puntosNs = esperar(tiempoPuntos);
+			landingsPorId = indexarLandingsPorId();
+			CARGA_PAISES.registrar(paisesNs);
+			CARGA_PUNTOS.registrar(puntosNs);
+
+			// Etapa 2: lectura de conexiones por bloques en el pool y unión al grafo en orden
+			long inicioConexiones = System.nanoTime();
+			List<List<ConexionLeida>> bloques = leerConexiones(pool);
+			long lecturaNs = System.nanoTime() - inicioConexiones;
+			CARGA_LECTURA_CONEXIONES.registrar(lecturaNs);
+
+			long inicioUnion = System.nanoTime();
+			for (List<ConexionLeida> bloque : bloques) {
+				for (ConexionLeida conexion : bloque) {
+					agregarConexion(conexion);
+				}
+			}
+			llenarNombreCodigo(bloques);
+			long unionNs = System.nanoTime() - inicioUnion;
+			CARGA_UNION_CONEXIONES.registrar(unionNs);
+
+			// Etapa 3: arcos entre los vértices de un mismo punto de aterrizaje
+			long inicioInterconexion = System.nanoTime();
+			construirGrafoConexiones();
+			long interconexionNs = System.nanoTime() - inicioInterconexion;
+			CARGA_INTERCONEXION.registrar(interconexionNs);
+			CARGA_CSV.registrarDesde(inicio);
+
+			reporteCarga = "Tiempos de carga (ms):"
+					+ "\n  Países: " + paisesNs / 1000000
+					+ "\n  Puntos de aterrizaje: " + puntosNs / 1000000
+					+ "\n  Lectura de conexiones (" + bloques.size() + " bloques): " + lecturaNs / 1000000
+					+ "\n  Unión de conexiones al grafo: " + unionNs / 1000000
+					+ "\n  Conexiones entre cables del mismo punto: " + interconexionNs / 1000000
+					+ "\n  Total: " + (System.nanoTime() - inicio) / 1000000;
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Envuelve una etapa de carga para que retorne su duración en ns
+	 */
+	private static Callable<Long> medir(Callable<Void> etapa) {
+		return () -> {
+			long inicio = System.nanoTime();
+			etapa.call();
+			return System.nanoTime() - inicio;
+		};
+	}
+
+	/**
+	 * Espera el resultado de una tarea de carga y relanza como IOException lo que haya fallado en ella
+	 */
+	private static <T> T esperar(Future<T> tarea) throws IOException {
+		try {
+			return tarea.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Carga interrumpida", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			throw new IOException(e.getCause());
+		}
 	}
 
 	/**
@@ -54,7 +236,7 @@ public class Modelo {
 			for (CSVRecord record : CSVFormat.RFC4180.withHeader().parse(reader)) {
 				if (!record.get(0).isEmpty()) {
 					Country pais = crearPaisDesdeCSV(record);
-					grafo.insertVertex(pais.getCapitalName(), pais);
+					grafo.insertVertex(diccionario.idCapital(pais.getCapitalName()), pais);
 					paises.put(pais.getCountryName(), pais);
 				}
 			}
@@ -66,6 +248,7 @@ public class Modelo {
 	 */
 	private Country crearPaisDesdeCSV(CSVRecord record) {
 		return new Country(
+				atributosPaises,
 				record.get(0), // countryName
 				record.get(1), // capitalName
 				Double.parseDouble(record.get(2)), // latitude
@@ -95,6 +278,7 @@ public class Modelo {
 	private Landing crearLandingDesdeCSV(CSVRecord record) {
 		String[] nombreInfo = record.get(2).split(", ");
 		return new Landing(
+				atributosLandings,
 				record.get(0), // landingId
 				record.get(1), // id
 				nombreInfo[0], // name
@@ -105,96 +289,185 @@ public class Modelo {
 	}
 
 	/**
-	 * Carga las conexiones desde el archivo CSV
+	 * Mapea connections.csv en memoria y lo parte en bloques de filas completas (los cortes se hacen en saltos de
+	 * línea que no estén entre comillas). Cada bloque se procesa en el pool: lectura de los campos, búsqueda de
+	 * los puntos y cálculo de las distancias. Retorna las conexiones de cada bloque en el orden del archivo.
 	 */
-	private void cargarConexiones() throws IOException {
-		try (FileReader reader = new FileReader(CONNECTIONS_FILE)) {
-			for (CSVRecord record : CSVFormat.RFC4180.withHeader().parse(reader)) {
-				procesarConexion(
-						record.get(0), // origin
-						record.get(1), // destination
-						record.get(3)  // cableId
-				);
+	private List<List<ConexionLeida>> leerConexiones(ExecutorService pool) throws IOException {
+		try (LectorCSVMapeado lector = new LectorCSVMapeado(CONNECTIONS_FILE)) {
+			int inicio = lector.siguienteFila(0); // encabezado
+
+			List<Future<List<ConexionLeida>>> tareas = new ArrayList<>();
+			while (inicio < lector.size()) {
+				int fin = inicio;
+				for (int filas = 0; filas < CONEXIONES_POR_BLOQUE && fin < lector.size(); filas++) {
+					fin = lector.siguienteFila(fin);
+				}
+				final int desde = inicio;
+				final int hasta = fin;
+				tareas.add(pool.submit(() -> leerBloqueConexiones(lector, desde, hasta)));
+				inicio = fin;
+			}
+
+			List<List<ConexionLeida>> bloques = new ArrayList<>(tareas.size());
+			for (Future<List<ConexionLeida>> tarea : tareas) {
+				bloques.add(esperar(tarea));
 			}
+			return bloques;
 		}
 	}
 
 	/**
-	 * Procesa una conexión entre dos puntos
+	 * Procesa las filas entre desde y hasta. Solo se usan las columnas origin (0), destination (1) y
+	 * cable_id (3); de ellas solo cable_id se convierte en String.
 	 */
-	private void procesarConexion(String origin, String destination, String cableId) {
-		Landing landing1 = points.get(origin);
-		Landing landing2 = points.get(destination);
+	private List<ConexionLeida> leerBloqueConexiones(LectorCSVMapeado lector, int desde, int hasta) {
+		List<ConexionLeida> conexiones = new ArrayList<>();
+		LectorCSVMapeado.Fila fila = lector.nuevaFila(4);
+		int posicion = desde;
+		while (posicion < hasta) {
+			posicion = fila.leer(posicion);
+			if (fila.numCampos() < 4) {
+				continue;
+			}
+			Landing landing1 = buscarLanding(fila, 0);
+			Landing landing2 = buscarLanding(fila, 1);
+			if (landing1 != null && landing2 != null) {
+				conexiones.add(new ConexionLeida(landing1, landing2, fila.texto(3)));
+			}
+		}
+		return conexiones;
+	}
 
-		if (landing1 != null && landing2 != null) {
-			String vertexId1 = landing1.getLandingId() + cableId;
-			String vertexId2 = landing2.getLandingId() + cableId;
+	/**
+	 * Punto de aterrizaje cuyo id está en el campo dado: por posición en landingsPorId si el id es numérico
+	 * y si no, por la tabla de puntos
+	 */
+	private Landing buscarLanding(LectorCSVMapeado.Fila fila, int campo) {
+		if (landingsPorId != null && fila.esEntero(campo)) {
+			long id = fila.entero(campo);
+			return id < landingsPorId.length ? landingsPorId[(int) id] : null;
+		}
+		return points.get(fila.texto(campo));
+	}
 
-			agregarVerticesYConexiones(landing1, landing2, vertexId1, vertexId2);
-			actualizarTablasIndice(landing1, landing2, vertexId1, vertexId2);
+	/**
+	 * Arreglo de puntos de aterrizaje indexado por id. Solo se arma si todos los ids son enteros sin ceros a la
+	 * izquierda y no muy dispersos; si no, retorna null y las búsquedas van por la tabla de puntos.
+	 */
+	private Landing[] indexarLandingsPorId() {
+		ILista<Landing> lista = points.valueSet();
+		int maximo = -1;
+		try {
+			for (int i = 1; i <= lista.size(); i++) {
+				String id = lista.getElement(i).getLandingId();
+				int valor;
+				try {
+					valor = Integer.parseInt(id);
+				} catch (NumberFormatException e) {
+					return null;
+				}
+				if (valor < 0 || !id.equals(Integer.toString(valor)) || valor > 16 * lista.size() + 1024) {
+					return null;
+				}
+				maximo = Math.max(maximo, valor);
+			}
+			Landing[] indice = new Landing[maximo + 1];
+			for (int i = 1; i <= lista.size(); i++) {
+				Landing landing = lista.getElement(i);
+				indice[Integer.parseInt(landing.getLandingId())] = landing;
+			}
+			return indice;
+		} catch (PosException | VacioException e) {
+			e.printStackTrace();
 		}
+		return null;
+	}
+
+	/**
+	 * Agrega al grafo una conexión ya procesada y actualiza las tablas de índice. Aquí (en orden) se asignan
+	 * los ids de los vértices, así que salen iguales en cada carga.
+	 */
+	private void agregarConexion(ConexionLeida conexion) {
+		int vertice1 = diccionario.idVertice(conexion.landing1.getLandingId(), conexion.cableId);
+		int vertice2 = diccionario.idVertice(conexion.landing2.getLandingId(), conexion.cableId);
+		agregarVerticesYConexiones(conexion, vertice1, vertice2);
+		actualizarTablasIndice(conexion.landing1, conexion.landing2, vertice1, vertice2);
 	}
 
 	/**
 	 * Agrega vértices y conexiones al grafo
 	 */
-	private void agregarVerticesYConexiones(Landing landing1, Landing landing2,
-											String vertexId1, String vertexId2) {
-		grafo.insertVertex(vertexId1, landing1);
-		grafo.insertVertex(vertexId2, landing2);
+	private void agregarVerticesYConexiones(ConexionLeida conexion, int vertice1, int vertice2) {
+		grafo.insertVertex(vertice1, conexion.landing1);
+		grafo.insertVertex(vertice2, conexion.landing2);
 
-		conectarPaisConLanding(landing1, vertexId1);
-		conectarPaisConLanding(landing2, vertexId2);
+		conectarPaisConLanding(conexion.capital1, conexion.distanciaPais1, vertice1);
+		conectarPaisConLanding(conexion.capital2, conexion.distanciaPais2, vertice2);
 
 		// Conexión entre landings
-		grafo.addEdge(vertexId1, vertexId2, calcularDistancia(
-				landing1.getLongitude(), landing1.getLatitude(),
-				landing2.getLongitude(), landing2.getLatitude()
-		));
+		grafo.addEdge(vertice1, vertice2, conexion.distancia);
 	}
 
 	/**
-	 * Conecta un país con su punto de aterrizaje
+	 * Conecta la capital de un país con su punto de aterrizaje en los dos sentidos (los arcos son dirigidos y
+	 * sin el de vuelta ninguna ruta podría terminar en una capital)
 	 */
-	private void conectarPaisConLanding(Landing landing, String vertexId) {
-		Country pais = obtenerPaisPorNombre(landing.getPais());
-		if (pais != null) {
-			float distancia = calcularDistancia(
-					pais.getLongitude(), pais.getLatitude(),
-					landing.getLongitude(), landing.getLatitude()
-			);
-			grafo.addEdge(pais.getCapitalName(), vertexId, distancia);
+	private void conectarPaisConLanding(int capital, float distancia, int vertice) {
+		if (capital >= 0) {
+			grafo.addEdge(capital, vertice, distancia);
+			grafo.addEdge(vertice, capital, distancia);
 		}
 	}
 
 	/**
 	 * Actualiza las tablas de índice con la nueva conexión
 	 */
-	private void actualizarTablasIndice(Landing landing1, Landing landing2,
-										String vertexId1, String vertexId2) {
-		Vertex vertex1 = grafo.getVertex(vertexId1);
-		Vertex vertex2 = grafo.getVertex(vertexId2);
+	private void actualizarTablasIndice(Landing landing1, Landing landing2, int vertice1, int vertice2) {
+		Vertex vertex1 = grafo.getVertex(vertice1);
+		Vertex vertex2 = grafo.getVertex(vertice2);
 
 		actualizarTablaLandingId(landing1.getLandingId(), vertex1);
 		actualizarTablaLandingId(landing2.getLandingId(), vertex2);
+	}
 
-		nombreCodigo.put(landing1.getName(), landing1.getLandingId());
-		nombreCodigo.put(landing2.getName(), landing2.getLandingId());
+	/**
+	 * Llena la tabla nombre -> landingId una sola vez por punto de aterrizaje (el nombre se decodifica una vez y
+	 * no en cada fila). Se recorren las conexiones de atrás hacia adelante para que, si dos puntos tienen el
+	 * mismo nombre, quede el de la última fila que lo menciona, como cuando se escribía en cada fila.
+	 */
+	private void llenarNombreCodigo(List<List<ConexionLeida>> bloques) {
+		Set<Landing> vistos = new HashSet<>();
+		for (int b = bloques.size() - 1; b >= 0; b--) {
+			List<ConexionLeida> bloque = bloques.get(b);
+			for (int i = bloque.size() - 1; i >= 0; i--) {
+				agregarNombre(bloque.get(i).landing2, vistos);
+				agregarNombre(bloque.get(i).landing1, vistos);
+			}
+		}
+	}
+
+	private void agregarNombre(Landing landing, Set<Landing> vistos) {
+		if (vistos.add(landing)) {
+			String nombre = landing.getName();
+			if (!nombreCodigo.contains(nombre)) {
+				nombreCodigo.put(nombre, landing.getLandingId());
+			}
+		}
 	}
 
 	/**
 	 * Actualiza la tabla de ID de landing points
 	 */
 	private void actualizarTablaLandingId(String landingId, Vertex vertex) {
-		ILista<Vertex> vertices = (ILista<Vertex>) landingIdTabla.get(landingId);
-		if (vertices == null) {
-			vertices = new ArregloDinamico<>(1);
-			landingIdTabla.put(landingId, vertices);
-		}
-		try {
-			vertices.insertElement(vertex, vertices.size() + 1);
-		} catch (PosException | NullException e) {
-			e.printStackTrace();
+		ILista<Vertex> vertices = landingIdTabla.computeIfAbsent(landingId, llave -> new ArregloDinamico<>(1));
+		// La lista es compartida por todos los hilos que procesen conexiones del mismo landing
+		synchronized (vertices) {
+			try {
+				vertices.insertElement(vertex, vertices.size() + 1);
+			} catch (PosException | NullException e) {
+				e.printStackTrace();
+			}
 		}
 	}
 
@@ -202,16 +475,10 @@ public class Modelo {
 	 * Construye las conexiones adicionales en el grafo
 	 */
 	private void construirGrafoConexiones() {
-		try {
-			ILista<ILista<Vertex>> valores = landingIdTabla.valueSet();
-			for (int i = 1; i <= valores.size(); i++) {
-				ILista<Vertex> listaVertices = valores.getElement(i);
-				if (listaVertices != null && listaVertices.size() > 1) {
-					conectarVerticesEntreSi(listaVertices);
-				}
+		for (ILista<Vertex> listaVertices : landingIdTabla.valueSet()) {
+			if (listaVertices != null && listaVertices.size() > 1) {
+				conectarVerticesEntreSi(listaVertices);
 			}
-		} catch (PosException | VacioException e) {
-			e.printStackTrace();
 		}
 	}
 
@@ -246,23 +513,534 @@ public class Modelo {
 	 * Calcula la distancia entre dos puntos usando la fórmula de Haversine
 	 */
 	private static float calcularDistancia(double lon1, double lat1, double lon2, double lat2) {
-		double dLat = Math.toRadians(lat2 - lat1);
-		double dLon = Math.toRadians(lon2 - lon1);
+		return Punto.distancia(lon1, lat1, lon2, lat2);
+	}
 
-		lat1 = Math.toRadians(lat1);
-		lat2 = Math.toRadians(lat2);
+	/**
+	 * Prepara el grafo para rutas repetidas con jerarquías de contracción. Reutiliza la jerarquía guardada
+	 * en disco si corresponde al grafo cargado; si no, la construye y la guarda. Desde aquí req3 usa la
+	 * jerarquía. Se llama antes de empezar a atender consultas. Retorna el reporte del preprocesamiento.
+	 */
+	public String prepararJerarquiaContracciones() {
+		GrafoCSR csr = grafo.freeze();
+		JerarquiaContracciones jerarquia;
+		try {
+			jerarquia = JerarquiaContracciones.cargar(csr, CONTRACTION_FILE);
+		} catch (IOException e) {
+			jerarquia = JerarquiaContracciones.construir(csr);
+			try {
+				jerarquia.guardar(CONTRACTION_FILE);
+			} catch (IOException e2) {
+				e2.printStackTrace();
+			}
+		}
+		grafo.setContractionHierarchy(jerarquia);
+		usarJerarquia = true;
+		return jerarquia.toString();
+	}
 
-		double a = Math.sin(dLat/2) * Math.sin(dLat/2) +
-				Math.cos(lat1) * Math.cos(lat2) *
-						Math.sin(dLon/2) * Math.sin(dLon/2);
+	/**
+	 * Matriz de distancias mínimas entre todas las capitales; se calcula en paralelo la primera vez
+	 * que se pide después de cada carga de datos. Varios hilos pueden pedirla a la vez (lotes, servicio HTTP):
+	 * solo uno la calcula y los demás esperan ese resultado.
+	 */
+	public MatrizDistancias<Integer, ?> getMatrizCapitales() {
+		MatrizDistancias<Integer, ?> matriz = matrizCapitales;
+		if (matriz == null) {
+			synchronized (this) {
+				matriz = matrizCapitales;
+				if (matriz == null) {
+					matriz = calcularMatrizCapitales();
+					matrizCapitales = matriz;
+				}
+			}
+		}
+		return matriz;
+	}
 
-		double c = 2 * Math.asin(Math.min(1.0, Math.sqrt(a)));
+	private MatrizDistancias<Integer, ?> calcularMatrizCapitales() {
+		ILista<Country> listaPaises = paises.valueSet();
+		Integer[] capitales = new Integer[listaPaises.size()];
+		try {
+			for (int i = 1; i <= listaPaises.size(); i++) {
+				capitales[i - 1] = diccionario.buscarCapital(listaPaises.getElement(i).getCapitalName());
+			}
+		} catch (PosException | VacioException e) {
+			e.printStackTrace();
+		}
+		return new MatrizDistancias<>(grafo.freeze(), capitales);
+	}
+
+	/**
+	 * Distancia mínima entre las capitales de dos países usando la matriz precalculada
+	 */
+	public float distanciaEntreCapitales(String pais1, String pais2) {
+		Country origen = obtenerPaisPorNombre(pais1);
+		Country destino = obtenerPaisPorNombre(pais2);
+		if (origen == null || destino == null) {
+			return Float.POSITIVE_INFINITY;
+		}
+		return getMatrizCapitales().distance(diccionario.buscarCapital(origen.getCapitalName()),
+				diccionario.buscarCapital(destino.getCapitalName()));
+	}
+
+	/**
+	 * Distancia mínima entre las capitales de dos países, como texto
+	 */
+	public String distanciaCapitalesString(String pais1, String pais2) {
+		if (obtenerPaisPorNombre(pais1) == null || obtenerPaisPorNombre(pais2) == null) {
+			return "No se encontró alguno de los países ingresados";
+		}
+		float distancia = distanciaEntreCapitales(pais1, pais2);
+		if (distancia == Float.POSITIVE_INFINITY) {
+			return "No hay ruta entre " + pais1 + " y " + pais2;
+		}
+		return "Distancia mínima entre las capitales de " + pais1 + " y " + pais2 + ": " + distancia + " km";
+	}
+
+	/**
+	 * Guarda la matriz de distancias entre capitales en CSV, con el nombre de cada capital como encabezado
+	 */
+	public void exportarMatrizCapitales(String ruta) throws IOException {
+		getMatrizCapitales().exportarCSV(ruta, diccionario::capitalDe);
+	}
 
-		return (float) (EARTH_RADIUS_KM * c);
+	// Requerimientos
+
+	/**
+	 * Cantidad de componentes fuertemente conexas y si dos puntos de aterrizaje (por nombre) están en la misma
+	 */
+	public String req1String(String punto1, String punto2) {
+		return cacheConsultas.obtener(new LlaveConsulta("componentes", punto1, punto2), grafo.getVersion(),
+				() -> calcularReq1(punto1, punto2));
+	}
+
+	private String calcularReq1(String punto1, String punto2) {
+		GrafoCSR csr = grafo.freeze();
+		int[] componentes = csr.componentesFuertes();
+		String respuesta = "Cantidad de componentes conectados: " + csr.numComponentesFuertes();
+
+		Vertex vertice1 = primerVerticeDeLanding(punto1);
+		Vertex vertice2 = primerVerticeDeLanding(punto2);
+		if (vertice1 == null || vertice2 == null) {
+			return respuesta + "\nNo se encontró alguno de los puntos de conexión";
+		}
+		boolean mismoComponente = componentes[csr.idOf(vertice1.getId())] == componentes[csr.idOf(vertice2.getId())];
+		return respuesta + "\n" + punto1 + " y " + punto2 + (mismoComponente ? " están" : " no están")
+				+ " en el mismo componente";
+	}
+
+	/**
+	 * Ruta mínima entre dos puntos de aterrizaje (por nombre): puede salir por cualquiera de los cables del
+	 * primero y llegar por cualquiera de los del segundo
+	 */
+	public String rutaEntrePuntosString(String punto1, String punto2) {
+		return cacheConsultas.obtener(new LlaveConsulta("rutaPuntos", punto1, punto2), grafo.getVersion(),
+				() -> calcularRutaEntrePuntos(punto1, punto2));
+	}
+
+	private String calcularRutaEntrePuntos(String punto1, String punto2) {
+		Integer[] origenes = verticesDeLanding(punto1);
+		Integer[] destinos = verticesDeLanding(punto2);
+		if (origenes.length == 0 || destinos.length == 0) {
+			return "No se encontró alguno de los puntos de conexión";
+		}
+		if (nombreCodigo.get(punto1).equals(nombreCodigo.get(punto2))) {
+			return "Ruta entre " + punto1 + " y " + punto2 + ":\nDistancia total: 0.0 km";
+		}
+		PilaEncadenada<Edge> ruta = grafo.shortestPath(origenes, destinos);
+		return describirRuta(ruta, punto1, punto2);
+	}
+
+	/**
+	 * Ids de los vértices (landing + cable) de un punto de aterrizaje dado su nombre; vacío si no tiene
+	 */
+	private Integer[] verticesDeLanding(String nombre) {
+		String landingId = nombreCodigo.get(nombre);
+		ILista<Vertex> vertices = landingId != null ? landingIdTabla.get(landingId) : null;
+		if (vertices == null) {
+			return new Integer[0];
+		}
+		Integer[] ids = new Integer[vertices.size()];
+		try {
+			for (int i = 1; i <= vertices.size(); i++) {
+				ids[i - 1] = (Integer) vertices.getElement(i).getId();
+			}
+		} catch (PosException | VacioException e) {
+			e.printStackTrace();
+		}
+		return ids;
+	}
+
+	/**
+	 * Primer vértice (landing + cable) asociado a un punto de aterrizaje dado su nombre
+	 */
+	private Vertex primerVerticeDeLanding(String nombre) {
+		String landingId = nombreCodigo.get(nombre);
+		ILista<Vertex> vertices = landingId != null ? landingIdTabla.get(landingId) : null;
+		if (vertices == null || vertices.isEmpty()) {
+			return null;
+		}
+		try {
+			return vertices.getElement(1);
+		} catch (PosException | VacioException e) {
+			e.printStackTrace();
+		}
+		return null;
+	}
+
+	/**
+	 * Red de expansión mínima del grafo (Borůvka en paralelo; elige los mismos arcos que Kruskal): cantidad de
+	 * arcos, costo total y cantidad de componentes
+	 */
+	public String req4String() {
+		BosqueExpansionMinima bosque = grafo.freeze().mstBoruvka();
+		return "Arcos en la red de expansión mínima: " + bosque.numEdges()
+				+ "\nCosto total: " + bosque.getTotalWeight() + " km"
+				+ "\nComponentes (árboles) del bosque: " + bosque.getComponents();
+	}
+
+	/**
+	 * Fallas en conexión: indica si el punto de aterrizaje es crítico (su falla, con todos sus cables, desconecta
+	 * la red) y, si lo es, qué países quedan separados del resto
+	 */
+	public String req5String(String nombreLanding) {
+		String landingId = nombreCodigo.get(nombreLanding);
+		Landing landing = landingId != null ? points.get(landingId) : null;
+		if (landing == null) {
+			return "No se encontró el punto de conexión " + nombreLanding;
+		}
+		Vertex primero = primerVerticeDeLanding(nombreLanding);
+		if (primero == null) {
+			return nombreLanding + " no es un punto crítico de la red";
+		}
+		GrafoCSR csr = grafo.freeze();
+		int[] grupo = new int[csr.numVertices()];
+		int numGrupos = agruparPorLanding(csr, grupo);
+		int grupoLanding = grupo[csr.idOf(primero.getId())];
+		if (!csr.articulationPoints(grupo, numGrupos).isArticulationPoint(grupoLanding)) {
+			return nombreLanding + " no es un punto crítico de la red";
+		}
+
+		Set<String> afectados = paisesDesconectados(csr, grupo, grupoLanding);
+		return nombreLanding + " es un punto crítico de la red"
+				+ "\nPaíses que quedan desconectados si falla (" + afectados.size() + "): " + String.join(", ", afectados);
+	}
+
+	/**
+	 * Países con algún vértice que queda separado de la red al quitar el grupo dado: de las componentes que
+	 * tocaban al grupo, la más grande sigue siendo la red y las demás quedan desconectadas
+	 */
+	private static Set<String> paisesDesconectados(GrafoCSR csr, int[] grupo, int grupoFalla) {
+		int n = csr.numVertices();
+		boolean[] fuera = new boolean[n];
+		for (int v = 0; v < n; v++) {
+			fuera[v] = grupo[v] == grupoFalla;
+		}
+		int[] componente = csr.connectedComponents(fuera);
+		int[] tamano = new int[n];
+		for (int v = 0; v < n; v++) {
+			if (componente[v] >= 0) {
+				tamano[componente[v]]++;
+			}
+		}
+		boolean[] vecina = new boolean[n];
+		for (int u = 0; u < n; u++) {
+			for (int e = csr.firstEdge(u); e < csr.firstEdge(u + 1); e++) {
+				int w = csr.target(e);
+				if (fuera[u] != fuera[w]) {
+					vecina[componente[fuera[u] ? w : u]] = true;
+				}
+			}
+		}
+		int red = -1;
+		for (int c = 0; c < n; c++) {
+			if (vecina[c] && (red == -1 || tamano[c] > tamano[red])) {
+				red = c;
+			}
+		}
+
+		Set<String> afectados = new TreeSet<>();
+		for (int v = 0; v < n; v++) {
+			if (componente[v] >= 0 && componente[v] != red && vecina[componente[v]]) {
+				afectados.add(paisDe(csr.valueOf(v)));
+			}
+		}
+		return afectados;
+	}
+
+	/**
+	 * Grupo de cada vértice: los vértices landing + cable de un mismo punto de aterrizaje comparten grupo y cada
+	 * capital tiene el suyo. Retorna la cantidad de grupos.
+	 */
+	private static int agruparPorLanding(GrafoCSR csr, int[] grupo) {
+		Map<String, Integer> grupos = new HashMap<>();
+		int numGrupos = 0;
+		for (int v = 0; v < grupo.length; v++) {
+			Object info = csr.valueOf(v);
+			if (info instanceof Landing) {
+				Integer g = grupos.get(((Landing) info).getLandingId());
+				if (g == null) {
+					g = numGrupos++;
+					grupos.put(((Landing) info).getLandingId(), g);
+				}
+				grupo[v] = g;
+			} else {
+				grupo[v] = numGrupos++;
+			}
+		}
+		return numGrupos;
+	}
+
+	/**
+	 * Reporte de todos los puntos de aterrizaje y cables críticos de la red, con los países de cada uno,
+	 * calculado en una sola pasada sobre el grafo (cada punto de aterrizaje cuenta como un solo vértice)
+	 */
+	public String reporteFallas() {
+		GrafoCSR csr = grafo.freeze();
+		int[] grupo = new int[csr.numVertices()];
+		int numGrupos = agruparPorLanding(csr, grupo);
+		PuntosCriticos criticos = csr.articulationPoints(grupo, numGrupos);
+
+		Set<String> landingsCriticos = new TreeSet<>();
+		boolean[] listado = new boolean[numGrupos];
+		for (int v = 0; v < grupo.length; v++) {
+			if (criticos.isArticulationPoint(grupo[v]) && !listado[grupo[v]]) {
+				listado[grupo[v]] = true;
+				landingsCriticos.add(nombreVertice(csr, v) + " (" + paisDe(csr.valueOf(v)) + ")");
+			}
+		}
+		Set<String> cablesCriticos = new TreeSet<>();
+		for (int i = 0; i < criticos.numBridges(); i++) {
+			int u = criticos.bridgeSource(i);
+			int v = criticos.bridgeTarget(i);
+			cablesCriticos.add(cableDe(csr, u, v) + ": " + nombreVertice(csr, u) + " (" + paisDe(csr.valueOf(u)) + ") - "
+					+ nombreVertice(csr, v) + " (" + paisDe(csr.valueOf(v)) + ")");
+		}
+
+		StringBuilder respuesta = new StringBuilder();
+		respuesta.append("Puntos críticos: ").append(landingsCriticos.size());
+		for (String landing : landingsCriticos) {
+			respuesta.append("\n  ").append(landing);
+		}
+		respuesta.append("\nConexiones críticas: ").append(cablesCriticos.size());
+		for (String cable : cablesCriticos) {
+			respuesta.append("\n  ").append(cable);
+		}
+		return respuesta.toString();
+	}
+
+	/**
+	 * País al que pertenece el valor de un vértice (punto de aterrizaje o capital)
+	 */
+	private static String paisDe(Object info) {
+		if (info instanceof Landing) {
+			return ((Landing) info).getPais();
+		}
+		return info instanceof Country ? ((Country) info).getCountryName() : "";
+	}
+
+	private String nombreVertice(GrafoCSR csr, int v) {
+		Object info = csr.valueOf(v);
+		if (info instanceof Landing) {
+			return ((Landing) info).getName();
+		}
+		return info instanceof Country ? ((Country) info).getCapitalName() : diccionario.llave((Integer) csr.keyOf(v));
+	}
+
+	/**
+	 * Cable de una conexión entre dos vértices, según el diccionario de ids
+	 */
+	private String cableDe(GrafoCSR csr, int u, int v) {
+		for (int x : new int[] { u, v }) {
+			String cable = diccionario.cableDe((Integer) csr.keyOf(x));
+			if (cable != null && !cable.isEmpty()) {
+				return "Cable " + cable;
+			}
+		}
+		return "Conexión";
+	}
+
+	/**
+	 * Ruta mínima entre las capitales de dos países
+	 */
+	public String req3String(String pais1, String pais2) {
+		boolean jerarquia = usarJerarquia;
+		return cacheConsultas.obtener(new LlaveConsulta(jerarquia ? "jerarquia" : "bidireccional", pais1, pais2),
+				grafo.getVersion(), () -> calcularReq3(pais1, pais2, jerarquia));
+	}
+
+	private String calcularReq3(String pais1, String pais2, boolean jerarquia) {
+		Country origen = obtenerPaisPorNombre(pais1);
+		Country destino = obtenerPaisPorNombre(pais2);
+		if (origen == null || destino == null) {
+			return "No se encontró alguno de los países ingresados";
+		}
+
+		int capitalOrigen = diccionario.buscarCapital(origen.getCapitalName());
+		int capitalDestino = diccionario.buscarCapital(destino.getCapitalName());
+		PilaEncadenada<Edge> ruta = jerarquia ? grafo.shortestPathCH(capitalOrigen, capitalDestino)
+				: grafo.shortestPathBidirectional(capitalOrigen, capitalDestino);
+		return describirRuta(ruta, pais1, pais2);
+	}
+
+	/**
+	 * Distancia mínima desde la capital de un país a las capitales de todos los demás a las que se puede llegar,
+	 * de la más cercana a la más lejana. Sale de un solo árbol de caminos mínimos, que el grafo guarda para las
+	 * siguientes consultas desde el mismo país.
+	 */
+	public String distanciasDesdeString(String pais) {
+		Country origen = obtenerPaisPorNombre(pais);
+		if (origen == null) {
+			return "No se encontró el país " + pais;
+		}
+		GrafoCSR csr = grafo.freeze();
+		ArbolCaminosMinimos arbol = grafo.shortestPathTree(diccionario.buscarCapital(origen.getCapitalName()));
+		if (arbol == null) {
+			return "La capital de " + pais + " no está en el grafo";
+		}
+		List<Country> alcanzables = new ArrayList<>();
+		List<Float> distancias = new ArrayList<>();
+		ILista<Country> listaPaises = paises.valueSet();
+		try {
+			for (int i = 1; i <= listaPaises.size(); i++) {
+				Country destino = listaPaises.getElement(i);
+				int id = csr.idOf(diccionario.buscarCapital(destino.getCapitalName()));
+				if (destino != origen && id >= 0 && arbol.hasPathTo(id)) {
+					alcanzables.add(destino);
+					distancias.add(arbol.distTo(id));
+				}
+			}
+		} catch (PosException | VacioException e) {
+			e.printStackTrace();
+		}
+		Integer[] orden = new Integer[alcanzables.size()];
+		for (int i = 0; i < orden.length; i++) {
+			orden[i] = i;
+		}
+		Arrays.sort(orden, Comparator.comparing(distancias::get));
+		StringBuilder respuesta = new StringBuilder("Capitales alcanzables desde " + origen.getCapitalName() + ": "
+				+ orden.length);
+		for (int i : orden) {
+			respuesta.append("\n").append(alcanzables.get(i).getCapitalName()).append(" (")
+					.append(alcanzables.get(i).getCountryName()).append("): ").append(distancias.get(i)).append(" km");
+		}
+		return respuesta.toString();
+	}
+
+	/**
+	 * Construye la descripción de una ruta con la distancia de cada tramo y el total
+	 */
+	private String describirRuta(PilaEncadenada<Edge> ruta, String nombreOrigen, String nombreDestino) {
+		if (ruta.isEmpty()) {
+			return "No hay ruta entre " + nombreOrigen + " y " + nombreDestino;
+		}
+		StringBuilder respuesta = new StringBuilder("Ruta entre " + nombreOrigen + " y " + nombreDestino + ":");
+		float distanciaTotal = 0;
+		while (!ruta.isEmpty()) {
+			Edge arco = ruta.pop();
+			distanciaTotal += arco.getWeight();
+			respuesta.append("\n").append(nombreVertice(arco.getSource()))
+					.append(" -> ").append(nombreVertice(arco.getDestination()))
+					.append(": ").append(arco.getWeight()).append(" km");
+		}
+		respuesta.append("\nDistancia total: ").append(distanciaTotal).append(" km");
+		return respuesta.toString();
+	}
+
+	/**
+	 * Nombre legible de un vértice: la capital si es un país o el nombre del punto de aterrizaje
+	 */
+	private String nombreVertice(Vertex vertice) {
+		Object info = vertice.getInfo();
+		if (info instanceof Country) {
+			return ((Country) info).getCapitalName();
+		}
+		if (info instanceof Landing) {
+			return ((Landing) info).getName();
+		}
+		return diccionario.llave((Integer) vertice.getId());
+	}
+
+	/**
+	 * Conexión leída del CSV con todo lo que se puede calcular sin tocar el grafo: cable, capitales y distancias
+	 */
+	private class ConexionLeida {
+		final Landing landing1;
+		final Landing landing2;
+		final String cableId;
+		final float distancia;
+		final int capital1;
+		final int capital2;
+		final float distanciaPais1;
+		final float distanciaPais2;
+
+		ConexionLeida(Landing landing1, Landing landing2, String cableId) {
+			this.landing1 = landing1;
+			this.landing2 = landing2;
+			this.cableId = cableId;
+			this.distancia = calcularDistancia(landing1.getLongitude(), landing1.getLatitude(),
+					landing2.getLongitude(), landing2.getLatitude());
+			Country pais1 = obtenerPaisPorNombre(landing1.getPais());
+			Country pais2 = obtenerPaisPorNombre(landing2.getPais());
+			this.capital1 = pais1 == null ? -1 : diccionario.buscarCapital(pais1.getCapitalName());
+			this.capital2 = pais2 == null ? -1 : diccionario.buscarCapital(pais2.getCapitalName());
+			this.distanciaPais1 = distanciaAPais(pais1, landing1);
+			this.distanciaPais2 = distanciaAPais(pais2, landing2);
+		}
+
+		private float distanciaAPais(Country pais, Landing landing) {
+			return pais == null ? 0 : calcularDistancia(pais.getLongitude(), pais.getLatitude(),
+					landing.getLongitude(), landing.getLatitude());
+		}
+	}
+
+	/**
+	 * Llave de la caché de consultas: algoritmo usado y nombres de origen y destino
+	 */
+	private static final class LlaveConsulta {
+		private final String algoritmo;
+		private final String origen;
+		private final String destino;
+
+		private LlaveConsulta(String algoritmo, String origen, String destino) {
+			this.algoritmo = algoritmo;
+			this.origen = origen;
+			this.destino = destino;
+		}
+
+		@Override
+		public boolean equals(Object otro) {
+			if (!(otro instanceof LlaveConsulta)) {
+				return false;
+			}
+			LlaveConsulta llave = (LlaveConsulta) otro;
+			return algoritmo.equals(llave.algoritmo) && Objects.equals(origen, llave.origen)
+					&& Objects.equals(destino, llave.destino);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(algoritmo, origen, destino);
+		}
 	}
 
 	// Métodos de acceso y consulta
 
+	/**
+	 * Aciertos, fallos y expulsiones de la caché de consultas y de la de árboles de caminos mínimos
+	 */
+	public String getEstadisticasCache() {
+		return "Consultas. " + cacheConsultas + "\n" + grafo.estadisticasArboles();
+	}
+
+	/**
+	 * Tiempos de cada etapa de la última carga de datos
+	 */
+	public String getReporteCarga() {
+		return reporteCarga;
+	}
+
 	public ITablaSimbolos<String, Country> getPaises() {
 		return paises;
 	}
@@ -0,0 +1,391 @@
+package model.logic;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+import model.data_structures.AlmacenAtributos;
+import model.data_structures.ArregloDinamico;
+import model.data_structures.Country;
+import model.data_structures.DiccionarioVertices;
+import model.data_structures.GrafoCSR;
+import model.data_structures.GrafoListaAdyacencia;
+import model.data_structures.ILista;
+import model.data_structures.ITablaSimbolos;
+import model.data_structures.Landing;
+import model.data_structures.TablaHashConcurrente;
+import model.data_structures.Vertex;
+import model.exceptions.NullException;
+import model.exceptions.PosException;
+import model.exceptions.VacioException;
+
+/**
+ * Imagen binaria del modelo ya construido: países, puntos de aterrizaje, diccionario de vértices, adyacencia en
+ * CSR con sus pesos y las tablas de índice. El encabezado guarda versión, tamaño y fecha de los CSV de origen y un CRC32
+ * del contenido; la lectura mapea el archivo en memoria y no vuelve a parsear CSV ni a calcular distancias.
+ */
+public class SnapshotModelo {
+
+	private static final int MAGIC = 0x534E5031;
+	private static final int VERSION = 2;
+
+	private final Country[] paises;
+	private final Landing[] landings;
+	private final boolean[] entradasCapital;
+	private final String[] entradasTexto;
+	private final String[] entradasCable;
+	private final int[] llaves;
+	private final int[] valores;
+	private final int[] offsets;
+	private final int[] targets;
+	private final float[] weights;
+	private final int[] landingsConVertices;
+	private final int[][] verticesPorLanding;
+	private final String[] nombres;
+	private final String[] codigos;
+
+	private SnapshotModelo(Country[] paises, Landing[] landings, boolean[] entradasCapital, String[] entradasTexto,
+			String[] entradasCable, int[] llaves, int[] valores, int[] offsets, int[] targets, float[] weights,
+			int[] landingsConVertices, int[][] verticesPorLanding, String[] nombres, String[] codigos) {
+		this.paises = paises;
+		this.landings = landings;
+		this.entradasCapital = entradasCapital;
+		this.entradasTexto = entradasTexto;
+		this.entradasCable = entradasCable;
+		this.llaves = llaves;
+		this.valores = valores;
+		this.offsets = offsets;
+		this.targets = targets;
+		this.weights = weights;
+		this.landingsConVertices = landingsConVertices;
+		this.verticesPorLanding = verticesPorLanding;
+		this.nombres = nombres;
+		this.codigos = codigos;
+	}
+
+	/**
+	 * Huella de los archivos de origen (tamaño y fecha de modificación de cada uno); la imagen solo se usa si
+	 * coincide con la guardada
+	 */
+	public static long[] huellaArchivos(String... rutas) {
+		long[] huella = new long[rutas.length * 2];
+		for (int i = 0; i < rutas.length; i++) {
+			File archivo = new File(rutas[i]);
+			huella[2 * i] = archivo.length();
+			huella[2 * i + 1] = archivo.lastModified();
+		}
+		return huella;
+	}
+
+	/**
+	 * Guarda el estado del modelo. Los vértices se escriben en el orden de la vista CSR del grafo. La imagen
+	 * se escribe en un archivo temporal que después reemplaza a ruta, así una falla a mitad de camino no deja
+	 * una imagen incompleta.
+	 */
+	public static void guardar(String ruta, long[] huella, ITablaSimbolos<String, Country> tablaPaises,
+			ITablaSimbolos<String, Landing> tablaPuntos, DiccionarioVertices diccionario, GrafoCSR<Integer, ?> csr,
+			TablaHashConcurrente<String, ILista<Vertex>> landingIdTabla, ITablaSimbolos<String, String> nombreCodigo)
+			throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			Map<Object, Integer> indices = new IdentityHashMap<>();
+			ILista<Country> listaPaises = tablaPaises.valueSet();
+			out.writeInt(listaPaises.size());
+			for (int i = 1; i <= listaPaises.size(); i++) {
+				Country pais = listaPaises.getElement(i);
+				indices.put(pais, -i);
+				escribirTexto(out, pais.getCountryName());
+				escribirTexto(out, pais.getCapitalName());
+				out.writeDouble(pais.getLatitude());
+				out.writeDouble(pais.getLongitude());
+				escribirTexto(out, pais.getCode());
+				escribirTexto(out, pais.getContinentName());
+				out.writeFloat(pais.getPopulation());
+				out.writeDouble(pais.getUsers());
+			}
+			ILista<Landing> listaPuntos = tablaPuntos.valueSet();
+			out.writeInt(listaPuntos.size());
+			for (int i = 1; i <= listaPuntos.size(); i++) {
+				Landing landing = listaPuntos.getElement(i);
+				indices.put(landing, i - 1);
+				escribirTexto(out, landing.getLandingId());
+				escribirTexto(out, landing.getId());
+				escribirTexto(out, landing.getName());
+				escribirTexto(out, landing.getPais());
+				out.writeDouble(landing.getLatitude());
+				out.writeDouble(landing.getLongitude());
+			}
+
+			out.writeInt(diccionario.size());
+			for (int id = 0; id < diccionario.size(); id++) {
+				out.writeBoolean(diccionario.esCapital(id));
+				if (diccionario.esCapital(id)) {
+					escribirTexto(out, diccionario.capitalDe(id));
+				} else {
+					escribirTexto(out, diccionario.landingDe(id));
+					escribirTexto(out, diccionario.cableDe(id));
+				}
+			}
+
+			int n = csr.numVertices();
+			out.writeInt(n);
+			out.writeInt(csr.numEdges());
+			for (int v = 0; v < n; v++) {
+				Integer indiceValor = indices.get(csr.valueOf(v));
+				if (indiceValor == null) {
+					throw new IOException("El vértice " + diccionario.llave(csr.keyOf(v)) + " no pertenece a ningún país o punto");
+				}
+				out.writeInt(csr.keyOf(v));
+				out.writeInt(indiceValor);
+			}
+			for (int v = 0; v <= n; v++) {
+				out.writeInt(csr.firstEdge(v));
+			}
+			for (int e = 0; e < csr.numEdges(); e++) {
+				out.writeInt(csr.target(e));
+				out.writeFloat(csr.weight(e));
+			}
+
+			ILista<String> landingIds = landingIdTabla.keySet();
+			out.writeInt(landingIds.size());
+			for (int i = 1; i <= landingIds.size(); i++) {
+				String landingId = landingIds.getElement(i);
+				ILista<Vertex> vertices = landingIdTabla.get(landingId);
+				Integer indice = indices.get(tablaPuntos.get(landingId));
+				if (indice == null) {
+					throw new IOException("El punto " + landingId + " tiene vértices pero no está en la tabla de puntos");
+				}
+				out.writeInt(indice);
+				out.writeInt(vertices.size());
+				for (int j = 1; j <= vertices.size(); j++) {
+					out.writeInt(csr.idOf((Integer) vertices.getElement(j).getId()));
+				}
+			}
+
+			ILista<String> listaNombres = nombreCodigo.keySet();
+			out.writeInt(listaNombres.size());
+			for (int i = 1; i <= listaNombres.size(); i++) {
+				escribirTexto(out, listaNombres.getElement(i));
+				escribirTexto(out, nombreCodigo.get(listaNombres.getElement(i)));
+			}
+		} catch (PosException | VacioException e) {
+			throw new IOException("No se pudo recorrer el modelo para guardarlo", e);
+		}
+
+		byte[] contenido = bytes.toByteArray();
+		CRC32 crc = new CRC32();
+		crc.update(contenido);
+		Path destino = Paths.get(ruta).toAbsolutePath();
+		Path temporal = Files.createTempFile(destino.getParent(), destino.getFileName().toString(), ".tmp");
+		try {
+			try (DataOutputStream out = new DataOutputStream(new FileOutputStream(temporal.toFile()))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeInt(huella.length);
+				for (long valor : huella) {
+					out.writeLong(valor);
+				}
+				out.writeInt(contenido.length);
+				out.writeLong(crc.getValue());
+				out.write(contenido);
+			}
+			try {
+				Files.move(temporal, destino, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(temporal);
+		}
+	}
+
+	/**
+	 * Lee una imagen guardada con guardar(). Falla si el archivo no existe, es de otra versión, no corresponde
+	 * a la huella de los CSV actuales o su contenido está dañado.
+	 */
+	public static SnapshotModelo cargar(String ruta, long[] huella) throws IOException {
+		try (FileChannel canal = FileChannel.open(Paths.get(ruta), StandardOpenOption.READ)) {
+			if (canal.size() > Integer.MAX_VALUE) {
+				throw new IOException("La imagen " + ruta + " es demasiado grande");
+			}
+			ByteBuffer in = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+			if (in.remaining() < 12 || in.getInt() != MAGIC || in.getInt() != VERSION) {
+				throw new IOException("El archivo " + ruta + " no es una imagen válida del modelo");
+			}
+			int largoHuella = in.getInt();
+			if (largoHuella != huella.length) {
+				throw new IOException("La imagen " + ruta + " fue generada con otros archivos");
+			}
+			for (long valor : huella) {
+				if (in.getLong() != valor) {
+					throw new IOException("Los archivos de datos cambiaron después de generar " + ruta);
+				}
+			}
+			int largo = in.getInt();
+			long esperado = in.getLong();
+			if (largo != in.remaining()) {
+				throw new IOException("La imagen " + ruta + " está incompleta");
+			}
+			CRC32 crc = new CRC32();
+			crc.update(in.duplicate());
+			if (crc.getValue() != esperado) {
+				throw new IOException("La imagen " + ruta + " está dañada");
+			}
+			return leerContenido(in);
+		} catch (RuntimeException e) {
+			throw new IOException("La imagen " + ruta + " no se pudo leer", e);
+		}
+	}
+
+	private static SnapshotModelo leerContenido(ByteBuffer in) throws IOException {
+		Country[] paises = new Country[in.getInt()];
+		AlmacenAtributos atributosPaises = Country.nuevoAlmacen(paises.length);
+		for (int i = 0; i < paises.length; i++) {
+			paises[i] = new Country(atributosPaises, leerTexto(in), leerTexto(in), in.getDouble(), in.getDouble(),
+					leerTexto(in), leerTexto(in), in.getFloat(), in.getDouble());
+		}
+		Landing[] landings = new Landing[in.getInt()];
+		AlmacenAtributos atributosLandings = Landing.nuevoAlmacen(landings.length);
+		for (int i = 0; i < landings.length; i++) {
+			landings[i] = new Landing(atributosLandings, leerTexto(in), leerTexto(in), leerTexto(in), leerTexto(in),
+					in.getDouble(), in.getDouble());
+		}
+
+		boolean[] entradasCapital = new boolean[in.getInt()];
+		String[] entradasTexto = new String[entradasCapital.length];
+		String[] entradasCable = new String[entradasCapital.length];
+		Set<String> entradas = new HashSet<>();
+		for (int id = 0; id < entradasCapital.length; id++) {
+			entradasCapital[id] = in.get() != 0;
+			entradasTexto[id] = leerTexto(in);
+			entradasCable[id] = entradasCapital[id] ? null : leerTexto(in);
+			if (!entradas.add(entradasCapital[id] ? "\0" + entradasTexto[id] : entradasTexto[id] + "\0" + entradasCable[id])) {
+				throw new IOException("La entrada " + id + " del diccionario de vértices está repetida");
+			}
+		}
+
+		int n = in.getInt();
+		int m = in.getInt();
+		int[] llaves = new int[n];
+		int[] valores = new int[n];
+		for (int v = 0; v < n; v++) {
+			llaves[v] = in.getInt();
+			valores[v] = in.getInt();
+		}
+		int[] offsets = new int[n + 1];
+		for (int v = 0; v <= n; v++) {
+			offsets[v] = in.getInt();
+		}
+		int[] targets = new int[m];
+		float[] weights = new float[m];
+		for (int e = 0; e < m; e++) {
+			targets[e] = in.getInt();
+			weights[e] = in.getFloat();
+		}
+
+		int[] landingsConVertices = new int[in.getInt()];
+		int[][] verticesPorLanding = new int[landingsConVertices.length][];
+		for (int i = 0; i < landingsConVertices.length; i++) {
+			landingsConVertices[i] = in.getInt();
+			verticesPorLanding[i] = new int[in.getInt()];
+			for (int j = 0; j < verticesPorLanding[i].length; j++) {
+				verticesPorLanding[i][j] = in.getInt();
+			}
+		}
+
+		String[] nombres = new String[in.getInt()];
+		String[] codigos = new String[nombres.length];
+		for (int i = 0; i < nombres.length; i++) {
+			nombres[i] = leerTexto(in);
+			codigos[i] = leerTexto(in);
+		}
+		return new SnapshotModelo(paises, landings, entradasCapital, entradasTexto, entradasCable, llaves, valores,
+				offsets, targets, weights, landingsConVertices, verticesPorLanding, nombres, codigos);
+	}
+
+	/**
+	 * Llena las estructuras (vacías) del modelo con el contenido de la imagen. El diccionario se llena en el
+	 * mismo orden en que se guardó, así que cada vértice recupera su id. Si el diccionario no está vacío falla
+	 * sin modificar nada, para que se pueda cargar desde los CSV.
+	 */
+	public void restaurar(GrafoListaAdyacencia grafo, ITablaSimbolos<String, Country> tablaPaises,
+			ITablaSimbolos<String, Landing> tablaPuntos, DiccionarioVertices diccionario,
+			TablaHashConcurrente<String, ILista<Vertex>> landingIdTabla, ITablaSimbolos<String, String> nombreCodigo)
+			throws IOException {
+		if (diccionario.size() != 0) {
+			throw new IOException("El diccionario de vértices ya tiene " + diccionario.size() + " entradas");
+		}
+		// Las entradas de la imagen son distintas (lo revisa cargar), así que reciben los ids 0, 1, 2...
+		for (int id = 0; id < entradasCapital.length; id++) {
+			int asignado = entradasCapital[id] ? diccionario.idCapital(entradasTexto[id])
+					: diccionario.idVertice(entradasTexto[id], entradasCable[id]);
+			if (asignado != id) {
+				throw new IOException("El diccionario de vértices no coincide con el de la imagen");
+			}
+		}
+		for (Country pais : paises) {
+			tablaPaises.put(pais.getCountryName(), pais);
+		}
+		for (Landing landing : landings) {
+			tablaPuntos.put(landing.getLandingId(), landing);
+		}
+		for (int v = 0; v < llaves.length; v++) {
+			grafo.insertVertex(llaves[v], valores[v] >= 0 ? landings[valores[v]] : paises[-valores[v] - 1]);
+		}
+		for (int v = 0; v < llaves.length; v++) {
+			for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+				grafo.addEdge(llaves[v], llaves[targets[e]], weights[e]);
+			}
+		}
+		try {
+			for (int i = 0; i < landingsConVertices.length; i++) {
+				ILista<Vertex> vertices = landingIdTabla.computeIfAbsent(landings[landingsConVertices[i]].getLandingId(),
+						llave -> new ArregloDinamico<>(1));
+				for (int v : verticesPorLanding[i]) {
+					vertices.insertElement(grafo.getVertex(llaves[v]), vertices.size() + 1);
+				}
+			}
+		} catch (PosException | NullException e) {
+			e.printStackTrace();
+		}
+		for (int i = 0; i < nombres.length; i++) {
+			nombreCodigo.put(nombres[i], codigos[i]);
+		}
+	}
+
+	public int numVertices() {
+		return llaves.length;
+	}
+
+	public int numEdges() {
+		return targets.length;
+	}
+
+	private static void escribirTexto(DataOutputStream out, String texto) throws IOException {
+		byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String leerTexto(ByteBuffer in) {
+		byte[] bytes = new byte[in.getInt()];
+		in.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,253 @@
+package utils;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores e histogramas con nombre para ver dónde se va el tiempo (carga, consultas, búsquedas en el grafo,
+ * colas de prioridad y tablas de hash). Se activan con -Dmetricas=true o con activar(true); apagadas, cada
+ * registro es solo la lectura de un booleano, así que pueden quedarse en el código de producción.
+ * Los objetos se piden una vez (normalmente en un campo static final) y se registran sin locks.
+ */
+public final class Metricas {
+
+	private static volatile boolean activas = Boolean.getBoolean("metricas");
+
+	private static final Map<String, Contador> contadores = new ConcurrentHashMap<>();
+	private static final Map<String, Histograma> histogramas = new ConcurrentHashMap<>();
+
+	private Metricas() {
+	}
+
+	public static boolean activas() {
+		return activas;
+	}
+
+	public static void activar(boolean valor) {
+		activas = valor;
+	}
+
+	/**
+	 * Contador con el nombre dado; lo crea la primera vez
+	 */
+	public static Contador contador(String nombre) {
+		return contadores.computeIfAbsent(nombre, Contador::new);
+	}
+
+	/**
+	 * Histograma de duraciones (se registran en nanosegundos y se muestran en milisegundos)
+	 */
+	public static Histograma histogramaTiempo(String nombre) {
+		return histogramas.computeIfAbsent(nombre, n -> new Histograma(n, true));
+	}
+
+	/**
+	 * Histograma de cantidades (vértices visitados, elementos, ...)
+	 */
+	public static Histograma histograma(String nombre) {
+		return histogramas.computeIfAbsent(nombre, n -> new Histograma(n, false));
+	}
+
+	/**
+	 * Marca de tiempo para Histograma.registrarDesde; 0 si las métricas están apagadas
+	 */
+	public static long inicio() {
+		return activas ? System.nanoTime() : 0;
+	}
+
+	/**
+	 * Pone en cero todos los contadores e histogramas
+	 */
+	public static void reiniciar() {
+		for (Contador contador : contadores.values()) {
+			contador.valor.reset();
+		}
+		for (Histograma histograma : histogramas.values()) {
+			histograma.reiniciar();
+		}
+	}
+
+	/**
+	 * Volcado legible, ordenado por nombre
+	 */
+	public static String texto() {
+		StringBuilder sb = new StringBuilder("Métricas" + (activas ? "" : " (desactivadas)") + ":");
+		for (Contador contador : new TreeMap<>(contadores).values()) {
+			sb.append("\n  ").append(contador.nombre).append(": ").append(contador.valor());
+		}
+		for (Histograma h : new TreeMap<>(histogramas).values()) {
+			sb.append("\n  ").append(h.nombre).append(": n=").append(h.cantidad());
+			if (h.cantidad() > 0) {
+				sb.append(" media=").append(h.formato(h.media()))
+						.append(" p50=").append(h.formato(h.percentil(50)))
+						.append(" p90=").append(h.formato(h.percentil(90)))
+						.append(" p99=").append(h.formato(h.percentil(99)))
+						.append(" max=").append(h.formato(h.maximo()))
+						.append(h.tiempo ? " ms" : "");
+			}
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Volcado en JSON; las duraciones van en nanosegundos
+	 */
+	public static String json() {
+		StringBuilder sb = new StringBuilder("{\"activas\":").append(activas).append(",\"contadores\":{");
+		boolean primero = true;
+		for (Contador contador : new TreeMap<>(contadores).values()) {
+			sb.append(primero ? "" : ",").append('"').append(contador.nombre).append("\":").append(contador.valor());
+			primero = false;
+		}
+		sb.append("},\"histogramas\":{");
+		primero = true;
+		for (Histograma h : new TreeMap<>(histogramas).values()) {
+			sb.append(primero ? "" : ",").append('"').append(h.nombre).append("\":{")
+					.append("\"unidad\":\"").append(h.tiempo ? "ns" : "unidades").append('"')
+					.append(",\"cantidad\":").append(h.cantidad())
+					.append(",\"media\":").append(String.format(Locale.ROOT, "%.1f", h.media()))
+					.append(",\"p50\":").append(h.percentil(50))
+					.append(",\"p90\":").append(h.percentil(90))
+					.append(",\"p99\":").append(h.percentil(99))
+					.append(",\"max\":").append(h.maximo())
+					.append('}');
+			primero = false;
+		}
+		return sb.append("}}").toString();
+	}
+
+	public static final class Contador {
+		private final String nombre;
+		private final LongAdder valor = new LongAdder();
+
+		private Contador(String nombre) {
+			this.nombre = nombre;
+		}
+
+		public void incrementar() {
+			if (activas) {
+				valor.increment();
+			}
+		}
+
+		public void sumar(long cantidad) {
+			if (activas) {
+				valor.add(cantidad);
+			}
+		}
+
+		public long valor() {
+			return valor.sum();
+		}
+	}
+
+	/**
+	 * Histograma log-lineal al estilo HdrHistogram: cada potencia de dos se parte en 16 cubetas, así que el
+	 * error relativo de un percentil es menor a 1/16. Registrar es un incremento atómico en un arreglo.
+	 */
+	public static final class Histograma {
+		private static final int BITS_SUBCUBETA = 4;
+		private static final int SUBCUBETAS = 1 << BITS_SUBCUBETA;
+
+		private final String nombre;
+		private final boolean tiempo;
+		private final AtomicLongArray cubetas = new AtomicLongArray(64 * SUBCUBETAS);
+		private final LongAdder cantidad = new LongAdder();
+		private final LongAdder suma = new LongAdder();
+		private final AtomicLong maximo = new AtomicLong();
+
+		private Histograma(String nombre, boolean tiempo) {
+			this.nombre = nombre;
+			this.tiempo = tiempo;
+		}
+
+		public void registrar(long valor) {
+			if (!activas) {
+				return;
+			}
+			if (valor < 0) {
+				valor = 0;
+			}
+			cubetas.incrementAndGet(cubeta(valor));
+			cantidad.increment();
+			suma.add(valor);
+			long actual;
+			while (valor > (actual = maximo.get()) && !maximo.compareAndSet(actual, valor)) {
+				// otro hilo cambió el máximo; se vuelve a comparar
+			}
+		}
+
+		/**
+		 * Registra el tiempo transcurrido desde una marca de Metricas.inicio()
+		 */
+		public void registrarDesde(long inicio) {
+			if (activas && inicio != 0) {
+				registrar(System.nanoTime() - inicio);
+			}
+		}
+
+		public long cantidad() {
+			return cantidad.sum();
+		}
+
+		public long maximo() {
+			return maximo.get();
+		}
+
+		public double media() {
+			long n = cantidad.sum();
+			return n == 0 ? 0 : (double) suma.sum() / n;
+		}
+
+		/**
+		 * Valor bajo el cual queda el porcentaje dado de los registros (cota superior de su cubeta)
+		 */
+		public long percentil(double porcentaje) {
+			long n = cantidad.sum();
+			if (n == 0) {
+				return 0;
+			}
+			long objetivo = Math.max(1, (long) Math.ceil(porcentaje / 100 * n));
+			long acumulado = 0;
+			for (int i = 0; i < cubetas.length(); i++) {
+				acumulado += cubetas.get(i);
+				if (acumulado >= objetivo) {
+					return Math.min(cotaSuperior(i), maximo.get());
+				}
+			}
+			return maximo.get();
+		}
+
+		private void reiniciar() {
+			for (int i = 0; i < cubetas.length(); i++) {
+				cubetas.set(i, 0);
+			}
+			cantidad.reset();
+			suma.reset();
+			maximo.set(0);
+		}
+
+		private String formato(double valor) {
+			if (tiempo) {
+				return String.format(Locale.ROOT, "%.3f", valor / 1e6);
+			}
+			return valor == Math.rint(valor) ? Long.toString((long) valor) : String.format(Locale.ROOT, "%.1f", valor);
+		}
+
+		private static int cubeta(long valor) {
+			int corrimiento = Math.max(0, 63 - Long.numberOfLeadingZeros(valor) - BITS_SUBCUBETA);
+			return corrimiento * SUBCUBETAS + (int) (valor >>> corrimiento);
+		}
+
+		private static long cotaSuperior(int cubeta) {
+			int corrimiento = Math.max(0, cubeta / SUBCUBETAS - 1);
+			long mantisa = cubeta - (long) corrimiento * SUBCUBETAS;
+			return ((mantisa + 1) << corrimiento) - 1;
+		}
+	}
+}
@@ -12,6 +12,9 @@ public class View {
 	public static final int OPCION_RED_EXPANSION_MINIMA = 5;
 	public static final int OPCION_FALLAS_CONEXION = 6;
 	public static final int OPCION_EXIT = 7;
+	public static final int OPCION_METRICAS = 8;
+	public static final int OPCION_METRICAS_JSON = 9;
+	public static final int OPCION_REPORTE_FALLAS = 10;
 
 	/**
 	 * Método constructor
@@ -31,6 +34,9 @@ public class View {
 		System.out.println(OPCION_RED_EXPANSION_MINIMA + ". Red de expansión mínima");
 		System.out.println(OPCION_FALLAS_CONEXION + ". Fallas en conexión");
 		System.out.println(OPCION_EXIT + ". Exit");
+		System.out.println(OPCION_METRICAS + ". Métricas");
+		System.out.println(OPCION_METRICAS_JSON + ". Métricas (JSON)");
+		System.out.println(OPCION_REPORTE_FALLAS + ". Puntos y cables críticos de la red");
 		System.out.println("Ingrese el número de opción y presione Enter (e.g., 1):");
 	}
 
@@ -0,0 +1,135 @@
+package test.controller;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import controller.ConsultasLote;
+import model.logic.Modelo;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestConsultasLote {
+
+	private static final String[] PAISES = { "Colombia", "Chile", "Brazil", "France", "Kenya", "Japan" };
+
+	private Modelo modelo;
+	private File consultas;
+	private File salida;
+
+	@Before
+	public void setUp1() throws IOException {
+		modelo = new Modelo();
+		modelo.cargarDatos(null); // solo los CSV: no lee ni escribe ./data/modelo.snapshot
+		consultas = File.createTempFile("consultas", ".txt");
+		salida = File.createTempFile("resultados", ".txt");
+	}
+
+	@After
+	public void tearDown() {
+		consultas.delete();
+		salida.delete();
+	}
+
+	@Test
+	public void testSalidaEnElOrdenDeEntrada() throws IOException {
+		// Consultas de costo muy distinto mezcladas, para que los hilos terminen en otro orden
+		List<String> lineas = new ArrayList<>();
+		List<String> esperadas = new ArrayList<>();
+		for (int i = 0; i < 120; i++) {
+			String a = PAISES[i % PAISES.length];
+			String b = PAISES[(i * 7 + 1) % PAISES.length];
+			if (i % 3 == 0) {
+				lineas.add("compare \"" + a + "\" \"" + b + "\"");
+				esperadas.add(modelo.req3String(a, b));
+			} else if (i % 3 == 1) {
+				lineas.add("from " + a);
+				esperadas.add(modelo.distanciasDesdeString(a));
+			} else {
+				lineas.add("route Fortaleza Marseille");
+				esperadas.add(modelo.rutaEntrePuntosString("Fortaleza", "Marseille"));
+			}
+		}
+		escribirConsultas(lineas);
+		new ConsultasLote(modelo, 8).ejecutar(consultas.getPath(), salida.getPath());
+
+		List<String[]> bloques = leerSalida();
+		assertEquals(lineas.size(), bloques.size());
+		for (int i = 0; i < lineas.size(); i++) {
+			assertEquals(lineas.get(i), bloques.get(i)[0]);
+			assertEquals(lineas.get(i), esperadas.get(i), bloques.get(i)[1]);
+		}
+	}
+
+	@Test
+	public void testLineasInvalidas() throws IOException {
+		List<String> lineas = new ArrayList<>();
+		lineas.add("# comentario");
+		lineas.add("failure \"Sao Tome\"");
+		lineas.add("");
+		lineas.add("unknown x");
+		lineas.add("route Fortaleza");
+		lineas.add("mst extra");
+		lineas.add("components Fortaleza Marseille");
+		escribirConsultas(lineas);
+		String reporte = new ConsultasLote(modelo, 2).ejecutar(consultas.getPath(), salida.getPath());
+
+		List<String[]> bloques = leerSalida();
+		assertEquals(5, bloques.size());
+		assertEquals(modelo.req5String("Sao Tome"), bloques.get(0)[1]);
+		assertEquals("Consulta inválida: unknown x", bloques.get(1)[1]);
+		assertEquals("Consulta inválida: route Fortaleza", bloques.get(2)[1]);
+		assertEquals("Consulta inválida: mst extra", bloques.get(3)[1]);
+		assertEquals(modelo.req1String("Fortaleza", "Marseille"), bloques.get(4)[1]);
+		assertTrue(reporte, reporte.contains("\n    invalida: 3"));
+	}
+
+	@Test
+	public void testReporteDeRendimiento() throws IOException {
+		List<String> lineas = new ArrayList<>();
+		for (int i = 0; i < 40; i++) {
+			lineas.add("distance " + PAISES[i % PAISES.length] + " " + PAISES[(i + 1) % PAISES.length]);
+		}
+		escribirConsultas(lineas);
+		String reporte = new ConsultasLote(modelo, 4).ejecutar(consultas.getPath(), salida.getPath());
+
+		assertTrue(reporte, reporte.startsWith("Consultas por lotes con 4 hilos:\n  Consultas: 40\n    distance: 40"));
+		assertTrue(reporte, reporte.contains("\n  Tiempo total: "));
+		assertTrue(reporte, reporte.contains(" consultas/s"));
+		assertTrue(reporte, reporte.matches("(?s).*\n  Latencia \\(ms\\): p50=[0-9.]+ p90=[0-9.]+ p99=[0-9.]+ max=[0-9.]+$"));
+	}
+
+	private void escribirConsultas(List<String> lineas) throws IOException {
+		Files.write(consultas.toPath(), lineas, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Separa la salida en bloques { consulta, respuesta }; cada bloque es "> consulta", la respuesta (que puede
+	 * tener varias líneas) y una línea vacía
+	 */
+	private List<String[]> leerSalida() throws IOException {
+		String texto = new String(Files.readAllBytes(salida.toPath()), StandardCharsets.UTF_8)
+				.replace(System.lineSeparator(), "\n");
+		List<String[]> bloques = new ArrayList<>();
+		for (String bloque : texto.split("\n\n(?=> )")) {
+			if (bloque.isEmpty()) {
+				continue;
+			}
+			assertTrue(bloque, bloque.startsWith("> "));
+			int finConsulta = bloque.indexOf('\n');
+			String respuesta = bloque.substring(finConsulta + 1);
+			if (respuesta.endsWith("\n\n")) {
+				respuesta = respuesta.substring(0, respuesta.length() - 2);
+			}
+			bloques.add(new String[] { bloque.substring(2, finConsulta), respuesta });
+		}
+		return bloques;
+	}
+}
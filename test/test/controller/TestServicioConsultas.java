@@ -0,0 +1,100 @@
+package test.controller;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Scanner;
+
+import controller.ServicioConsultas;
+import model.logic.Modelo;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestServicioConsultas {
+
+	private ServicioConsultas servicio;
+
+	@Before
+	public void setUp1() throws IOException {
+		Modelo modelo = new Modelo();
+		modelo.cargarDatos(null); // solo los CSV: no lee ni escribe ./data/modelo.snapshot
+		servicio = new ServicioConsultas(modelo, 0);
+		servicio.iniciar();
+	}
+
+	@After
+	public void tearDown() {
+		servicio.detener(0);
+	}
+
+	@Test
+	public void testParametrosObligatorios() throws IOException {
+		assertEquals(400, estado("/from?b=Chile"));
+		assertEquals(400, estado("/from?a="));
+		assertEquals(400, estado("/compare?a=Colombia"));
+		assertEquals(400, estado("/from?a=Colombia&b=Chile"));
+		assertEquals(400, estado("/mst?a=Colombia"));
+		assertEquals(200, estado("/from?a=Colombia"));
+		assertEquals(200, estado("/compare?b=Chile&a=Colombia"));
+	}
+
+	@Test
+	public void testRutaExacta() throws IOException {
+		assertEquals(404, estado("/routeXYZ?a=x&b=y"));
+		assertEquals(404, estado("/mst/"));
+		assertEquals(404, estado("/metricasX"));
+		assertEquals(200, estado("/mst"));
+		assertEquals(200, estado("/metricas"));
+		assertTrue(cuerpo("/from?a=Colombia").startsWith("Capitales alcanzables desde Bogota: "));
+	}
+
+	@Test
+	public void testRutaEntrePuntos() throws IOException {
+		String ruta = cuerpo("/route?a=Fortaleza&b=Marseille");
+		assertTrue(ruta, ruta.startsWith("Ruta entre Fortaleza y Marseille:\nFortaleza -> "));
+		assertTrue(ruta, ruta.contains("-> Marseille: "));
+		assertTrue(cuerpo("/components?a=Fortaleza&b=Marseille").startsWith("Cantidad de componentes conectados: "));
+	}
+
+	@Test
+	public void testSoloGet() throws IOException {
+		assertEquals(405, estado("POST", "/metricas"));
+		assertEquals(405, estado("POST", "/mst"));
+		assertEquals(200, estado("GET", "/metricas"));
+	}
+
+	private HttpURLConnection conectar(String ruta) throws IOException {
+		URL url = new URL("http://localhost:" + servicio.getDireccion().getPort() + ruta);
+		return (HttpURLConnection) url.openConnection();
+	}
+
+	private int estado(String ruta) throws IOException {
+		return estado("GET", ruta);
+	}
+
+	private int estado(String metodo, String ruta) throws IOException {
+		HttpURLConnection conexion = conectar(ruta);
+		conexion.setRequestMethod(metodo);
+		try {
+			return conexion.getResponseCode();
+		} finally {
+			conexion.disconnect();
+		}
+	}
+
+	private String cuerpo(String ruta) throws IOException {
+		HttpURLConnection conexion = conectar(ruta);
+		try (InputStream entrada = conexion.getInputStream();
+				Scanner lector = new Scanner(entrada, StandardCharsets.UTF_8.name()).useDelimiter("\\A")) {
+			return lector.hasNext() ? lector.next() : "";
+		} finally {
+			conexion.disconnect();
+		}
+	}
+}
@@ -0,0 +1,82 @@
+package test.data_structures;
+
+import model.data_structures.ArbolCaminosMinimos;
+import model.data_structures.Edge;
+import model.data_structures.GrafoCSR;
+import model.data_structures.GrafoListaAdyacencia;
+import model.data_structures.PilaEncadenada;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestArbolesCaminosMinimos {
+
+	private GrafoListaAdyacencia<Integer, Integer> grafo;
+
+	/**
+	 * 0 -> 1 (2), 1 -> 2 (3), 0 -> 2 (10), 2 -> 3 (1), 3 -> 0 (4) y el vértice 4 aislado
+	 */
+	@Before
+	public void setUp1() {
+		grafo = new GrafoListaAdyacencia<>(5);
+		for (int v = 0; v < 5; v++) {
+			grafo.insertVertex(v, v);
+		}
+		grafo.addEdge(0, 1, 2);
+		grafo.addEdge(1, 2, 3);
+		grafo.addEdge(0, 2, 10);
+		grafo.addEdge(2, 3, 1);
+		grafo.addEdge(3, 0, 4);
+	}
+
+	@Test
+	public void testArbolSeReutiliza() {
+		GrafoCSR<Integer, Integer> csr = grafo.freeze();
+		ArbolCaminosMinimos arbol = grafo.shortestPathTree(0);
+		assertSame(arbol, grafo.shortestPathTree(0));
+		assertEquals(6f, arbol.distTo(csr.idOf(3)), 0f);
+		assertFalse(arbol.hasPathTo(csr.idOf(4)));
+		assertNull(grafo.shortestPathTree(9));
+	}
+
+	@Test
+	public void testArbolSeDescartaAlCambiarElGrafo() {
+		ArbolCaminosMinimos antes = grafo.shortestPathTree(0);
+		grafo.addEdge(0, 3, 1);
+		ArbolCaminosMinimos despues = grafo.shortestPathTree(0);
+		assertNotSame(antes, despues);
+		assertEquals(1f, despues.distTo(grafo.freeze().idOf(3)), 0f);
+	}
+
+	@Test
+	public void testPresupuestoCeroNoGuarda() {
+		grafo.setPresupuestoArboles(0);
+		ArbolCaminosMinimos primero = grafo.shortestPathTree(0);
+		ArbolCaminosMinimos segundo = grafo.shortestPathTree(0);
+		assertNotSame(primero, segundo);
+		assertEquals(primero.distTo(grafo.freeze().idOf(2)), segundo.distTo(grafo.freeze().idOf(2)), 0f);
+		assertArrayEquals(new float[] { 2, 3, 1 }, pesos(grafo.shortestPath(0, 3)), 0f);
+		// Sin presupuesto ni siquiera se crea la caché (y no se toma su lock)
+		assertTrue(grafo.estadisticasArboles().endsWith("Sin caché todavía"));
+	}
+
+	@Test
+	public void testShortestPathConYSinArbolGuardado() {
+		float[] sinArbol = pesos(grafo.shortestPath(0, 3));
+		grafo.shortestPathTree(0);
+		float[] conArbol = pesos(grafo.shortestPath(0, 3));
+		assertArrayEquals(new float[] { 2, 3, 1 }, sinArbol, 0f);
+		assertArrayEquals(sinArbol, conArbol, 0f);
+		assertTrue(grafo.shortestPath(0, 4).isEmpty());
+	}
+
+	private static float[] pesos(PilaEncadenada<Edge<Integer, Integer>> ruta) {
+		float[] pesos = new float[ruta.size()];
+		for (int i = 0; i < pesos.length; i++) {
+			pesos[i] = ruta.pop().getWeight();
+		}
+		return pesos;
+	}
+}
@@ -0,0 +1,118 @@
+package test.data_structures;
+
+import model.data_structures.CacheResultados;
+import model.data_structures.CacheResultados.Politica;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.Test;
+
+public class TestCacheResultados {
+
+	@Test
+	public void testOrdenDeExpulsionLRU() {
+		CacheResultados<String, String> cache = new CacheResultados<>(3, Politica.LRU);
+		cache.put("a", "A", 1);
+		cache.put("b", "B", 1);
+		cache.put("c", "C", 1);
+		assertEquals("A", cache.get("a", 1));
+		cache.put("d", "D", 1);
+		// b es la usada hace más tiempo después de leer a
+		assertNull(cache.get("b", 1));
+		assertEquals("A", cache.get("a", 1));
+		assertEquals("C", cache.get("c", 1));
+		assertEquals("D", cache.get("d", 1));
+		assertEquals(3, cache.size());
+		assertEquals(1, cache.darExpulsiones());
+	}
+
+	@Test
+	public void testAdmisionRechazaUnBarrido() {
+		CacheResultados<Integer, String> lfu = barrido(new CacheResultados<>(100, Politica.W_TINY_LFU));
+		CacheResultados<Integer, String> lru = barrido(new CacheResultados<>(100, Politica.LRU));
+		for (int llave = 0; llave < 30; llave++) {
+			assertEquals("W-TinyLFU " + llave, "v" + llave, lfu.get(llave, 1));
+			assertNull("LRU " + llave, lru.get(llave, 1));
+		}
+	}
+
+	@Test
+	public void testAciertoEnPruebaPasaAProtegida() {
+		CacheResultados<Integer, String> cache = new CacheResultados<>(100, Politica.W_TINY_LFU);
+		// Ventana con 99 y zona de prueba con 0 a 98; 0 es la más vieja
+		for (int llave = 0; llave < 100; llave++) {
+			cache.put(llave, "v" + llave, 1);
+		}
+		assertEquals("v0", cache.get(0, 1));
+		// Llaves frecuentes que entran a la zona principal expulsando víctimas de la zona de prueba: si 0 se
+		// hubiera quedado en prueba, después de 1 a 98 sería la siguiente víctima
+		for (int llave = 1000; llave < 1120; llave++) {
+			pedir(cache, llave, 3);
+		}
+		for (int llave = 1; llave < 99; llave++) {
+			assertNull(cache.get(llave, 1));
+		}
+		assertEquals("v0", cache.get(0, 1));
+	}
+
+	@Test
+	public void testVersionNuevaInvalida() {
+		CacheResultados<String, String> cache = new CacheResultados<>(10, Politica.W_TINY_LFU);
+		cache.put("a", "A", 1);
+		assertEquals("A", cache.get("a", 1));
+		assertNull(cache.get("a", 2));
+		assertEquals(0, cache.size());
+		assertEquals(1, cache.darInvalidaciones());
+		cache.put("a", "A2", 2);
+		assertEquals("A2", cache.get("a", 2));
+	}
+
+	@Test
+	public void testResultadoDeVersionViejaSeDescarta() {
+		CacheResultados<String, String> cache = new CacheResultados<>(10, Politica.LRU);
+		cache.put("a", "A", 2);
+		cache.put("b", "B", 1);
+		assertNull(cache.get("b", 2));
+		assertNull(cache.get("a", 1));
+		assertEquals(1, cache.size());
+
+		// obtener con una versión vieja calcula, pero no guarda
+		AtomicInteger calculos = new AtomicInteger();
+		Supplier<String> calcular = () -> {
+			calculos.incrementAndGet();
+			return "C";
+		};
+		assertEquals("C", cache.obtener("c", 1, calcular));
+		assertEquals(1, cache.size());
+		assertEquals("C", cache.obtener("c", 2, calcular));
+		assertEquals("C", cache.obtener("c", 2, () -> "otra vez"));
+		assertEquals(2, calculos.get());
+	}
+
+	/**
+	 * 0 a 29 pedidos ocho veces antes de guardarlos (en W-TinyLFU quedan de últimos en la zona de prueba, o sea
+	 * que son las primeras víctimas) y después un barrido de llaves que se piden una sola vez
+	 */
+	private static CacheResultados<Integer, String> barrido(CacheResultados<Integer, String> cache) {
+		for (int llave = 0; llave < 30; llave++) {
+			pedir(cache, llave, 8);
+		}
+		for (int llave = 1000; llave < 1200; llave++) {
+			pedir(cache, llave, 1);
+		}
+		return cache;
+	}
+
+	/**
+	 * Como lo hace obtener: veces búsquedas sin éxito y después se guarda el resultado
+	 */
+	private static void pedir(CacheResultados<Integer, String> cache, int llave, int veces) {
+		for (int i = 0; i < veces; i++) {
+			cache.get(llave, 1);
+		}
+		cache.put(llave, "v" + llave, 1);
+	}
+}
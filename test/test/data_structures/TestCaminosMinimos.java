@@ -0,0 +1,141 @@
+package test.data_structures;
+
+import model.data_structures.ArbolCaminosMinimos;
+import model.data_structures.GrafoCSR;
+import model.data_structures.GrafoListaAdyacencia;
+import model.data_structures.Landing;
+import model.data_structures.Punto;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestCaminosMinimos {
+
+	// Puntos reales para que A* use la heurística de Haversine; el 7 queda aislado
+	private static final double[][] COORDENADAS = { { 4.71, -74.07 }, { 10.39, -75.51 }, { 25.76, -80.19 },
+			{ 18.47, -66.11 }, { -3.73, -38.52 }, { 38.72, -9.14 }, { 36.72, -4.42 }, { -33.45, -70.67 } };
+	private static final int[][] ARCOS = { { 0, 1 }, { 1, 0 }, { 1, 2 }, { 2, 1 }, { 1, 3 }, { 3, 1 }, { 2, 3 },
+			{ 3, 4 }, { 4, 3 }, { 3, 5 }, { 5, 3 }, { 4, 5 }, { 5, 4 }, { 4, 6 }, { 5, 6 }, { 6, 5 }, { 0, 4 } };
+
+	private GrafoCSR<Integer, Landing> csr;
+
+	/**
+	 * Cada arco pesa la distancia entre sus extremos más un recargo distinto, así A* es admisible y no hay
+	 * empates entre caminos
+	 */
+	@Before
+	public void setUp1() {
+		GrafoListaAdyacencia<Integer, Landing> grafo = new GrafoListaAdyacencia<>(COORDENADAS.length);
+		Landing[] puntos = new Landing[COORDENADAS.length];
+		for (int v = 0; v < COORDENADAS.length; v++) {
+			puntos[v] = new Landing("" + v, "p" + v, "P" + v, "Pais" + v, COORDENADAS[v][0], COORDENADAS[v][1]);
+			grafo.insertVertex(v, puntos[v]);
+		}
+		for (int i = 0; i < ARCOS.length; i++) {
+			int[] arco = ARCOS[i];
+			grafo.addEdge(arco[0], arco[1], Punto.distancia(puntos[arco[0]], puntos[arco[1]]) + 37 * i + 11);
+		}
+		csr = grafo.freeze();
+	}
+
+	@Test
+	public void testMismasDistanciasYCaminos() {
+		int n = csr.numVertices();
+		for (int s = 0; s < n; s++) {
+			ArbolCaminosMinimos completo = csr.dijkstra(s);
+			for (int t = 0; t < n; t++) {
+				String par = csr.keyOf(s) + " -> " + csr.keyOf(t);
+				ArbolCaminosMinimos parcial = csr.dijkstra(s, t);
+				ArbolCaminosMinimos aStar = csr.aStar(s, t);
+				int[] bidireccional = csr.bidirectionalDijkstra(s, t);
+				int[] camino = completo.pathTo(t);
+
+				assertEquals(par, completo.distTo(t), parcial.distTo(t), 0f);
+				assertEquals(par, completo.distTo(t), aStar.distTo(t), 1e-3f);
+				assertArrayEquals(par, camino, parcial.pathTo(t));
+				assertArrayEquals(par, camino, aStar.pathTo(t));
+				assertArrayEquals(par, camino, bidireccional);
+				if (camino.length > 0) {
+					assertEquals(par, completo.distTo(t), peso(camino), 1e-3f);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testCaminosConocidos() {
+		// El arco 0 -> 4 es más corto que 0 -> 1 -> 3 -> 4, pero de 4 a 0 solo se vuelve por 3 y 1; 6 solo sale a 5
+		assertArrayEquals(ids(0, 4), csr.dijkstra(id(0)).pathTo(id(4)));
+		assertArrayEquals(ids(4, 3, 1, 0), csr.aStar(id(4), id(0)).pathTo(id(0)));
+		assertArrayEquals(ids(6, 5, 3, 1, 0), csr.bidirectionalDijkstra(id(6), id(0)));
+		assertEquals(0, csr.bidirectionalDijkstra(id(0), id(7)).length);
+		assertFalse(csr.aStar(id(7), id(0)).hasPathTo(id(0)));
+		assertArrayEquals(ids(2), csr.bidirectionalDijkstra(id(2), id(2)));
+	}
+
+	@Test
+	public void testVariosOrigenesYDestinos() {
+		int[][] grupos = { { 6, 2 }, { 0, 4 }, { 5 }, { 7, 1 } };
+		for (int[] origenes : grupos) {
+			for (int[] destinos : grupos) {
+				if (origenes == destinos) {
+					continue;
+				}
+				float mejor = Float.POSITIVE_INFINITY;
+				for (int s : origenes) {
+					for (int t : destinos) {
+						mejor = Math.min(mejor, csr.dijkstra(id(s)).distTo(id(t)));
+					}
+				}
+				int[] camino = csr.dijkstra(ids(origenes), ids(destinos));
+				String grupo = Arrays.toString(origenes) + " -> " + Arrays.toString(destinos);
+				if (mejor == Float.POSITIVE_INFINITY) {
+					assertEquals(grupo, 0, camino.length);
+				} else {
+					assertTrue(grupo, contiene(origenes, csr.keyOf(camino[0])));
+					assertTrue(grupo, contiene(destinos, csr.keyOf(camino[camino.length - 1])));
+					assertEquals(grupo, mejor, peso(camino), 1e-3f);
+				}
+			}
+		}
+	}
+
+	private static boolean contiene(int[] llaves, int llave) {
+		for (int l : llaves) {
+			if (l == llave) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private float peso(int[] camino) {
+		float total = 0;
+		for (int i = 1; i < camino.length; i++) {
+			float minimo = Float.POSITIVE_INFINITY;
+			for (int e = csr.firstEdge(camino[i - 1]); e < csr.firstEdge(camino[i - 1] + 1); e++) {
+				if (csr.target(e) == camino[i]) {
+					minimo = Math.min(minimo, csr.weight(e));
+				}
+			}
+			total += minimo;
+		}
+		return total;
+	}
+
+	private int id(int llave) {
+		return csr.idOf(llave);
+	}
+
+	private int[] ids(int... llaves) {
+		int[] ids = new int[llaves.length];
+		for (int i = 0; i < llaves.length; i++) {
+			ids[i] = csr.idOf(llaves[i]);
+		}
+		return ids;
+	}
+}
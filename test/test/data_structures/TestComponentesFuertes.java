@@ -0,0 +1,93 @@
+package test.data_structures;
+
+import model.data_structures.GrafoCSR;
+import model.data_structures.GrafoListaAdyacencia;
+
+import static org.junit.Assert.*;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class TestComponentesFuertes {
+
+	// Suficiente para desbordar la pila por defecto si el recorrido fuera recursivo
+	private static final int LARGO = 300000;
+
+	@Test
+	public void testComponentesConocidas() {
+		// Grafo dirigido de 13 vértices de Sedgewick (tinyDG): {1}, {0 2 3 4 5}, {6 8}, {7} y {9 10 11 12}
+		int[][] arcos = { { 4, 2 }, { 2, 3 }, { 3, 2 }, { 6, 0 }, { 0, 1 }, { 2, 0 }, { 11, 12 }, { 12, 9 },
+				{ 9, 10 }, { 9, 11 }, { 7, 9 }, { 10, 12 }, { 11, 4 }, { 4, 3 }, { 3, 5 }, { 6, 8 }, { 8, 6 },
+				{ 5, 4 }, { 0, 5 }, { 6, 4 }, { 6, 9 }, { 7, 6 } };
+		int[] esperado = { 1, 0, 1, 1, 1, 1, 2, 3, 2, 4, 4, 4, 4 };
+		GrafoListaAdyacencia<Integer, Integer> grafo = new GrafoListaAdyacencia<>(13);
+		for (int v = 0; v < 13; v++) {
+			grafo.insertVertex(v, v);
+		}
+		for (int[] arco : arcos) {
+			grafo.addEdge(arco[0], arco[1], 1);
+		}
+		GrafoCSR<Integer, Integer> csr = grafo.freeze();
+		int[] componente = csr.stronglyConnectedComponents();
+
+		Set<Integer> ids = new HashSet<>();
+		for (int v = 0; v < 13; v++) {
+			assertTrue(componente[csr.idOf(v)] >= 1);
+			ids.add(componente[csr.idOf(v)]);
+			for (int w = 0; w < 13; w++) {
+				assertEquals(v + " y " + w, esperado[v] == esperado[w], componente[csr.idOf(v)] == componente[csr.idOf(w)]);
+			}
+		}
+		assertEquals(5, ids.size());
+	}
+
+	@Test
+	public void testCicloLargo() {
+		GrafoListaAdyacencia<Integer, Integer> grafo = cadena(LARGO);
+		grafo.addEdge(LARGO - 1, 0, 1);
+		int[] componente = grafo.freeze().stronglyConnectedComponents();
+		for (int v = 1; v < LARGO; v++) {
+			assertEquals(componente[0], componente[v]);
+		}
+	}
+
+	@Test
+	public void testCadenaLarga() {
+		int[] componente = cadena(LARGO).freeze().stronglyConnectedComponents();
+		Set<Integer> ids = new HashSet<>();
+		for (int c : componente) {
+			ids.add(c);
+		}
+		assertEquals(LARGO, ids.size());
+	}
+
+	@Test
+	public void testComponentesPorVersion() {
+		GrafoListaAdyacencia<Integer, Integer> grafo = cadena(5);
+		GrafoCSR<Integer, Integer> csr = grafo.freeze();
+		assertSame(csr.componentesFuertes(), grafo.freeze().componentesFuertes());
+		assertEquals(5, csr.numComponentesFuertes());
+
+		grafo.addEdge(4, 0, 1);
+		GrafoCSR<Integer, Integer> nuevo = grafo.freeze();
+		assertNotSame(csr, nuevo);
+		assertEquals(1, nuevo.numComponentesFuertes());
+		assertEquals(5, csr.numComponentesFuertes());
+	}
+
+	/**
+	 * 0 -> 1 -> ... -> largo - 1
+	 */
+	private static GrafoListaAdyacencia<Integer, Integer> cadena(int largo) {
+		GrafoListaAdyacencia<Integer, Integer> grafo = new GrafoListaAdyacencia<>(largo);
+		for (int v = 0; v < largo; v++) {
+			grafo.insertVertex(v, v);
+		}
+		for (int v = 0; v + 1 < largo; v++) {
+			grafo.addEdge(v, v + 1, 1);
+		}
+		return grafo;
+	}
+}
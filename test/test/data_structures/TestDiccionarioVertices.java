@@ -0,0 +1,124 @@
+package test.data_structures;
+
+import model.data_structures.DiccionarioVertices;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestDiccionarioVertices {
+
+	private DiccionarioVertices diccionario;
+	private static int TAMANO = 1;
+
+	@Before
+	public void setUp1() {
+		diccionario = new DiccionarioVertices(TAMANO);
+	}
+
+	@Test
+	public void testIdsEstablesYDensos() {
+		int bogota = diccionario.idCapital("Bogota");
+		int par = diccionario.idVertice("3209", "2Africa");
+		int santiago = diccionario.idCapital("Santiago");
+		int otroPar = diccionario.idVertice("3209", "SAm-1");
+		assertEquals(0, bogota);
+		assertEquals(1, par);
+		assertEquals(2, santiago);
+		assertEquals(3, otroPar);
+
+		assertEquals(bogota, diccionario.idCapital("Bogota"));
+		assertEquals(par, diccionario.idVertice("3209", "2Africa"));
+		assertEquals(otroPar, diccionario.idVertice("3209", "SAm-1"));
+		assertEquals(santiago, diccionario.buscarCapital("Santiago"));
+		assertEquals(par, diccionario.buscarVertice("3209", "2Africa"));
+		assertEquals(4, diccionario.size());
+	}
+
+	@Test
+	public void testIdaYVuelta() {
+		int capital = diccionario.idCapital("Nairobi");
+		int par = diccionario.idVertice("4180", "TEAMS");
+
+		assertTrue(diccionario.esCapital(capital));
+		assertEquals("Nairobi", diccionario.capitalDe(capital));
+		assertEquals("Nairobi", diccionario.llave(capital));
+		assertNull(diccionario.landingDe(capital));
+		assertNull(diccionario.cableDe(capital));
+
+		assertFalse(diccionario.esCapital(par));
+		assertEquals("4180", diccionario.landingDe(par));
+		assertEquals("TEAMS", diccionario.cableDe(par));
+		assertEquals("4180TEAMS", diccionario.llave(par));
+		assertNull(diccionario.capitalDe(par));
+	}
+
+	@Test
+	public void testParesConLaMismaLlaveDeTexto() {
+		// "12" + "3" y "1" + "23" se escriben igual, pero son vértices distintos
+		int a = diccionario.idVertice("12", "3");
+		int b = diccionario.idVertice("1", "23");
+		assertNotEquals(a, b);
+		assertEquals(diccionario.llave(a), diccionario.llave(b));
+		assertEquals("12", diccionario.landingDe(a));
+		assertEquals("1", diccionario.landingDe(b));
+	}
+
+	@Test
+	public void testMuchosParesConColisiones() {
+		// Parte de 16 posiciones: la tabla de pares crece varias veces y las llaves comparten posiciones ideales
+		int[][] ids = new int[200][30];
+		for (int l = 0; l < 200; l++) {
+			for (int c = 0; c < 30; c++) {
+				ids[l][c] = diccionario.idVertice("L" + l, "C" + c);
+			}
+		}
+		assertEquals(6000, diccionario.size());
+		for (int l = 0; l < 200; l++) {
+			for (int c = 0; c < 30; c++) {
+				assertEquals(ids[l][c], diccionario.buscarVertice("L" + l, "C" + c));
+				assertEquals(ids[l][c], diccionario.idVertice("L" + l, "C" + c));
+				assertEquals("L" + l, diccionario.landingDe(ids[l][c]));
+				assertEquals("C" + c, diccionario.cableDe(ids[l][c]));
+			}
+		}
+		assertEquals(6000, diccionario.size());
+		assertEquals(-1, diccionario.buscarVertice("L200", "C0"));
+		assertEquals(-1, diccionario.buscarVertice("L0", "C30"));
+		assertEquals(-1, diccionario.buscarCapital("L0"));
+		// Landing y cable existen, pero no ese par
+		diccionario.idVertice("solo", "C0");
+		assertEquals(-1, diccionario.buscarVertice("solo", "C1"));
+	}
+
+	@Test
+	public void testIdsDesdeVariosHilos() throws Exception {
+		ExecutorService hilos = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<int[]>> tareas = new ArrayList<>();
+			for (int h = 0; h < 4; h++) {
+				tareas.add(hilos.submit(() -> {
+					int[] ids = new int[1000];
+					for (int i = 0; i < ids.length; i++) {
+						ids[i] = diccionario.idVertice("L" + i % 100, "C" + i / 100);
+					}
+					return ids;
+				}));
+			}
+			int[] primero = tareas.get(0).get();
+			for (Future<int[]> tarea : tareas) {
+				assertArrayEquals(primero, tarea.get());
+			}
+		} finally {
+			hilos.shutdown();
+		}
+		assertEquals(1000, diccionario.size());
+	}
+}
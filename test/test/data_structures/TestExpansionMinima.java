@@ -0,0 +1,85 @@
+package test.data_structures;
+
+import model.data_structures.BosqueExpansionMinima;
+import model.data_structures.GrafoCSR;
+import model.data_structures.GrafoListaAdyacencia;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class TestExpansionMinima {
+
+	@Test
+	public void testBoruvkaIgualAKruskal() {
+		Random random = new Random(11);
+		for (int prueba = 0; prueba < 50; prueba++) {
+			int n = 2 + random.nextInt(300);
+			// Pesos de 1 a 10 para que haya muchos empates
+			GrafoCSR<Integer, Integer> csr = grafoAlAzar(random, n, 3 * n, n, 10).freeze();
+			compararConKruskal(csr, "prueba " + prueba);
+		}
+	}
+
+	@Test
+	public void testGrafoDesconectado() {
+		Random random = new Random(12);
+		for (int prueba = 0; prueba < 20; prueba++) {
+			int n = 20 + random.nextInt(200);
+			// Arcos solo dentro de cada mitad, y los últimos cinco vértices aislados
+			GrafoListaAdyacencia<Integer, Integer> grafo = grafoAlAzar(random, n, 0, 0, 1);
+			int mitad = (n - 5) / 2;
+			for (int e = 0; e < 2 * n; e++) {
+				int inicio = random.nextBoolean() ? 0 : mitad;
+				int largo = inicio == 0 ? mitad : n - 5 - mitad;
+				grafo.addEdge(inicio + random.nextInt(largo), inicio + random.nextInt(largo), random.nextFloat() * 1000);
+			}
+			GrafoCSR<Integer, Integer> csr = grafo.freeze();
+			BosqueExpansionMinima bosque = compararConKruskal(csr, "prueba " + prueba);
+			assertTrue(bosque.getComponents() >= 7);
+			assertEquals(n - bosque.getComponents(), bosque.numEdges());
+		}
+	}
+
+	@Test
+	public void testSinArcos() {
+		GrafoCSR<Integer, Integer> csr = grafoAlAzar(new Random(13), 4, 0, 0, 1).freeze();
+		BosqueExpansionMinima bosque = compararConKruskal(csr, "sin arcos");
+		assertEquals(0, bosque.numEdges());
+		assertEquals(4, bosque.getComponents());
+		assertEquals(0, bosque.getTotalWeight(), 0);
+	}
+
+	/**
+	 * Los dos rompen empates por índice de arco, así que eligen exactamente los mismos arcos
+	 */
+	private static BosqueExpansionMinima compararConKruskal(GrafoCSR<Integer, Integer> csr, String mensaje) {
+		BosqueExpansionMinima kruskal = csr.mstKruskal();
+		BosqueExpansionMinima boruvka = csr.mstBoruvka();
+		assertEquals(mensaje, kruskal.getComponents(), boruvka.getComponents());
+		assertEquals(mensaje, kruskal.getTotalWeight(), boruvka.getTotalWeight(), 1e-6 * Math.max(1, kruskal.getTotalWeight()));
+		int[] arcosKruskal = kruskal.getEdges().clone();
+		int[] arcosBoruvka = boruvka.getEdges().clone();
+		Arrays.sort(arcosKruskal);
+		Arrays.sort(arcosBoruvka);
+		assertArrayEquals(mensaje, arcosKruskal, arcosBoruvka);
+		return boruvka;
+	}
+
+	/**
+	 * n vértices y m arcos al azar entre los primeros rango vértices, con pesos enteros de 1 a maximo
+	 */
+	private static GrafoListaAdyacencia<Integer, Integer> grafoAlAzar(Random random, int n, int m, int rango, int maximo) {
+		GrafoListaAdyacencia<Integer, Integer> grafo = new GrafoListaAdyacencia<>(n);
+		for (int v = 0; v < n; v++) {
+			grafo.insertVertex(v, v);
+		}
+		for (int e = 0; e < m && rango > 0; e++) {
+			grafo.addEdge(random.nextInt(rango), random.nextInt(rango), 1 + random.nextInt(maximo));
+		}
+		return grafo;
+	}
+}
@@ -0,0 +1,175 @@
+package test.data_structures;
+
+import model.data_structures.ArbolCaminosMinimos;
+import model.data_structures.GrafoCSR;
+import model.data_structures.GrafoListaAdyacencia;
+import model.data_structures.JerarquiaContracciones;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestJerarquiaContracciones {
+
+	private static final int VERTICES = 200;
+
+	private GrafoCSR<Integer, Integer> csr;
+	private JerarquiaContracciones<Integer, Integer> jerarquia;
+
+	/**
+	 * Grafo dirigido al azar con pesos enteros (las sumas son exactas en float) y una cuarta parte de arcos de
+	 * peso 0, como los de puntos con las mismas coordenadas
+	 */
+	@Before
+	public void setUp1() {
+		csr = grafoAlAzar(new Random(7), VERTICES, 4 * VERTICES).freeze();
+		jerarquia = JerarquiaContracciones.construir(csr);
+	}
+
+	@Test
+	public void testDistanciasIgualesADijkstra() {
+		for (int origen = 0; origen < VERTICES; origen += 7) {
+			ArbolCaminosMinimos arbol = csr.dijkstra(origen);
+			for (int destino = 0; destino < VERTICES; destino++) {
+				assertEquals(origen + " -> " + destino, arbol.distTo(destino), jerarquia.distance(origen, destino), 0f);
+			}
+		}
+	}
+
+	@Test
+	public void testCaminosDesempacados() {
+		for (int origen = 0; origen < VERTICES; origen += 11) {
+			ArbolCaminosMinimos arbol = csr.dijkstra(origen);
+			for (int destino = 0; destino < VERTICES; destino += 3) {
+				int[] camino = jerarquia.path(origen, destino);
+				if (!arbol.hasPathTo(destino)) {
+					assertEquals(0, camino.length);
+					continue;
+				}
+				assertEquals(origen, camino[0]);
+				assertEquals(destino, camino[camino.length - 1]);
+				float total = 0;
+				for (int i = 1; i < camino.length; i++) {
+					total += peso(camino[i - 1], camino[i]);
+				}
+				assertEquals(arbol.distTo(destino), total, 0f);
+			}
+		}
+	}
+
+	@Test
+	public void testConsultasConcurrentes() throws Exception {
+		// Cada hilo reutiliza su propio espacio de búsqueda; las respuestas no se deben mezclar
+		float[][] esperado = new float[VERTICES][];
+		for (int origen = 0; origen < VERTICES; origen++) {
+			ArbolCaminosMinimos arbol = csr.dijkstra(origen);
+			esperado[origen] = new float[VERTICES];
+			for (int destino = 0; destino < VERTICES; destino++) {
+				esperado[origen][destino] = arbol.distTo(destino);
+			}
+		}
+		ExecutorService hilos = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> tareas = new ArrayList<>();
+			for (int h = 0; h < 4; h++) {
+				int semilla = h;
+				tareas.add(hilos.submit(() -> {
+					Random random = new Random(semilla);
+					for (int i = 0; i < 5000; i++) {
+						int origen = random.nextInt(VERTICES);
+						int destino = random.nextInt(VERTICES);
+						assertEquals(esperado[origen][destino], jerarquia.distance(origen, destino), 0f);
+					}
+				}));
+			}
+			for (Future<?> tarea : tareas) {
+				tarea.get();
+			}
+		} finally {
+			hilos.shutdown();
+		}
+	}
+
+	@Test
+	public void testArcosDePesoCero() {
+		// Si 1 se contrae primero, la ruta 0 -> 2 necesita el atajo 0 -> 1 -> 2 de peso 1
+		GrafoListaAdyacencia<Integer, Integer> grafo = new GrafoListaAdyacencia<>(3);
+		for (int v = 0; v < 3; v++) {
+			grafo.insertVertex(v, v);
+		}
+		grafo.addEdge(0, 1, 1);
+		grafo.addEdge(1, 2, 0);
+		grafo.addEdge(0, 2, 5);
+		GrafoCSR<Integer, Integer> pequeno = grafo.freeze();
+		JerarquiaContracciones<Integer, Integer> ch = JerarquiaContracciones.construir(pequeno);
+		assertEquals(1f, ch.distance(pequeno.idOf(0), pequeno.idOf(2)), 0f);
+	}
+
+	@Test
+	public void testGuardarYCargar() throws IOException {
+		File archivo = File.createTempFile("jerarquia", ".bin");
+		try {
+			jerarquia.guardar(archivo.getPath());
+			JerarquiaContracciones<Integer, Integer> cargada = JerarquiaContracciones.cargar(csr, archivo.getPath());
+			assertEquals(jerarquia.numShortcuts(), cargada.numShortcuts());
+			for (int destino = 0; destino < VERTICES; destino++) {
+				assertEquals(jerarquia.distance(3, destino), cargada.distance(3, destino), 0f);
+			}
+
+			GrafoCSR<Integer, Integer> otro = grafoAlAzar(new Random(8), VERTICES, 4 * VERTICES).freeze();
+			try {
+				JerarquiaContracciones.cargar(otro, archivo.getPath());
+				fail("La jerarquía es de otro grafo");
+			} catch (IOException e) {
+				// esperado
+			}
+
+			try (RandomAccessFile datos = new RandomAccessFile(archivo, "rw")) {
+				datos.seek(datos.length() - 1);
+				int ultimo = datos.read();
+				datos.seek(datos.length() - 1);
+				datos.write(ultimo ^ 0x40);
+			}
+			try {
+				JerarquiaContracciones.cargar(csr, archivo.getPath());
+				fail("El contenido cambió y el CRC no coincide");
+			} catch (IOException e) {
+				// esperado
+			}
+		} finally {
+			archivo.delete();
+		}
+	}
+
+	private float peso(int origen, int destino) {
+		for (int e = csr.firstEdge(origen); e < csr.firstEdge(origen + 1); e++) {
+			if (csr.target(e) == destino) {
+				return csr.weight(e);
+			}
+		}
+		fail("No hay arco " + origen + " -> " + destino);
+		return 0;
+	}
+
+	private static GrafoListaAdyacencia<Integer, Integer> grafoAlAzar(Random random, int n, int m) {
+		GrafoListaAdyacencia<Integer, Integer> grafo = new GrafoListaAdyacencia<>(n);
+		for (int v = 0; v < n; v++) {
+			grafo.insertVertex(v, v);
+		}
+		for (int e = 0; e < m; e++) {
+			grafo.addEdge(random.nextInt(n), random.nextInt(n), random.nextInt(4) == 0 ? 0 : 1 + random.nextInt(100));
+		}
+		return grafo;
+	}
+}
@@ -0,0 +1,48 @@
+package test.data_structures;
+
+import model.data_structures.AlmacenAtributos;
+import model.data_structures.Landing;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestLanding {
+
+	private static final String[] NOMBRES = { "Fortaleza", "Fort Lauderdale", "Forta", "São Tomé", "Sao Tome",
+			"Ñuñoa", "Zafarana", "", "Abidjan", "Île-de-France", "Qaanaaq" };
+
+	private Landing[] puntos;
+
+	@Before
+	public void setUp1() {
+		AlmacenAtributos almacen = Landing.nuevoAlmacen(NOMBRES.length);
+		puntos = new Landing[NOMBRES.length];
+		for (int i = 0; i < NOMBRES.length; i++) {
+			puntos[i] = new Landing(almacen, "" + i, "id" + i, NOMBRES[i], "Pais", 0, 0);
+		}
+	}
+
+	@Test
+	public void testCompareToIgualQueLosNombres() {
+		for (int i = 0; i < NOMBRES.length; i++) {
+			for (int j = 0; j < NOMBRES.length; j++) {
+				assertEquals(NOMBRES[i] + " vs " + NOMBRES[j], Integer.signum(NOMBRES[i].compareTo(NOMBRES[j])),
+						Integer.signum(puntos[i].compareTo(puntos[j])));
+			}
+		}
+	}
+
+	@Test
+	public void testCompareToEntreAlmacenes() {
+		// Cada Landing creado con el constructor corto tiene su propio almacén
+		Landing otro = new Landing("99", "x", "Fortaleza", "Brazil", 0, 0);
+		assertEquals(0, otro.compareTo(puntos[0]));
+		assertTrue(otro.compareTo(puntos[1]) > 0);
+		assertTrue(puntos[6].compareTo(otro) > 0);
+
+		otro.setName("Abidjan");
+		assertEquals(0, otro.compareTo(puntos[8]));
+	}
+}
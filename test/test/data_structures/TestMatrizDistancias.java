@@ -0,0 +1,73 @@
+package test.data_structures;
+
+import model.data_structures.GrafoListaAdyacencia;
+import model.data_structures.MatrizDistancias;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestMatrizDistancias {
+
+	private MatrizDistancias<Integer, Integer> matriz;
+
+	/**
+	 * 0 -> 1 (2), 1 -> 2 (3), 0 -> 2 (10), 2 -> 0 (1) y el vértice 3 aislado; la matriz es sobre 0, 2 y 3
+	 */
+	@Before
+	public void setUp1() {
+		GrafoListaAdyacencia<Integer, Integer> grafo = new GrafoListaAdyacencia<>(4);
+		for (int v = 0; v < 4; v++) {
+			grafo.insertVertex(v, v);
+		}
+		grafo.addEdge(0, 1, 2);
+		grafo.addEdge(1, 2, 3);
+		grafo.addEdge(0, 2, 10);
+		grafo.addEdge(2, 0, 1);
+		matriz = new MatrizDistancias<>(grafo.freeze(), new Integer[] { 0, 2, 3 });
+	}
+
+	@Test
+	public void testDistanciasPorLlave() {
+		assertEquals(0f, matriz.distance(0, 0), 0f);
+		assertEquals(5f, matriz.distance(0, 2), 0f);
+		assertEquals(1f, matriz.distance(2, 0), 0f);
+		assertEquals(Float.POSITIVE_INFINITY, matriz.distance(0, 3), 0f);
+		assertEquals(Float.POSITIVE_INFINITY, matriz.distance(3, 0), 0f);
+		// 1 es vértice del grafo pero no punto de la matriz
+		assertEquals(Float.POSITIVE_INFINITY, matriz.distance(0, 1), 0f);
+	}
+
+	@Test
+	public void testDistanciasPorPosicion() {
+		assertEquals(3, matriz.size());
+		assertEquals(1, matriz.indexOf(2));
+		assertEquals(-1, matriz.indexOf(1));
+		assertEquals(Integer.valueOf(3), matriz.getPunto(2));
+		assertEquals(5f, matriz.distanceAt(0, 1), 0f);
+		assertEquals(1f, matriz.distanceAt(1, 0), 0f);
+	}
+
+	@Test
+	public void testExportarCSVConNombres() throws IOException {
+		File archivo = File.createTempFile("matriz", ".csv");
+		try {
+			matriz.exportarCSV(archivo.getPath(), punto -> punto == 3 ? "Punto, aislado" : "P" + punto);
+			List<String> lineas = Files.readAllLines(archivo.toPath(), StandardCharsets.UTF_8);
+			assertEquals(4, lineas.size());
+			assertEquals(",P0,P2,\"Punto, aislado\"", lineas.get(0));
+			assertEquals("P0,0.0,5.0,", lineas.get(1));
+			assertEquals("P2,1.0,0.0,", lineas.get(2));
+			assertEquals("\"Punto, aislado\",,,0.0", lineas.get(3));
+		} finally {
+			archivo.delete();
+		}
+	}
+}
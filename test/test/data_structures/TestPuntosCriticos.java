@@ -0,0 +1,83 @@
+package test.data_structures;
+
+import model.data_structures.GrafoCSR;
+import model.data_structures.GrafoListaAdyacencia;
+import model.data_structures.PuntosCriticos;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestPuntosCriticos {
+
+	private GrafoCSR<Integer, Integer> csr;
+
+	/**
+	 * 0 y 1 son dos vértices del mismo punto de aterrizaje A (uno por cable), 2 es B y 3 es C:
+	 * 0 -> 2 y 2 -> 0 (cable 1), 2 -> 1 (cable 2) y 1 -> 3 (cable 3)
+	 */
+	@Before
+	public void setUp1() {
+		GrafoListaAdyacencia<Integer, Integer> grafo = new GrafoListaAdyacencia<>(4);
+		for (int v = 0; v < 4; v++) {
+			grafo.insertVertex(v, v);
+		}
+		grafo.addEdge(0, 2, 1);
+		grafo.addEdge(2, 0, 1);
+		grafo.addEdge(2, 1, 1);
+		grafo.addEdge(1, 3, 1);
+		csr = grafo.freeze();
+	}
+
+	@Test
+	public void testPorVertice() {
+		PuntosCriticos criticos = csr.articulationPoints();
+		assertArrayEquals(ids(1, 2), criticos.getArticulationPoints());
+		// La ida y vuelta 0 <-> 2 es un solo arco, así que también es puente
+		assertEquals(3, criticos.numBridges());
+	}
+
+	@Test
+	public void testPorGrupo() {
+		int[] grupo = new int[4];
+		grupo[csr.idOf(0)] = 0;
+		grupo[csr.idOf(1)] = 0;
+		grupo[csr.idOf(2)] = 1;
+		grupo[csr.idOf(3)] = 2;
+		PuntosCriticos criticos = csr.articulationPoints(grupo, 3);
+		// B deja de ser crítico: A y B están unidos por dos cables distintos
+		assertTrue(criticos.isArticulationPoint(0));
+		assertFalse(criticos.isArticulationPoint(1));
+		assertFalse(criticos.isArticulationPoint(2));
+		assertEquals(1, criticos.numBridges());
+		assertEquals(csr.idOf(1), criticos.bridgeSource(0) == csr.idOf(3) ? criticos.bridgeTarget(0) : criticos.bridgeSource(0));
+	}
+
+	@Test
+	public void testComponentesSinUnGrupo() {
+		boolean[] fuera = new boolean[4];
+		fuera[csr.idOf(0)] = true;
+		fuera[csr.idOf(1)] = true;
+		int[] componente = csr.connectedComponents(fuera);
+		assertEquals(-1, componente[csr.idOf(0)]);
+		assertEquals(-1, componente[csr.idOf(1)]);
+		assertNotEquals(componente[csr.idOf(2)], componente[csr.idOf(3)]);
+
+		int[] todas = csr.connectedComponents(new boolean[4]);
+		for (int v = 1; v < 4; v++) {
+			assertEquals(todas[0], todas[v]);
+		}
+	}
+
+	private int[] ids(int... llaves) {
+		int[] ids = new int[llaves.length];
+		for (int i = 0; i < llaves.length; i++) {
+			ids[i] = csr.idOf(llaves[i]);
+		}
+		Arrays.sort(ids);
+		return ids;
+	}
+}
@@ -0,0 +1,73 @@
+package test.data_structures;
+
+import model.data_structures.ILista;
+import model.data_structures.TablaDensaEnteros;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestTablaDensaEnteros {
+
+	private TablaDensaEnteros<String> tabla;
+	private static int TAMANO = 4;
+
+	@Before
+	public void setUp1() {
+		tabla = new TablaDensaEnteros<>(TAMANO);
+	}
+
+	@Test
+	public void testPutGetYCrecimiento() {
+		for (int i = 0; i < 1000; i++) {
+			tabla.put(i, "v" + i);
+		}
+		assertEquals(1000, tabla.size());
+		for (int i = 0; i < 1000; i++) {
+			assertEquals("v" + i, tabla.get(i));
+		}
+		assertNull(tabla.get(1000));
+		assertNull(tabla.get(-1));
+		assertNull(tabla.get(null));
+	}
+
+	@Test
+	public void testActualizarNoCambiaElTamano() {
+		tabla.put(2, "a");
+		tabla.put(2, "b");
+		assertEquals(1, tabla.size());
+		assertEquals("b", tabla.get(2));
+		assertFalse(tabla.contains(0));
+	}
+
+	@Test
+	public void testRemoveYHuecos() throws Exception {
+		tabla.put(0, "cero");
+		tabla.put(9, "nueve");
+		tabla.put(5, "cinco");
+		assertEquals("cinco", tabla.remove(5));
+		assertNull(tabla.remove(5));
+		assertNull(tabla.remove(50));
+		assertEquals(2, tabla.size());
+
+		// keySet y valueSet en orden de llave, sin los huecos
+		ILista<Integer> llaves = tabla.keySet();
+		assertEquals(2, llaves.size());
+		assertEquals(Integer.valueOf(0), llaves.getElement(1));
+		assertEquals(Integer.valueOf(9), llaves.getElement(2));
+		ILista<String> valores = tabla.valueSet();
+		assertEquals("cero", valores.getElement(1));
+		assertEquals("nueve", valores.getElement(2));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testLlaveNegativa() {
+		tabla.put(-1, "x");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testValorNulo() {
+		tabla.put(1, null);
+	}
+}
@@ -0,0 +1,50 @@
+package test.data_structures;
+
+import model.data_structures.TablaHashAbierta;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestTablaHashAbierta {
+
+	private TablaHashAbierta<String, Integer> tabla;
+	private static int TAMANO=4;
+
+	@Before
+	public void setUp1() {
+		tabla= new TablaHashAbierta<>(TAMANO);
+	}
+
+	@Test
+	public void testPutActualizaLlaveExistente() {
+		tabla.put("a", 1);
+		tabla.put("a", 2);
+		assertEquals(1, tabla.size());
+		assertEquals(Integer.valueOf(2), tabla.get("a"));
+	}
+
+	@Test
+	public void testContainsLlaveAusente() {
+		assertFalse(tabla.contains("no existe"));
+		assertNull(tabla.get("no existe"));
+	}
+
+	@Test
+	public void testRemoveYReinsercion() {
+		for (int i = 0; i < 1000; i++) {
+			tabla.put("k" + i, i);
+		}
+		for (int i = 0; i < 1000; i += 2) {
+			assertEquals(Integer.valueOf(i), tabla.remove("k" + i));
+		}
+		assertEquals(500, tabla.size());
+		for (int i = 0; i < 1000; i++) {
+			assertEquals(i % 2 == 1, tabla.contains("k" + i));
+		}
+		tabla.put("k0", 7);
+		assertEquals(Integer.valueOf(7), tabla.get("k0"));
+		assertEquals(501, tabla.keySet().size());
+	}
+}
@@ -0,0 +1,164 @@
+package test.data_structures;
+
+import model.data_structures.ILista;
+import model.data_structures.TablaHashConcurrente;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestTablaHashConcurrente {
+
+	private static final int HILOS = 8;
+	private static final int LLAVES = 20000;
+
+	private TablaHashConcurrente<String, Integer> tabla;
+
+	@Before
+	public void setUp1() {
+		// Pequeña y con pocos segmentos para que haya muchos rehash y choques entre hilos
+		tabla = new TablaHashConcurrente<>(4, 4);
+	}
+
+	@Test
+	public void testPutActualizaLlaveExistente() {
+		tabla.put("a", 1);
+		tabla.put("a", 2);
+		assertEquals(1, tabla.size());
+		assertEquals(Integer.valueOf(2), tabla.get("a"));
+		assertFalse(tabla.contains("no existe"));
+		assertNull(tabla.get("no existe"));
+		assertNull(tabla.remove("no existe"));
+	}
+
+	@Test
+	public void testRemoveYReinsercion() {
+		for (int i = 0; i < 1000; i++) {
+			tabla.put("k" + i, i);
+		}
+		for (int i = 0; i < 1000; i += 2) {
+			assertEquals(Integer.valueOf(i), tabla.remove("k" + i));
+		}
+		assertEquals(500, tabla.size());
+		for (int i = 0; i < 1000; i++) {
+			assertEquals(i % 2 == 1, tabla.contains("k" + i));
+		}
+		tabla.put("k0", 7);
+		assertEquals(Integer.valueOf(7), tabla.get("k0"));
+		ILista<String> llaves = tabla.keySet();
+		assertEquals(501, llaves.size());
+		assertEquals(501, tabla.valueSet().size());
+	}
+
+	@Test
+	public void testOperacionesAtomicas() {
+		assertNull(tabla.putIfAbsent("a", 1));
+		assertEquals(Integer.valueOf(1), tabla.putIfAbsent("a", 2));
+		assertEquals(Integer.valueOf(1), tabla.get("a"));
+
+		assertEquals(Integer.valueOf(5), tabla.computeIfAbsent("b", llave -> 5));
+		assertEquals(Integer.valueOf(5), tabla.computeIfAbsent("b", llave -> {
+			throw new AssertionError("La llave ya estaba");
+		}));
+		assertNull(tabla.computeIfAbsent("c", llave -> null));
+		assertFalse(tabla.contains("c"));
+
+		assertEquals(Integer.valueOf(2), tabla.compute("a", (llave, actual) -> actual + 1));
+		assertEquals(Integer.valueOf(1), tabla.compute("d", (llave, actual) -> actual == null ? 1 : actual + 1));
+		assertNull(tabla.compute("a", (llave, actual) -> null));
+		assertFalse(tabla.contains("a"));
+		assertEquals(2, tabla.size());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testLlaveNula() {
+		tabla.put(null, 1);
+	}
+
+	@Test
+	public void testComputeIfAbsentConVariosHilos() throws Exception {
+		AtomicIntegerArray llamadas = new AtomicIntegerArray(LLAVES);
+		List<Integer[]> vistos = ejecutarEnHilos(hilo -> {
+			// Todos los hilos piden las mismas llaves, cada uno en otro orden
+			Integer[] valores = new Integer[LLAVES];
+			for (int j = 0; j < LLAVES; j++) {
+				int i = (j + hilo * (LLAVES / HILOS)) % LLAVES;
+				valores[i] = tabla.computeIfAbsent("k" + i, llave -> {
+					llamadas.incrementAndGet(Integer.parseInt(llave.substring(1)));
+					return Integer.valueOf(Integer.parseInt(llave.substring(1)));
+				});
+			}
+			return valores;
+		});
+		assertEquals(LLAVES, tabla.size());
+		for (int i = 0; i < LLAVES; i++) {
+			assertEquals("k" + i, 1, llamadas.get(i));
+			for (Integer[] valores : vistos) {
+				// Todos reciben el mismo objeto: el que quedó en la tabla
+				assertSame(tabla.get("k" + i), valores[i]);
+			}
+		}
+	}
+
+	@Test
+	public void testPutYGetConVariosHilos() throws Exception {
+		ejecutarEnHilos(hilo -> {
+			// Cada hilo escribe sus llaves y lee las de todos; una llave presente siempre tiene su valor
+			for (int i = hilo; i < LLAVES; i += HILOS) {
+				tabla.put("k" + i, i);
+				int otra = (i * 7919) % LLAVES;
+				Integer valor = tabla.get("k" + otra);
+				if (valor != null && valor != otra) {
+					throw new AssertionError("k" + otra + " tiene " + valor);
+				}
+			}
+			return null;
+		});
+		assertEquals(LLAVES, tabla.size());
+		assertEquals(LLAVES, tabla.keySet().size());
+		for (int i = 0; i < LLAVES; i++) {
+			assertEquals(Integer.valueOf(i), tabla.get("k" + i));
+		}
+	}
+
+	private interface Tarea<T> {
+		T ejecutar(int hilo);
+	}
+
+	/**
+	 * Ejecuta la tarea en HILOS hilos que arrancan a la vez y retorna el resultado de cada uno
+	 */
+	private static <T> List<T> ejecutarEnHilos(Tarea<T> tarea) throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(HILOS);
+		CountDownLatch salida = new CountDownLatch(1);
+		try {
+			List<Future<T>> futuros = new ArrayList<>();
+			for (int hilo = 0; hilo < HILOS; hilo++) {
+				int h = hilo;
+				Callable<T> llamada = () -> {
+					salida.await();
+					return tarea.ejecutar(h);
+				};
+				futuros.add(pool.submit(llamada));
+			}
+			salida.countDown();
+			List<T> resultados = new ArrayList<>();
+			for (Future<T> futuro : futuros) {
+				resultados.add(futuro.get());
+			}
+			return resultados;
+		} finally {
+			pool.shutdown();
+		}
+	}
+}
@@ -0,0 +1,135 @@
+package test.data_structures;
+
+import model.data_structures.TablaHashRobinHood;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestTablaHashRobinHood {
+
+	private TablaHashRobinHood<Llave, Integer> tabla;
+	private static int TAMANO = 16;
+
+	@Before
+	public void setUp1() {
+		tabla = new TablaHashRobinHood<>(TAMANO);
+	}
+
+	@Test
+	public void testEliminarEnUnCumuloLleno() {
+		// Dos grupos de llaves con el mismo hash: forman un cúmulo contiguo con distancias de sondeo crecientes
+		List<Llave> llaves = new ArrayList<>();
+		for (int i = 0; i < 12; i++) {
+			Llave llave = new Llave(i % 2, "k" + i);
+			llaves.add(llave);
+			tabla.put(llave, i);
+		}
+		assertTrue(tabla.darSondeoMaximo() >= 5);
+
+		// Quitar del inicio, del medio y del final del cúmulo: el corrimiento hacia atrás no puede dejar huecos
+		int[] orden = { 0, 5, 11, 6, 1, 10 };
+		List<Llave> quitadas = new ArrayList<>();
+		for (int i : orden) {
+			assertEquals(Integer.valueOf(i), tabla.remove(llaves.get(i)));
+			quitadas.add(llaves.get(i));
+			for (int j = 0; j < llaves.size(); j++) {
+				Llave llave = llaves.get(j);
+				if (quitadas.contains(llave)) {
+					assertFalse(tabla.contains(llave));
+				} else {
+					assertEquals("llave " + j + " después de quitar " + i, Integer.valueOf(j), tabla.get(llave));
+				}
+			}
+		}
+		assertEquals(6, tabla.size());
+		assertNull(tabla.remove(llaves.get(0)));
+		assertEquals(6, tabla.size());
+		assertTrue(tabla.darSondeoMaximo() <= 5);
+	}
+
+	@Test
+	public void testEliminacionesAlAzar() {
+		Random random = new Random(12);
+		List<Llave> llaves = new ArrayList<>();
+		for (int i = 0; i < 2000; i++) {
+			// Pocos hashes distintos para que haya cúmulos largos
+			Llave llave = new Llave(random.nextInt(300), "k" + i);
+			llaves.add(llave);
+			tabla.put(llave, i);
+		}
+		Collections.shuffle(llaves, random);
+		for (int i = 0; i < 1000; i++) {
+			assertNotNull(tabla.remove(llaves.get(i)));
+		}
+		assertEquals(1000, tabla.size());
+		for (int i = 0; i < llaves.size(); i++) {
+			assertEquals(i >= 1000, tabla.contains(llaves.get(i)));
+		}
+	}
+
+	@Test
+	public void testCrecimientoConRehash() {
+		TablaHashRobinHood<Integer, Integer> pequena = new TablaHashRobinHood<>(1);
+		int inicial = pequena.darMinicial();
+		for (int i = 0; i < 10000; i++) {
+			pequena.put(i, i * 2);
+		}
+		assertEquals(10000, pequena.size());
+		assertTrue(pequena.darMfinal() > inicial);
+		assertEquals(0, pequena.darMfinal() & (pequena.darMfinal() - 1));
+		assertTrue(pequena.size() <= pequena.darMfinal() * 0.85);
+		for (int i = 0; i < 10000; i++) {
+			assertEquals(Integer.valueOf(i * 2), pequena.get(i));
+		}
+		assertEquals(10000, pequena.keySet().size());
+		assertFalse(pequena.toString(), pequena.toString().contains("La cantidad de rehash es: 0"));
+	}
+
+	@Test
+	public void testSondeoAcotadoConCargaAlta() {
+		// 2^17 posiciones y 111000 llaves: factor de carga 0.847, justo debajo del máximo antes de crecer
+		TablaHashRobinHood<String, Integer> grande = new TablaHashRobinHood<>(1 << 16);
+		Random random = new Random(5);
+		for (int i = 0; i < 111000; i++) {
+			grande.put(Long.toHexString(random.nextLong()), i);
+		}
+		assertEquals(1 << 17, grande.darMfinal());
+		assertTrue(grande.toString(), grande.darSondeoMaximo() <= 40);
+		assertTrue(grande.toString(), grande.darSondeoPromedio() < 3);
+	}
+
+	/**
+	 * Llave con hash fijo para forzar colisiones
+	 */
+	private static class Llave implements Comparable<Llave> {
+		private final int hash;
+		private final String nombre;
+
+		Llave(int hash, String nombre) {
+			this.hash = hash;
+			this.nombre = nombre;
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object otro) {
+			return otro instanceof Llave && ((Llave) otro).nombre.equals(nombre);
+		}
+
+		@Override
+		public int compareTo(Llave otra) {
+			return nombre.compareTo(otra.nombre);
+		}
+	}
+}
@@ -0,0 +1,102 @@
+package test.data_structures;
+
+import model.data_structures.ILista;
+import model.data_structures.TablaHashSeparteChaining;
+
+import static org.junit.Assert.*;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestTablaHashSeparteChaining {
+
+	private TablaHashSeparteChaining<Integer, Integer> tabla;
+	private static int TAMANO = 1000;
+
+	// Llaves insertadas hasta que empieza el rehash incremental (valor = 2 * llave)
+	private int llaves;
+
+	/**
+	 * Llena la tabla incremental justo hasta que empieza a migrar: la tabla vieja tiene 1009 listas y cada
+	 * operación migra unas pocas, así que las primeras cientos de operaciones ocurren a mitad de la migración
+	 */
+	@Before
+	public void setUp1() {
+		tabla = new TablaHashSeparteChaining<>(TAMANO, true);
+		llaves = 0;
+		while (!enMigracion()) {
+			tabla.put(llaves, 2 * llaves);
+			llaves++;
+		}
+	}
+
+	@Test
+	public void testGetDuranteLaMigracion() {
+		// De atrás hacia adelante: las listas viejas se migran en orden, así que las últimas aún no se han pasado
+		for (int i = llaves - 1; i >= 0; i--) {
+			if (i == llaves - 100) {
+				assertTrue(enMigracion());
+			}
+			assertEquals(Integer.valueOf(2 * i), tabla.get(i));
+		}
+		assertNull(tabla.get(-1));
+		assertEquals(llaves, tabla.size());
+	}
+
+	@Test
+	public void testActualizarNoCambiaElTamano() {
+		for (int i = llaves - 1; i >= 0; i -= 5) {
+			tabla.put(i, -i);
+		}
+		assertTrue(enMigracion());
+		assertEquals(llaves, tabla.size());
+		tabla.completarRehash();
+		for (int i = 0; i < llaves; i++) {
+			assertEquals(Integer.valueOf((llaves - 1 - i) % 5 == 0 ? -i : 2 * i), tabla.get(i));
+		}
+		assertEquals(llaves, tabla.size());
+	}
+
+	@Test
+	public void testRemoveYPutDuranteLaMigracion() {
+		for (int i = 0; i < 200; i += 2) {
+			assertEquals(Integer.valueOf(2 * i), tabla.remove(i));
+		}
+		for (int i = llaves; i < llaves + 50; i++) {
+			tabla.put(i, 2 * i);
+		}
+		assertTrue(enMigracion());
+		int esperadas = llaves - 100 + 50;
+		assertEquals(esperadas, tabla.size());
+		for (int i = 0; i < llaves + 50; i++) {
+			assertEquals(i % 2 == 1 || i >= 200, tabla.contains(i));
+		}
+		assertEquals(esperadas, tabla.size());
+	}
+
+	@Test
+	public void testKeySetDuranteLaMigracion() throws Exception {
+		for (int i = 0; i < 20; i++) {
+			tabla.get(i);
+		}
+		assertTrue(enMigracion());
+		ILista<Integer> lista = tabla.keySet();
+		assertEquals(llaves, lista.size());
+		Set<Integer> vistas = new HashSet<>();
+		for (int i = 1; i <= lista.size(); i++) {
+			vistas.add(lista.getElement(i));
+		}
+		assertEquals(llaves, vistas.size());
+		for (int i = 0; i < llaves; i++) {
+			assertTrue(vistas.contains(i));
+		}
+		assertEquals(llaves, tabla.valueSet().size());
+	}
+
+	private boolean enMigracion() {
+		return tabla.toString().contains("Rehash en curso: sí");
+	}
+}
@@ -0,0 +1,45 @@
+package test.logic;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+
+import model.logic.Modelo;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestFallasConexion {
+
+	private Modelo modelo;
+
+	@Before
+	public void setUp1() throws IOException {
+		modelo = new Modelo();
+		modelo.cargarDatos(null); // solo los CSV: no lee ni escribe ./data/modelo.snapshot
+	}
+
+	@Test
+	public void testPuntoCritico() {
+		// Sao Tome es el único camino de Guinea-Bissau y de Sao Tome y Príncipe al resto de la red
+		assertEquals("Sao Tome es un punto crítico de la red"
+				+ "\nPaíses que quedan desconectados si falla (2): Guinea-Bissau, Sao Tome and Principe",
+				modelo.req5String("Sao Tome"));
+	}
+
+	@Test
+	public void testPuntoNoCritico() {
+		// Fortaleza tiene varios cables, pero todos sus vecinos siguen conectados entre sí sin él
+		assertEquals("Fortaleza no es un punto crítico de la red", modelo.req5String("Fortaleza"));
+		assertEquals("No se encontró el punto de conexión Atlantida", modelo.req5String("Atlantida"));
+	}
+
+	@Test
+	public void testReporteIncluyeLosPuntosCriticos() {
+		String reporte = modelo.reporteFallas();
+		assertTrue(reporte, reporte.startsWith("Puntos críticos: "));
+		assertTrue(reporte, reporte.contains("\n  Sao Tome (Sao Tome and Principe)"));
+		assertFalse(reporte, reporte.contains("\n  Fortaleza (Brazil)"));
+		assertTrue(reporte, reporte.contains("\nConexiones críticas: "));
+	}
+}
@@ -0,0 +1,104 @@
+package test.logic;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import model.logic.LectorCSVMapeado;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestLectorCSVMapeado {
+
+	// Filas con CRLF, comas y comillas escapadas dentro de campos, un salto de línea entre comillas y sin salto
+	// de línea al final
+	private static final String CONTENIDO = "cable_id,owners,cable_length\r\n"
+			+ "1,\"Telecom Argentina, Claro\",\"1,200 km\"\r\n"
+			+ "2,\"Cable \"\"Sur\"\" S.A.\",300\r\n"
+			+ "3,\"Línea 1\nLínea 2\",45";
+
+	private File archivo;
+	private LectorCSVMapeado lector;
+	private LectorCSVMapeado.Fila fila;
+
+	@Before
+	public void setUp1() throws IOException {
+		archivo = File.createTempFile("conexiones", ".csv");
+		Files.write(archivo.toPath(), CONTENIDO.getBytes(StandardCharsets.UTF_8));
+		lector = new LectorCSVMapeado(archivo.getPath());
+		fila = lector.nuevaFila(3);
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		lector.close();
+		archivo.delete();
+	}
+
+	@Test
+	public void testCamposConComasEntreComillas() {
+		int siguiente = fila.leer(lector.siguienteFila(0));
+		assertEquals(3, fila.numCampos());
+		assertTrue(fila.esEntero(0));
+		assertEquals(1, fila.entero(0));
+		assertEquals("Telecom Argentina, Claro", fila.texto(1));
+		assertEquals("1,200 km", fila.texto(2));
+		assertFalse(fila.esEntero(2));
+		assertEquals(inicioDe("2,"), siguiente);
+	}
+
+	@Test
+	public void testComillasEscapadas() {
+		fila.leer(inicioDe("2,"));
+		assertEquals(3, fila.numCampos());
+		assertEquals("Cable \"Sur\" S.A.", fila.texto(1));
+		assertTrue(fila.esEntero(2));
+		assertEquals(300, fila.entero(2));
+	}
+
+	@Test
+	public void testFinDeLineaCRLF() {
+		int siguiente = fila.leer(0);
+		assertEquals(3, fila.numCampos());
+		assertEquals("cable_id", fila.texto(0));
+		assertEquals("cable_length", fila.texto(2)); // sin el \r
+		assertEquals(inicioDe("1,"), siguiente);
+	}
+
+	@Test
+	public void testUltimaFilaSinSaltoDeLinea() {
+		int siguiente = fila.leer(inicioDe("3,"));
+		assertEquals(3, fila.numCampos());
+		assertEquals("Línea 1\nLínea 2", fila.texto(1));
+		assertEquals(45, fila.entero(2));
+		assertEquals(lector.size(), siguiente);
+	}
+
+	@Test
+	public void testSiguienteFilaSaltaLineasEntreComillas() {
+		int inicio = 0;
+		int filas = 0;
+		while (inicio < lector.size()) {
+			int siguiente = lector.siguienteFila(inicio);
+			assertEquals(fila.leer(inicio), siguiente);
+			inicio = siguiente;
+			filas++;
+		}
+		// El \n dentro de "Línea 1\nLínea 2" no separa filas
+		assertEquals(4, filas);
+		assertEquals(lector.size(), lector.siguienteFila(inicioDe("3,")));
+	}
+
+	/**
+	 * Posición en bytes de la fila que empieza con el prefijo dado
+	 */
+	private static int inicioDe(String prefijo) {
+		String texto = CONTENIDO.substring(0, CONTENIDO.indexOf("\n" + prefijo) + 1);
+		return texto.getBytes(StandardCharsets.UTF_8).length;
+	}
+}
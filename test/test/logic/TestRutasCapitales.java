@@ -0,0 +1,76 @@
+package test.logic;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import model.data_structures.MatrizDistancias;
+import model.logic.Modelo;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestRutasCapitales {
+
+	private Modelo modelo;
+
+	@Before
+	public void setUp1() throws IOException {
+		modelo = new Modelo();
+		modelo.cargarDatos(null); // solo los CSV: no lee ni escribe ./data/modelo.snapshot
+	}
+
+	@Test
+	public void testRutaEntreCapitalesExiste() {
+		String ruta = modelo.req3String("Colombia", "Chile");
+		assertTrue(ruta, ruta.startsWith("Ruta entre Colombia y Chile:"));
+		assertTrue(ruta, ruta.contains("\nBogota -> "));
+		assertTrue(ruta, ruta.contains(" -> Santiago: "));
+		assertTrue(ruta, ruta.contains("Distancia total: "));
+	}
+
+	@Test
+	public void testPaisInexistente() {
+		assertEquals("No se encontró alguno de los países ingresados", modelo.req3String("Colombia", "Atlantida"));
+	}
+
+	@Test
+	public void testMatrizCoincideConRuta() {
+		String ruta = modelo.req3String("Colombia", "Chile");
+		float total = Float.parseFloat(ruta.substring(ruta.indexOf("Distancia total: ") + 17, ruta.length() - 3));
+		float matriz = modelo.distanciaEntreCapitales("Colombia", "Chile");
+		assertTrue(matriz < Float.POSITIVE_INFINITY);
+		assertEquals(total, matriz, total * 1e-4f);
+		assertEquals(Float.POSITIVE_INFINITY, modelo.distanciaEntreCapitales("Colombia", "Atlantida"), 0f);
+	}
+
+	@Test
+	public void testMatrizSeCalculaUnaVezConVariosHilos() throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<MatrizDistancias<Integer, ?>>> pedidas = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				pedidas.add(pool.submit(() -> modelo.getMatrizCapitales()));
+			}
+			for (Future<MatrizDistancias<Integer, ?>> pedida : pedidas) {
+				assertSame(modelo.getMatrizCapitales(), pedida.get());
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testDistanciasDesdeUnPais() {
+		String respuesta = modelo.distanciasDesdeString("Colombia");
+		assertTrue(respuesta, respuesta.startsWith("Capitales alcanzables desde Bogota: "));
+		int alcanzables = Integer.parseInt(respuesta.substring(36, respuesta.indexOf('\n')));
+		assertTrue(respuesta, alcanzables > 0);
+		assertTrue(respuesta, respuesta.contains("\nSantiago (Chile): "));
+	}
+}
@@ -0,0 +1,125 @@
+package test.logic;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import model.logic.Modelo;
+import model.logic.SnapshotModelo;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestSnapshotModelo {
+
+	private static final String[] CSV = { "./data/countries.csv", "./data/landing_points.csv",
+			"./data/connections.csv" };
+
+	// Imagen válida generada desde los CSV y copia que cada prueba daña
+	private File imagen;
+	private File copia;
+	private long[] huella;
+	private Modelo desdeCSV;
+
+	@Before
+	public void setUp1() throws IOException {
+		imagen = File.createTempFile("modelo", ".snapshot");
+		copia = File.createTempFile("modelo", ".snapshot");
+		huella = SnapshotModelo.huellaArchivos(CSV);
+		desdeCSV = new Modelo();
+		desdeCSV.cargarDatos(imagen.getPath()); // el archivo vacío no es una imagen: carga los CSV y la guarda
+		Files.copy(imagen.toPath(), copia.toPath(), StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	@After
+	public void tearDown() {
+		imagen.delete();
+		copia.delete();
+	}
+
+	@Test
+	public void testImagenValida() throws IOException {
+		SnapshotModelo snapshot = SnapshotModelo.cargar(imagen.getPath(), huella);
+		assertEquals(desdeCSV.getGrafo().numVertices(), snapshot.numVertices());
+		assertEquals(desdeCSV.getGrafo().numEdges(), snapshot.numEdges());
+
+		Modelo modelo = new Modelo();
+		modelo.cargarDatos(imagen.getPath());
+		assertTrue(modelo.getReporteCarga(), modelo.getReporteCarga().startsWith("Tiempos de carga desde "));
+		assertEquals(desdeCSV.req3String("Colombia", "Chile"), modelo.req3String("Colombia", "Chile"));
+	}
+
+	@Test
+	public void testMagicOVersionIncorrectos() throws IOException {
+		cambiarByte(0);
+		rechazada(huella);
+
+		Files.copy(imagen.toPath(), copia.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		cambiarByte(7); // último byte de la versión
+		rechazada(huella);
+	}
+
+	@Test
+	public void testHuellaDistinta() throws IOException {
+		long[] otra = huella.clone();
+		otra[otra.length - 1]++; // connections.csv con otra fecha de modificación
+		rechazada(otra);
+		rechazada(SnapshotModelo.huellaArchivos(CSV[0], CSV[1]));
+	}
+
+	@Test
+	public void testImagenTruncada() throws IOException {
+		try (RandomAccessFile datos = new RandomAccessFile(copia, "rw")) {
+			datos.setLength(datos.length() - 10);
+		}
+		rechazada(huella);
+
+		try (RandomAccessFile datos = new RandomAccessFile(copia, "rw")) {
+			datos.setLength(6);
+		}
+		rechazada(huella);
+	}
+
+	@Test
+	public void testCRCNoCoincide() throws IOException {
+		cambiarByte(copia.length() - 1);
+		rechazada(huella);
+	}
+
+	@Test
+	public void testCargarDatosVuelveALosCSV() throws IOException {
+		cambiarByte(copia.length() - 1);
+		Modelo modelo = new Modelo();
+		modelo.cargarDatos(copia.getPath());
+		assertTrue(modelo.getReporteCarga(), modelo.getReporteCarga().startsWith("Tiempos de carga (ms):"));
+		assertEquals(desdeCSV.getGrafo().numVertices(), modelo.getGrafo().numVertices());
+		assertEquals(desdeCSV.getGrafo().numEdges(), modelo.getGrafo().numEdges());
+		assertEquals(desdeCSV.req3String("Colombia", "Chile"), modelo.req3String("Colombia", "Chile"));
+
+		// La imagen dañada se reemplaza por una válida
+		SnapshotModelo.cargar(copia.getPath(), huella);
+	}
+
+	private void cambiarByte(long posicion) throws IOException {
+		try (RandomAccessFile datos = new RandomAccessFile(copia, "rw")) {
+			datos.seek(posicion);
+			int valor = datos.read();
+			datos.seek(posicion);
+			datos.write(valor ^ 0x40);
+		}
+	}
+
+	private void rechazada(long[] huellaEsperada) {
+		try {
+			SnapshotModelo.cargar(copia.getPath(), huellaEsperada);
+			fail("La imagen no debería cargarse");
+		} catch (IOException e) {
+			// esperado
+		}
+	}
+}